@@ -1,6 +1,7 @@
 from fastapi import FastAPI, Depends, HTTPException
 from pydantic import BaseModel
 from sqlmodel import Session, select
+from sqlalchemy import case, func
 from typing import Optional, List, Dict, Any
 import uuid
 import os
@@ -12,7 +13,7 @@ load_dotenv()
 
 from better_agent import workflow as recipe_workflow
 from database import get_session, create_db_and_tables
-from models import User, PantryItem, VideoRecommendation, Cookbook, CookingSession, ShoppingList
+from models import User, PantryItem, PantryTombstone, VideoRecommendation, Cookbook, CookingSession, ShoppingList
 from schemas import ShoppingListCreate, ShoppingListUpdate, ShoppingListItem
 from tools import search_youtube_videos
 import random
@@ -29,8 +30,211 @@ async def lifespan(app: FastAPI):
 
 app = FastAPI(lifespan=lifespan)
 
+import hashlib
+import json
+import cbor2
+from fastapi import Request
+from fastapi.responses import Response as RawResponse
+
+# --- Binary responses ---
+# Recipe, chat and recommendation calls from the app ask for CBOR first (Accept: application/cbor).
+# Re-encode those JSON bodies as plain CBOR, which the app decodes with the same generated adapters.
+# Defined before the ETag middleware so it runs inside it and the ETag covers the CBOR bytes.
+@app.middleware("http")
+async def cbor_middleware(request: Request, call_next):
+    response = await call_next(request)
+    wants_cbor = "application/cbor" in request.headers.get("accept", "")
+    # Idempotency replays store the body as text, so those stay JSON
+    if (not wants_cbor or request.headers.get("idempotency-key")
+            or not 200 <= response.status_code < 300
+            or not response.headers.get("content-type", "").startswith("application/json")):
+        return response
+
+    body = b""
+    async for chunk in response.body_iterator:
+        body += chunk
+    headers = dict(response.headers)
+    headers.pop("content-length", None)
+    headers.pop("content-type", None)
+    headers["Vary"] = "Accept"
+    encoded = cbor2.dumps(json.loads(body))
+    return RawResponse(content=encoded, status_code=response.status_code, headers=headers, media_type="application/cbor")
+
+# --- HTTP caching ---
+# The Android client keeps an on-disk HTTP cache and revalidates with If-None-Match.
+# Hash every successful GET body into a weak ETag and answer 304 when it still matches.
+
+@app.middleware("http")
+async def etag_middleware(request: Request, call_next):
+    response = await call_next(request)
+    if request.method != "GET" or response.status_code != 200:
+        return response
+
+    body = b""
+    async for chunk in response.body_iterator:
+        body += chunk
+    etag = 'W/"' + hashlib.sha1(body).hexdigest() + '"'
+
+    headers = dict(response.headers)
+    headers.pop("content-length", None)
+    headers["ETag"] = etag
+    if request.headers.get("if-none-match") == etag:
+        return RawResponse(status_code=304, headers={"ETag": etag})
+    return RawResponse(content=body, status_code=200, headers=headers, media_type=response.media_type)
+
+# --- Idempotent mutations ---
+# The app's offline outbox may replay a write after a timeout that actually reached us.
+# Writes carrying an Idempotency-Key are executed once; replays get the stored response back.
+# The key is claimed with a pending row (status_code 0) before the write runs, so a replay that
+# arrives mid-request hits the primary key and gets a 409 instead of running the write again.
+from fastapi.concurrency import run_in_threadpool
+from sqlalchemy import update as sql_update
+from sqlalchemy.exc import IntegrityError
+
+IDEMPOTENCY_PENDING = 0
+# A claim this old belongs to a request that died with its instance; let the next replay take it over
+IDEMPOTENCY_CLAIM_TIMEOUT = timedelta(minutes=5)
+
+def _claim_idempotency_key(key: str):
+    """Returns None if this request now owns the key, else the existing record."""
+    from database import engine
+    from models import IdempotencyRecord
+    with Session(engine) as db:
+        try:
+            db.add(IdempotencyRecord(key=key, status_code=IDEMPOTENCY_PENDING, body=""))
+            db.commit()
+            return None
+        except IntegrityError:
+            db.rollback()
+        taken_over = db.execute(
+            sql_update(IdempotencyRecord)
+            .where(IdempotencyRecord.key == key)
+            .where(IdempotencyRecord.status_code == IDEMPOTENCY_PENDING)
+            .where(IdempotencyRecord.created_at < datetime.utcnow() - IDEMPOTENCY_CLAIM_TIMEOUT)
+            .values(created_at=datetime.utcnow())
+            .execution_options(synchronize_session=False)
+        ).rowcount
+        db.commit()
+        if taken_over:
+            return None
+        return db.get(IdempotencyRecord, key)
+
+def _finish_idempotency_key(key: str, status_code: int, body: str):
+    from database import engine
+    from models import IdempotencyRecord
+    with Session(engine) as db:
+        record = db.get(IdempotencyRecord, key)
+        if not record:
+            return
+        # Only remember outcomes that should not be retried; 5xx releases the key for a retry
+        if status_code < 500:
+            record.status_code = status_code
+            record.body = body
+            db.add(record)
+        else:
+            db.delete(record)
+        db.commit()
+
+@app.middleware("http")
+async def idempotency_middleware(request: Request, call_next):
+    key = request.headers.get("idempotency-key")
+    if not key or request.method == "GET":
+        return await call_next(request)
+
+    record = await run_in_threadpool(_claim_idempotency_key, key)
+    if record:
+        if record.status_code == IDEMPOTENCY_PENDING:
+            # The app's outbox retries 409, by which time the first request has stored its answer
+            return RawResponse(content='{"detail":"Request with this Idempotency-Key is still in progress"}',
+                               status_code=409, media_type="application/json")
+        return RawResponse(content=record.body, status_code=record.status_code, media_type="application/json")
+
+    try:
+        response = await call_next(request)
+        body = b""
+        async for chunk in response.body_iterator:
+            body += chunk
+    except Exception:
+        await run_in_threadpool(_finish_idempotency_key, key, 500, "")
+        raise
+    await run_in_threadpool(_finish_idempotency_key, key, response.status_code, body.decode("utf-8"))
+    headers = dict(response.headers)
+    headers.pop("content-length", None)
+    return RawResponse(content=body, status_code=response.status_code, headers=headers, media_type=response.media_type)
+
+# --- Compressed request bodies ---
+# Chat and cookbook requests embed a whole recipe (sometimes a photo) and the app gzips them.
+# Plain ASGI middleware so the body is inflated before any route or middleware reads it.
+import zlib
+
+MAX_COMPRESSED_BODY = 10 * 1024 * 1024
+MAX_INFLATED_BODY = 20 * 1024 * 1024
+
+class GzipRequestMiddleware:
+    def __init__(self, app):
+        self.app = app
+
+    async def __call__(self, scope, receive, send):
+        if scope["type"] != "http":
+            return await self.app(scope, receive, send)
+        encoding = dict(scope["headers"]).get(b"content-encoding", b"").lower()
+        if encoding != b"gzip":
+            return await self.app(scope, receive, send)
+
+        # Inflate chunk by chunk so neither the compressed nor the inflated size can grow unbounded
+        decompressor = zlib.decompressobj(16 + zlib.MAX_WBITS)
+        chunks = []
+        received = 0
+        inflated = 0
+        more_body = True
+        try:
+            while more_body:
+                message = await receive()
+                chunk = message.get("body", b"")
+                more_body = message.get("more_body", False)
+                received += len(chunk)
+                if received > MAX_COMPRESSED_BODY:
+                    return await RawResponse(status_code=413, content="Request body too large")(scope, receive, send)
+                # One byte over the budget is enough to know the body is too large
+                out = decompressor.decompress(chunk, MAX_INFLATED_BODY - inflated + 1)
+                inflated += len(out)
+                if inflated > MAX_INFLATED_BODY:
+                    return await RawResponse(status_code=413, content="Request body too large")(scope, receive, send)
+                chunks.append(out)
+        except zlib.error:
+            return await RawResponse(status_code=400, content="Invalid gzip body")(scope, receive, send)
+        if not decompressor.eof:
+            # Stream ended before the gzip trailer: a truncated upload, not a valid body
+            return await RawResponse(status_code=400, content="Truncated gzip body")(scope, receive, send)
+        body = b"".join(chunks)
+
+        # Downstream sees a plain body of the inflated length
+        headers = [(k, v) for k, v in scope["headers"] if k not in (b"content-encoding", b"content-length")]
+        headers.append((b"content-length", str(len(body)).encode()))
+        scope = dict(scope, headers=headers)
+        sent = False
+
+        async def inflated_receive():
+            nonlocal sent
+            if not sent:
+                sent = True
+                return {"type": "http.request", "body": body, "more_body": False}
+            return await receive()
+
+        await self.app(scope, inflated_receive, send)
+
+# Added last, so it runs before the other middlewares
+app.add_middleware(GzipRequestMiddleware)
+
 # os.environ["GOOGLE_API_KEY"] and "GEMINI_API_KEY" should be set in the environment.
 
+# --- Health ---
+# Cheap ping the app sends ahead of expensive calls: wakes a cold Cloud Run instance and lets
+# the client open its TLS/HTTP2 connection. Touches neither the DB nor the models.
+@app.get("/health")
+def health():
+    return {"status": "ok"}
+
 # --- Auth Models ---
 class SignupRequest(BaseModel):
     full_name: Optional[str] = None
@@ -288,29 +492,52 @@ def get_video_recommendations(user_id: uuid.UUID, session: Session = Depends(get
 
 
 # --- Pantry Endpoints ---
+from pantry_sync import next_pantry_version, pantry_changes
+
 @app.get("/pantry/{user_id}")
 def get_pantry_items(user_id: uuid.UUID, session: Session = Depends(get_session)):
     items = session.exec(select(PantryItem).where(PantryItem.user_id == user_id).order_by(PantryItem.created_at.desc())).all()
     return items
 
+@app.get("/pantry/{user_id}/changes")
+def get_pantry_changes(user_id: uuid.UUID, since: int = 0, session: Session = Depends(get_session)):
+    """Delta sync, see pantry_sync.pantry_changes."""
+    return pantry_changes(session, user_id, since)
+
 @app.post("/pantry/add")
 def add_pantry_item(item: PantryItemCreate, session: Session = Depends(get_session)):
     new_item = PantryItem(
         user_id=item.user_id,
         name=item.name,
         amount=item.amount,
-        image_url=item.image_url
+        image_url=item.image_url,
+        version=next_pantry_version(session, item.user_id)
     )
     session.add(new_item)
     session.commit()
     session.refresh(new_item)
     return new_item
 
+@app.post("/pantry/add_batch")
+def add_pantry_items_batch(items: List[PantryItemCreate], session: Session = Depends(get_session)):
+    """Inserts all scanned items in one transaction and returns the created rows (with ids)."""
+    versions = {user_id: next_pantry_version(session, user_id) for user_id in {item.user_id for item in items}}
+    new_items = [
+        PantryItem(user_id=item.user_id, name=item.name, amount=item.amount, image_url=item.image_url, version=versions[item.user_id])
+        for item in items
+    ]
+    session.add_all(new_items)
+    session.commit()
+    for new_item in new_items:
+        session.refresh(new_item)
+    return new_items
+
 @app.delete("/pantry/{item_id}")
 def delete_pantry_item(item_id: int, session: Session = Depends(get_session)):
     item = session.get(PantryItem, item_id)
     if not item:
         raise HTTPException(status_code=404, detail="Item not found")
+    session.merge(PantryTombstone(item_id=item.id, user_id=item.user_id, version=next_pantry_version(session, item.user_id)))
     session.delete(item)
     session.commit()
     return {"message": "Item deleted"}
@@ -329,6 +556,105 @@ def extract_recipe(request: VideoRequest):
         print(f"Error executing workflow: {e}")
         raise HTTPException(status_code=500, detail=str(e))
 
+# --- Async Extraction Jobs (submit + poll) ---
+# The client submits a URL, gets a job id back immediately and polls for progress.
+# Jobs live in the DB so a finished result can be fetched again without re-running the workflow.
+from fastapi import BackgroundTasks
+from database import engine
+from models import ExtractionJob
+
+def _run_extraction_job(job_id: str):
+    with Session(engine) as db:
+        job = db.get(ExtractionJob, job_id)
+        if not job:
+            return
+        job.status = "running"
+        job.updated_at = datetime.utcnow()
+        db.add(job)
+        db.commit()
+
+        recipe = None
+        try:
+            # stream_mode="updates" yields {node_name: state_update} after each node
+            for update in recipe_workflow.stream({"url": job.video_url}, stream_mode="updates"):
+                for node_name, node_update in update.items():
+                    if isinstance(node_update, dict) and node_update.get("recipe"):
+                        recipe = node_update["recipe"]
+                    job.stage = node_name
+                job.updated_at = datetime.utcnow()
+                db.add(job)
+                db.commit()
+
+            if hasattr(recipe, "model_dump"):
+                recipe = recipe.model_dump()
+            if recipe:
+                job.recipe = recipe
+                job.status = "succeeded"
+            else:
+                # The workflow ran but found nothing to turn into a recipe
+                job.status = "failed"
+                job.error = "No recipe found at this link"
+        except Exception as e:
+            print(f"Extraction job {job_id} failed: {e}")
+            job.status = "failed"
+            job.error = str(e)
+        job.updated_at = datetime.utcnow()
+        db.add(job)
+        db.commit()
+
+# A queued or running job gets updated_at bumped after every workflow node. One that has not
+# moved for this long lost its worker (e.g. the instance was recycled mid-BackgroundTasks).
+EXTRACTION_JOB_STALE_AFTER = timedelta(minutes=10)
+
+def _fail_if_stale(job: ExtractionJob, session: Session) -> bool:
+    if job.status not in ("queued", "running"):
+        return False
+    if datetime.utcnow() - job.updated_at < EXTRACTION_JOB_STALE_AFTER:
+        return False
+    job.status = "failed"
+    job.error = "Extraction stopped responding, please try again"
+    job.updated_at = datetime.utcnow()
+    session.add(job)
+    session.commit()
+    return True
+
+def _job_response(job: ExtractionJob):
+    return {
+        "job_id": job.id,
+        "status": job.status,
+        "stage": job.stage,
+        "error": job.error,
+        "recipe": job.recipe if job.status == "succeeded" else None,
+    }
+
+@app.post("/extract_recipe/jobs")
+def submit_extraction_job(request: VideoRequest, background_tasks: BackgroundTasks, session: Session = Depends(get_session)):
+    # Reuse a finished or in-progress job for the same URL instead of paying for the pipeline again
+    existing = session.exec(
+        select(ExtractionJob)
+        .where(ExtractionJob.video_url == request.video_url)
+        .where(ExtractionJob.status != "failed")
+        .order_by(ExtractionJob.created_at.desc())
+    ).first()
+    if existing and not _fail_if_stale(existing, session):
+        return _job_response(existing)
+
+    job = ExtractionJob(video_url=request.video_url)
+    session.add(job)
+    session.commit()
+    session.refresh(job)
+    background_tasks.add_task(_run_extraction_job, job.id)
+    return _job_response(job)
+
+@app.get("/extract_recipe/jobs/{job_id}")
+def get_extraction_job(job_id: str, session: Session = Depends(get_session)):
+    job = session.get(ExtractionJob, job_id)
+    if not job:
+        raise HTTPException(status_code=404, detail="Job not found")
+    # Lets a client polling an orphaned job stop and resubmit
+    _fail_if_stale(job, session)
+    return _job_response(job)
+
 from fastapi import File, UploadFile
 import shutil
 
@@ -370,11 +696,8 @@ class ChatRequest(BaseModel):
 
 from models import ChatSession, Message
 
-@app.post("/chat")
-def chat_endpoint(request: ChatRequest, session: Session = Depends(get_session)):
-    print(f"--- Chat Request: {request.message} (Thread: {request.thread_id}) ---")
-    
-    # 1. Manage Session & History
+def _build_chat_state(request: ChatRequest, session: Session):
+    """Ensures the chat session exists and builds the agent's initial state from recent history."""
     # Ensure session exists
     chat_sess = session.get(ChatSession, request.thread_id)
     if not chat_sess and request.user_id:
@@ -398,7 +721,7 @@ def chat_endpoint(request: ChatRequest, session: Session = Depends(get_session))
             else:
                 history_msgs.append(AIMessage(content=m.content))
     
-    # 2. Construct Current State
+    # Construct Current State
     from better_agent import Recipe
     recipe_obj = None
     if request.recipe:
@@ -418,44 +741,50 @@ def chat_endpoint(request: ChatRequest, session: Session = Depends(get_session))
         "image_data": request.image_data,
         "user_id": str(request.user_id) if request.user_id else None
     }
+    return chat_sess, initial_state
+
+def _save_chat_turn(request: ChatRequest, chat_sess, response_data: Dict[str, Any], session: Session):
+    """Persists the user message and the structured AI reply, and updates session metadata."""
+    # User Message
+    session.add(Message(session_id=request.thread_id, sender="user", content=request.message))
+    
+    # Save structured AI message
+    ai_msg = Message(
+        session_id=request.thread_id, 
+        sender="ai", 
+        content=response_data.get("chat_bubble", "Here you go!"),
+        ui_type=response_data.get("ui_type", "none"),
+        recipe_data=response_data.get("recipe_data"),
+        ingredient_data=response_data.get("ingredient_data"),
+        video_data=response_data.get("video_data")
+    )
+    session.add(ai_msg)
+    
+    # Update Session Metadata
+    if chat_sess:
+        chat_sess.updated_at = datetime.utcnow()
+        if chat_sess.title == "New Chat":
+            chat_sess.title = (request.message[:30] + '...') if len(request.message) > 30 else request.message
+        session.add(chat_sess)
+        
+    session.commit()
+
+@app.post("/chat")
+def chat_endpoint(request: ChatRequest, session: Session = Depends(get_session)):
+    print(f"--- Chat Request: {request.message} (Thread: {request.thread_id}) ---")
+    
+    chat_sess, initial_state = _build_chat_state(request, session)
     
-    # 3. Invoke Chef Agent
+    # Invoke Chef Agent
     try:
         final_state = chef_workflow.invoke(initial_state)
         
-        # 4. Extract Response
+        # Extract Response
         last_message = final_state["messages"][-1]
-        response_json_str = last_message.content
-        
-        # Save to DB
-        # User Message
-        session.add(Message(session_id=request.thread_id, sender="user", content=request.message))
-        
-        # AI Response
         import json
-        response_data = json.loads(response_json_str)
-        ai_display_text = response_data.get("chat_bubble", "Here you go!")
+        response_data = json.loads(last_message.content)
         
-        # Save structured AI message
-        ai_msg = Message(
-            session_id=request.thread_id, 
-            sender="ai", 
-            content=ai_display_text,
-            ui_type=response_data.get("ui_type", "none"),
-            recipe_data=response_data.get("recipe_data"),
-            ingredient_data=response_data.get("ingredient_data"),
-            video_data=response_data.get("video_data")
-        )
-        session.add(ai_msg)
-        
-        # Update Session Metadata
-        if chat_sess:
-            chat_sess.updated_at = datetime.utcnow()
-            if chat_sess.title == "New Chat":
-                chat_sess.title = (request.message[:30] + '...') if len(request.message) > 30 else request.message
-            session.add(chat_sess)
-            
-        session.commit()
+        _save_chat_turn(request, chat_sess, response_data, session)
         return response_data
         
     except Exception as e:
@@ -464,6 +793,75 @@ def chat_endpoint(request: ChatRequest, session: Session = Depends(get_session))
         traceback.print_exc()
         raise HTTPException(status_code=500, detail=str(e))
 
+# --- Streaming Chat ---
+# Same agent as /chat, but sent as NDJSON while it runs:
+#   {"type": "delta", "text": "..."}     chef tokens as the model produces them
+#   {"type": "final", "response": {...}} polished ChatResponse incl. recipe/ingredient/video payloads
+#   {"type": "error", "detail": "..."}
+from fastapi.responses import StreamingResponse
+
+@app.post("/chat/stream")
+def chat_stream_endpoint(request: ChatRequest):
+    print(f"--- Chat Stream Request: {request.message} (Thread: {request.thread_id}) ---")
+    return _chat_stream_response(request)
+
+def _chat_stream_response(request: ChatRequest):
+    import json
+
+    def event_stream():
+        # Own DB session: the request-scoped one is closed before the body finishes streaming
+        with Session(engine) as db:
+            try:
+                chat_sess, initial_state = _build_chat_state(request, db)
+                final_content = None
+                for mode, payload in chef_workflow.stream(initial_state, stream_mode=["messages", "updates"]):
+                    if mode == "messages":
+                        chunk, metadata = payload
+                        # Only the chef's prose; tool-call chunks and the waiter's JSON are not user text
+                        if metadata.get("langgraph_node") == "chef" and not getattr(chunk, "tool_call_chunks", None):
+                            delta = chunk.content if isinstance(chunk.content, str) else ""
+                            if delta:
+                                yield json.dumps({"type": "delta", "text": delta}) + "\n"
+                    elif mode == "updates" and "waiter" in payload:
+                        final_content = payload["waiter"]["messages"][-1].content
+
+                response_data = json.loads(final_content)
+                _save_chat_turn(request, chat_sess, response_data, db)
+                yield json.dumps({"type": "final", "response": response_data}) + "\n"
+            except Exception as e:
+                print(f"Chat Stream Error: {e}")
+                yield json.dumps({"type": "error", "detail": str(e)}) + "\n"
+
+    return StreamingResponse(event_stream(), media_type="application/x-ndjson")
+
+# --- Multipart Chat ---
+# Same as /chat and /chat/stream, but a photo arrives as a binary "image" part instead of
+# base64 inside the JSON (a third fewer bytes on the uplink). The "request" part is the
+# ChatRequest JSON without image_data.
+import base64
+from fastapi import Form
+
+def _chat_request_from_parts(request_json: str, image: Optional[UploadFile]) -> ChatRequest:
+    try:
+        request = ChatRequest.model_validate_json(request_json)
+    except ValueError as e:
+        raise HTTPException(status_code=422, detail=str(e))
+    if image is not None:
+        # The chef node hands the model a data URL, so it is encoded once here
+        request.image_data = base64.b64encode(image.file.read()).decode("ascii")
+    return request
+
+@app.post("/chat/multipart")
+def chat_multipart_endpoint(request: str = Form(...), image: Optional[UploadFile] = File(None),
+                            session: Session = Depends(get_session)):
+    return chat_endpoint(_chat_request_from_parts(request, image), session)
+
+@app.post("/chat/stream/multipart")
+def chat_stream_multipart_endpoint(request: str = Form(...), image: Optional[UploadFile] = File(None)):
+    chat_request = _chat_request_from_parts(request, image)
+    print(f"--- Chat Stream Request (multipart): {chat_request.message} (Thread: {chat_request.thread_id}) ---")
+    return _chat_stream_response(chat_request)
+
 # --- Recipe Details Endpoint ---
 @app.get("/recipes/{recipe_id}/full")
 def get_full_recipe_details(recipe_id: int):
@@ -541,12 +939,16 @@ def get_chat_sessions(user_id: uuid.UUID, session: Session = Depends(get_session
     return sessions
 
 @app.get("/chat/history/{thread_id}")
-def get_chat_history(thread_id: str, session: Session = Depends(get_session)):
-    """Fetch all messages for a specific session."""
+def get_chat_history(thread_id: str, newest_first: bool = False, session: Session = Depends(get_session)):
+    """Fetch all messages for a specific session.
+
+    newest_first lets a streaming client show the latest messages before the rest has arrived.
+    """
+    order = Message.created_at.desc() if newest_first else Message.created_at.asc()
     messages = session.exec(
         select(Message)
         .where(Message.session_id == thread_id)
-        .order_by(Message.created_at.asc())
+        .order_by(order)
     ).all()
     
     # Format for response
@@ -840,6 +1242,39 @@ def get_cookbook(user_id: uuid.UUID, session: Session = Depends(get_session)):
     recipes = session.exec(select(Cookbook).where(Cookbook.user_id == user_id).order_by(Cookbook.created_at.desc())).all()
     return recipes
 
+# --- Cursor pagination ---
+# Keyset pages ordered by id desc (newest first): pass the returned next_cursor back as
+# ?cursor= to get the following page; next_cursor is null on the last page.
+MAX_PAGE_SIZE = 50
+
+# Lean list rows for the cookbook screen: the recipe body is left out and fetched per entry
+# from /cookbook/entry/{id} when the user opens or resumes it, so pages stay the same size
+# however long the recipes are. Entries are never edited, so created_at is also their version.
+@app.get("/cookbook/{user_id}/summaries")
+def get_cookbook_summaries(user_id: uuid.UUID, cursor: Optional[int] = None, limit: int = 20,
+                           session: Session = Depends(get_session)):
+    limit = max(1, min(limit, MAX_PAGE_SIZE))
+    steps = Cookbook.recipe_data["steps"]
+    step_count = case((func.json_typeof(steps) == "array", func.json_array_length(steps)), else_=0)
+    query = select(Cookbook.id, Cookbook.title, Cookbook.thumbnail_url, step_count.label("step_count"),
+                   Cookbook.created_at).where(Cookbook.user_id == user_id)
+    if cursor is not None:
+        query = query.where(Cookbook.id < cursor)
+    rows = session.exec(query.order_by(Cookbook.id.desc()).limit(limit + 1)).all()
+    items = [
+        {"id": r.id, "title": r.title, "thumbnail_url": r.thumbnail_url,
+         "step_count": r.step_count, "created_at": r.created_at}
+        for r in rows[:limit]
+    ]
+    return {"items": items, "next_cursor": items[-1]["id"] if len(rows) > limit else None}
+
+@app.get("/cookbook/entry/{cookbook_id}")
+def get_cookbook_entry(cookbook_id: int, session: Session = Depends(get_session)):
+    entry = session.get(Cookbook, cookbook_id)
+    if not entry:
+        raise HTTPException(status_code=404, detail="Recipe not found")
+    return entry
+
 @app.delete("/cookbook/{recipe_id}")
 def delete_from_cookbook(recipe_id: int, session: Session = Depends(get_session)):
     recipe = session.get(Cookbook, recipe_id)
@@ -874,16 +1309,23 @@ class CookingProgressUpdate(BaseModel):
     session_id: int
     current_step_index: int
     is_finished: bool
+    seq: Optional[int] = None # Client sequence number; older updates are dropped
 
 @app.post("/cooking/update")
 def update_cooking_progress(data: CookingProgressUpdate, session: Session = Depends(get_session)):
     sess_obj = session.get(CookingSession, data.session_id)
     if not sess_obj:
         raise HTTPException(status_code=404, detail="Session not found")
-    
+
+    # Retries and reordered requests can deliver an older step after a newer one
+    if data.seq is not None and data.seq <= (sess_obj.progress_seq or 0):
+        return sess_obj
+
     sess_obj.current_step_index = data.current_step_index
     sess_obj.is_finished = data.is_finished
     sess_obj.last_updated = datetime.utcnow()
+    if data.seq is not None:
+        sess_obj.progress_seq = data.seq
     
     session.add(sess_obj)
     session.commit()
@@ -909,6 +1351,23 @@ def get_all_cooking_sessions(user_id: uuid.UUID, session: Session = Depends(get_
         .order_by(CookingSession.id.desc())
     ).all()
 
+@app.get("/cooking/sessions/{user_id}/page")
+def get_cooking_sessions_page(user_id: uuid.UUID, cursor: Optional[int] = None, limit: int = 20,
+                              session: Session = Depends(get_session)):
+    limit = max(1, min(limit, MAX_PAGE_SIZE))
+    # Title comes along so the client can label a session without holding the whole cookbook
+    query = (
+        select(CookingSession, Cookbook.title)
+        .join(Cookbook, CookingSession.cookbook_id == Cookbook.id, isouter=True)
+        .where(CookingSession.user_id == user_id)
+    )
+    if cursor is not None:
+        query = query.where(CookingSession.id < cursor)
+    rows = session.exec(query.order_by(CookingSession.id.desc()).limit(limit + 1)).all()
+    items = [dict(cooking.model_dump(), recipe_title=title) for cooking, title in rows[:limit]]
+    next_cursor = rows[limit - 1][0].id if len(rows) > limit else None
+    return {"items": items, "next_cursor": next_cursor}
+
 # --- Shopping List Endpoints ---
 
 @app.get("/shopping_lists/{user_id}", response_model=List[ShoppingList])
@@ -964,6 +1423,37 @@ def delete_shopping_list(list_id: int, session: Session = Depends(get_session)):
     session.commit()
     return {"message": "Shopping list deleted"}
 
+# --- Dashboard (backend-for-frontend) ---
+# Everything the Dashboard screen shows, in one round trip. Bump the version when the shape changes;
+# older clients fall back to the individual endpoints.
+DASHBOARD_SNAPSHOT_VERSION = 1
+
+@app.get("/dashboard/{user_id}")
+def get_dashboard(user_id: uuid.UUID, session: Session = Depends(get_session)):
+    return {
+        "version": DASHBOARD_SNAPSHOT_VERSION,
+        "profile": get_user_profile(user_id, session),
+        "stats": get_user_stats(user_id, session),
+        "cookbook": get_cookbook(user_id, session),
+        "active_session": get_active_cooking_session(user_id, session),
+        "sessions": get_all_cooking_sessions(user_id, session),
+        "shopping_lists": get_shopping_lists(user_id, session),
+    }
+
+@app.get("/dashboard/{user_id}/summary")
+def get_dashboard_summary(user_id: uuid.UUID, session: Session = Depends(get_session)):
+    """Dashboard without the unbounded cookbook/history lists; clients page those separately."""
+    active = get_active_cooking_session(user_id, session)
+    active_recipe = session.get(Cookbook, active.cookbook_id) if active and active.cookbook_id else None
+    return {
+        "version": DASHBOARD_SNAPSHOT_VERSION,
+        "profile": get_user_profile(user_id, session),
+        "stats": get_user_stats(user_id, session),
+        "active_session": active,
+        "active_recipe": active_recipe,
+        "shopping_lists": get_shopping_lists(user_id, session),
+    }
+
 # Special endpoint: Automatic Shopping List from Recipe
 @app.post("/shopping_lists/from_recipe")
 def create_shopping_list_from_recipe(request: Dict[str, Any], session: Session = Depends(get_session)):
@@ -3,6 +3,7 @@ import uuid
 from datetime import datetime
 from typing import Optional, Dict, List
 from sqlmodel import SQLModel, Field, Column, JSON
+from sqlalchemy import BigInteger
 
 # 1. Users
 class User(SQLModel, table=True):
@@ -15,6 +16,7 @@ class User(SQLModel, table=True):
     updated_at: datetime = Field(default_factory=datetime.utcnow)
     dp_url: Optional[str] = None
     preferences: List[str] = Field(default=[], sa_column=Column(JSON))
+    pantry_version: int = Field(default=0, sa_column=Column(BigInteger, nullable=False, server_default="0")) # Last pantry version handed out, see pantry_sync.py
 
 
 # 2. PantryItems
@@ -27,6 +29,15 @@ class PantryItem(SQLModel, table=True):
     image_url: Optional[str] = None
     created_at: datetime = Field(default_factory=datetime.utcnow)
     updated_at: datetime = Field(default_factory=datetime.utcnow)
+    version: int = Field(default=0, sa_column=Column(BigInteger, nullable=False, server_default="0", index=True)) # User.pantry_version of the last write
+
+# 2b. Deleted pantry items, so delta sync can tell clients what to remove
+class PantryTombstone(SQLModel, table=True):
+    __tablename__ = "pantry_tombstones"
+    item_id: int = Field(primary_key=True)
+    user_id: uuid.UUID = Field(foreign_key="user.id", index=True)
+    version: int = Field(sa_column=Column(BigInteger, nullable=False, index=True))
+    deleted_at: datetime = Field(default_factory=datetime.utcnow)
 
 # 3. Recipes
 class Recipe(SQLModel, table=True):
@@ -92,6 +103,7 @@ class CookingSession(SQLModel, table=True):
     current_step_index: int = Field(default=0)
     is_finished: bool = Field(default=False)
     last_updated: datetime = Field(default_factory=datetime.utcnow)
+    progress_seq: int = Field(default=0, sa_column=Column(BigInteger, nullable=False, server_default="0")) # Last client seq applied
 
 # 9. ShoppingList
 class ShoppingList(SQLModel, table=True):
@@ -102,3 +114,23 @@ class ShoppingList(SQLModel, table=True):
     items: List[Dict] = Field(default=[], sa_column=Column(JSON)) # List of dicts like {"name": "Eggs", "amount": "12", "bought": false}
     created_at: datetime = Field(default_factory=datetime.utcnow)
     updated_at: datetime = Field(default_factory=datetime.utcnow)
+
+# 10. ExtractionJob (Async recipe extraction)
+class ExtractionJob(SQLModel, table=True):
+    __tablename__ = "extraction_jobs"
+    id: str = Field(default_factory=lambda: str(uuid.uuid4()), primary_key=True)
+    video_url: str = Field(index=True)
+    status: str = Field(default="queued") # queued | running | succeeded | failed
+    stage: Optional[str] = None # Name of the last finished workflow node
+    recipe: Optional[Dict] = Field(default=None, sa_column=Column(JSON))
+    error: Optional[str] = None
+    created_at: datetime = Field(default_factory=datetime.utcnow)
+    updated_at: datetime = Field(default_factory=datetime.utcnow)
+
+# 11. IdempotencyRecord (Replayed client mutations)
+class IdempotencyRecord(SQLModel, table=True):
+    __tablename__ = "idempotency_records"
+    key: str = Field(primary_key=True) # Idempotency-Key header sent by the app's offline outbox
+    status_code: int # 0 while the first request holding the key is still running
+    body: str
+    created_at: datetime = Field(default_factory=datetime.utcnow)
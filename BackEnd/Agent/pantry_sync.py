@@ -0,0 +1,53 @@
+"""
+Pantry delta sync bookkeeping.
+
+Every pantry write or delete takes the next value of its user's pantry_version in the
+write's own transaction. The UPDATE keeps the user row locked until commit, so one user's
+versions commit strictly in order: whatever pantry_version a reader sees, every row up to
+that version is already committed and visible. That makes the committed counter a safe
+cursor, unlike a global sequence whose values can commit out of order.
+"""
+import uuid
+
+from fastapi import HTTPException
+from sqlalchemy import update
+from sqlmodel import Session, select
+
+from models import User, PantryItem, PantryTombstone
+
+
+def next_pantry_version(session: Session, user_id: uuid.UUID) -> int:
+    version = session.execute(
+        update(User)
+        .where(User.id == user_id)
+        .values(pantry_version=User.pantry_version + 1)
+        .returning(User.pantry_version)
+        .execution_options(synchronize_session=False)
+    ).scalar_one_or_none()
+    if version is None:
+        raise HTTPException(status_code=404, detail="User not found")
+    return version
+
+
+def pantry_changes(session: Session, user_id: uuid.UUID, since: int) -> dict:
+    """
+    Items written and ids deleted after version `since`, up to the returned cursor.
+    since=0 returns the full list (full=true) so the client can replace its copy, and so
+    does a `since` this counter never handed out (e.g. one from the old global sequence).
+    """
+    cursor = session.exec(select(User.pantry_version).where(User.id == user_id)).first() or 0
+    if since <= 0 or since > cursor:
+        items = session.exec(select(PantryItem).where(PantryItem.user_id == user_id).order_by(PantryItem.created_at.desc())).all()
+        return {"cursor": cursor, "full": True, "upserts": items, "deleted": []}
+
+    # Bounded by the cursor so a write committing during this request is sent exactly once, next time
+    items = session.exec(
+        select(PantryItem)
+        .where(PantryItem.user_id == user_id, PantryItem.version > since, PantryItem.version <= cursor)
+        .order_by(PantryItem.created_at.desc())
+    ).all()
+    deleted = session.exec(
+        select(PantryTombstone.item_id)
+        .where(PantryTombstone.user_id == user_id, PantryTombstone.version > since, PantryTombstone.version <= cursor)
+    ).all()
+    return {"cursor": cursor, "full": False, "upserts": items, "deleted": list(deleted)}
@@ -0,0 +1,100 @@
+"""
+Runs pantry writers and delta sync readers against the database in DATABASE_URL and
+checks that the cursor never skips a write. Each test creates a throwaway user and
+removes it afterwards.
+
+    pytest test_pantry_sync_cursor.py
+"""
+import threading
+import time
+import uuid
+
+import pytest
+from sqlmodel import Session, select
+
+from database import engine, create_db_and_tables
+from models import User, PantryItem, PantryTombstone
+from pantry_sync import next_pantry_version, pantry_changes
+
+
+def add_item(session: Session, user_id: uuid.UUID, name: str):
+    session.add(PantryItem(user_id=user_id, name=name, version=next_pantry_version(session, user_id)))
+    session.flush()
+
+
+def synced_names(user_id: uuid.UUID, since: int):
+    with Session(engine) as reader:
+        changes = pantry_changes(reader, user_id, since)
+        return changes["cursor"], {item.name for item in changes["upserts"]}
+
+
+@pytest.fixture
+def user_id():
+    create_db_and_tables()
+    user_id = uuid.uuid4()
+    suffix = user_id.hex[:8]
+    with Session(engine) as db:
+        db.add(User(id=user_id, email=f"sync-test-{suffix}@example.com", password="x", username=f"sync-test-{suffix}"))
+        db.commit()
+
+    yield user_id
+
+    with Session(engine) as db:
+        for item in db.exec(select(PantryItem).where(PantryItem.user_id == user_id)).all():
+            db.delete(item)
+        for tombstone in db.exec(select(PantryTombstone).where(PantryTombstone.user_id == user_id)).all():
+            db.delete(tombstone)
+        db.commit()
+        db.delete(db.get(User, user_id))
+        db.commit()
+
+
+def test_concurrent_writes_are_not_skipped(user_id):
+    # A client that synced before any write
+    cursor, _ = synced_names(user_id, 0)
+
+    # Writer A takes the next version and stays open
+    writer_a = Session(engine)
+    try:
+        add_item(writer_a, user_id, "from A")
+
+        # Writer B starts while A is open; it must wait for A instead of taking a later version first
+        b_done = threading.Event()
+
+        def run_b():
+            with Session(engine) as writer_b:
+                add_item(writer_b, user_id, "from B")
+                writer_b.commit()
+            b_done.set()
+
+        thread_b = threading.Thread(target=run_b)
+        thread_b.start()
+        time.sleep(1.0)
+        assert not b_done.is_set(), "writer B committed while writer A still held its version"
+
+        # A reader in between must not move the cursor past A's uncommitted write
+        mid_cursor, mid_names = synced_names(user_id, cursor)
+        assert mid_names == set(), "reader saw uncommitted writes"
+
+        writer_a.commit()
+    finally:
+        writer_a.close()
+    thread_b.join(timeout=10)
+
+    _, names = synced_names(user_id, mid_cursor)
+    assert names == {"from A", "from B"}
+
+
+def test_unknown_cursor_gets_a_full_sync(user_id):
+    with Session(engine) as writer:
+        add_item(writer, user_id, "milk")
+        writer.commit()
+
+    with Session(engine) as reader:
+        cursor = pantry_changes(reader, user_id, 0)["cursor"]
+        # e.g. a cursor handed out by the old global sequence
+        changes = pantry_changes(reader, user_id, cursor + 1000)
+
+    assert changes["full"] is True
+    assert changes["cursor"] == cursor
+    assert {item.name for item in changes["upserts"]} == {"milk"}
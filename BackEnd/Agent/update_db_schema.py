@@ -43,5 +43,45 @@ def update_schema():
             else:
                 print(f"Column '{col}' already exists in 'videorecommendation'.")
 
+        # Sequence number used to drop stale cooking progress updates
+        check_c_sql = text("SELECT column_name FROM information_schema.columns WHERE table_name='cooking_session' AND column_name='progress_seq';")
+        c_result = connection.execute(check_c_sql).fetchone()
+        if not c_result:
+            print("Adding 'progress_seq' column to 'cooking_session' table...")
+            alter_c_sql = text('ALTER TABLE "cooking_session" ADD COLUMN progress_seq BIGINT NOT NULL DEFAULT 0;')
+            connection.execute(alter_c_sql)
+            connection.commit()
+            print("Column 'progress_seq' added successfully.")
+        else:
+            print("Column 'progress_seq' already exists in 'cooking_session'.")
+
+        # Pantry row versions (existing rows stay at 0 and arrive via full sync)
+        check_p_sql = text("SELECT column_name FROM information_schema.columns WHERE table_name='pantry_items_v2' AND column_name='version';")
+        p_result = connection.execute(check_p_sql).fetchone()
+        if not p_result:
+            print("Adding 'version' column to 'pantry_items_v2' table...")
+            connection.execute(text('ALTER TABLE "pantry_items_v2" ADD COLUMN version BIGINT NOT NULL DEFAULT 0;'))
+            connection.execute(text('CREATE INDEX IF NOT EXISTS ix_pantry_items_v2_version ON "pantry_items_v2" (version);'))
+            print("Column 'version' added successfully.")
+        else:
+            print("Column 'version' already exists in 'pantry_items_v2'.")
+
+        # Per-user pantry version: the delta sync cursor, replacing pantry_change_seq
+        check_u_sql = text("SELECT column_name FROM information_schema.columns WHERE table_name='user' AND column_name='pantry_version';")
+        if not connection.execute(check_u_sql).fetchone():
+            print("Adding 'pantry_version' column to 'user' table...")
+            connection.execute(text('ALTER TABLE "user" ADD COLUMN pantry_version BIGINT NOT NULL DEFAULT 0;'))
+            # Continue from the newest version already written for each user. A client cursor
+            # above it is from the old global sequence and gets a full sync (see pantry_sync.py)
+            seed_sources = ['SELECT MAX(version) FROM "pantry_items_v2" p WHERE p.user_id = u.id']
+            if connection.execute(text("SELECT to_regclass('pantry_tombstones');")).scalar() is not None:
+                seed_sources.append('SELECT MAX(version) FROM "pantry_tombstones" t WHERE t.user_id = u.id')
+            seed_sql = ", ".join(f"COALESCE(({source}), 0)" for source in seed_sources)
+            connection.execute(text(f'UPDATE "user" u SET pantry_version = GREATEST({seed_sql});'))
+            print("Column 'pantry_version' added successfully.")
+        else:
+            print("Column 'pantry_version' already exists in 'user'.")
+        connection.commit()
+
 if __name__ == "__main__":
     update_schema()
@@ -24,6 +24,13 @@ android {
              properties.load(FileInputStream(localPropertiesFile))
         }
         buildConfigField("String", "SERP_API_KEY", "\"${properties.getProperty("SERP_API_KEY")}\"")
+
+        // Package of the generated Stag.Factory registered in GsonProvider
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("stagGeneratedPackageName" to "com.example.plateit.generated")
+            }
+        }
     }
     
     buildFeatures {
@@ -39,6 +46,10 @@ android {
             )
         }
     }
+    testOptions {
+        // Interceptors log through android.util.Log; let local unit tests run them
+        unitTests.isReturnDefaultValues = true
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
@@ -52,8 +63,13 @@ dependencies {
     implementation(libs.constraintlayout)
     implementation(libs.retrofit)
     implementation(libs.converter.gson)
+    // Compile-time Gson TypeAdapters for @UseStag models (see GsonProvider)
+    implementation("com.vimeo.stag:stag-library:2.6.0")
+    annotationProcessor("com.vimeo.stag:stag-library-compiler:2.6.0")
     implementation("com.squareup.picasso:picasso:2.71828")
     testImplementation(libs.junit)
+    // Same OkHttp line as Retrofit 2.9
+    testImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.17.0")
@@ -62,6 +78,15 @@ dependencies {
     val room_version = "2.6.1"
     implementation("androidx.room:room-runtime:$room_version")
     annotationProcessor("androidx.room:room-compiler:$room_version")
+    implementation("androidx.room:room-paging:$room_version")
+
+    // Paging 3 (cookbook / cooking history)
+    implementation("androidx.paging:paging-runtime:3.3.2")
+    implementation("androidx.paging:paging-guava:3.3.2")
+    implementation("com.google.guava:guava:33.0.0-android")
+
+    // WorkManager (background recipe extraction)
+    implementation("androidx.work:work-runtime:2.9.0")
 
     // Lottie Animation
     implementation("com.airbnb.android:lottie:6.3.0")
@@ -1,22 +1,28 @@
 package com.example.plateit;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class BlogItem {
     @SerializedName("title")
-    private String title;
+    String title;
 
     @SerializedName("link")
-    private String link;
+    String link;
 
     @SerializedName("snippet")
-    private String snippet;
+    String snippet;
 
     @SerializedName("source")
-    private String source;
+    String source;
 
     @SerializedName("thumbnail")
-    private String thumbnail;
+    String thumbnail;
+
+    // Used by the generated JSON adapter
+    BlogItem() {
+    }
 
     public BlogItem(String title, String link, String snippet, String source, String thumbnail) {
         this.title = title;
@@ -6,12 +6,7 @@ import android.webkit.WebViewClient;
 import android.widget.Toast;
 import android.content.Intent;
 import androidx.appcompat.app.AppCompatActivity;
-import com.example.plateit.api.RetrofitClient;
-import com.example.plateit.requests.VideoRequest;
 import com.example.plateit.responses.RecipeResponse;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class BlogReaderActivity extends AppCompatActivity {
 
@@ -38,30 +33,36 @@ public class BlogReaderActivity extends AppCompatActivity {
     }
 
     private void extractRecipe(String url) {
-        android.app.ProgressDialog progressDialog = new android.app.ProgressDialog(this);
-        progressDialog.setMessage("Extracting Recipe...");
-        progressDialog.setCancelable(false);
-        progressDialog.show();
+        com.example.plateit.jobs.ExtractionNotifier.requestPermissionIfNeeded(this);
 
-        // Using VideoRequest for url structure, even though it's a blog
-        VideoRequest request = new VideoRequest(url);
-        RetrofitClient.getService().extractRecipe(request)
-                .enqueue(new Callback<RecipeResponse>() {
-                    @Override
-                    public void onResponse(Call<RecipeResponse> call, Response<RecipeResponse> response) {
-                        progressDialog.dismiss();
-                        if (response.isSuccessful() && response.body() != null) {
-                            startRecipePreview(response.body());
-                        } else {
-                            // Extraction failed
-                        }
-                    }
+        // Background job: the user can keep reading, we jump to the recipe once it is ready
+        com.example.plateit.jobs.ExtractionJobManager jobs = com.example.plateit.jobs.ExtractionJobManager
+                .getInstance(this);
+        jobs.submit(url);
 
-                    @Override
-                    public void onFailure(Call<RecipeResponse> call, Throwable t) {
-                        progressDialog.dismiss();
-                    }
-                });
+        // The button shows the current stage until the job finishes
+        com.google.android.material.floatingactionbutton.ExtendedFloatingActionButton fab = findViewById(R.id.fabExtract);
+        fab.setEnabled(false);
+        jobs.observeProgress(this, url, new com.example.plateit.jobs.ExtractionJobManager.ProgressListener() {
+            @Override
+            public void onStage(String label) {
+                fab.setText(label + "...");
+            }
+
+            @Override
+            public void onSucceeded(RecipeResponse recipe) {
+                if (!isFinishing()) {
+                    startRecipePreview(recipe);
+                }
+            }
+
+            @Override
+            public void onFailed(String error) {
+                fab.setEnabled(true);
+                fab.setText("Extract Recipe");
+                Toast.makeText(BlogReaderActivity.this, "Couldn't extract recipe: " + error, Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
     private void startRecipePreview(RecipeResponse recipe) {
@@ -70,7 +71,8 @@ public class BlogReaderActivity extends AppCompatActivity {
         // Ideally we show a preview first, but for now jumping to RecipeActivity
         // simplifies flow
         Intent intent = new Intent(this, RecipeActivity.class);
-        intent.putExtra("recipe_data", recipe);
+        // RecipeActivity reads the recipe as JSON
+        intent.putExtra("recipe_json", com.example.plateit.utils.GsonProvider.get().toJson(recipe));
         startActivity(intent);
         finish(); // Close reader? Or keep user here? Let's close for now as they "converted" it
     }
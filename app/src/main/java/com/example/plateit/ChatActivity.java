@@ -17,9 +17,6 @@ import com.example.plateit.models.ChatMessage;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.io.InputStream;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 
 public class ChatActivity extends AppCompatActivity {
 
@@ -33,6 +30,8 @@ public class ChatActivity extends AppCompatActivity {
     private Uri pendingImageUri = null;
     private String currentThreadId = java.util.UUID.randomUUID().toString();
     private boolean isPro = false;
+    private retrofit2.Call<okhttp3.ResponseBody> historyCall;
+    private retrofit2.Call<okhttp3.ResponseBody> replyCall;
 
     private final ActivityResultLauncher<String> galleryLauncher = registerForActivityResult(
             new ActivityResultContracts.GetContent(), uri -> {
@@ -47,6 +46,8 @@ public class ChatActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_chat);
+        // The first message goes to the slowest endpoint; get the connection ready while the user types
+        com.example.plateit.api.ConnectionWarmer.getInstance().ping();
 
         // Standardized AppBar Setup
         com.example.plateit.utils.AppBarHelper.setup(this, "Chef Intelligence", true, R.drawable.ic_history,
@@ -135,22 +136,10 @@ public class ChatActivity extends AppCompatActivity {
         chatAdapter.notifyItemInserted(messageList.size() - 1);
         rvChatMessages.scrollToPosition(messageList.size() - 1);
 
-        // 3. Prepare Data
-        String imageBase64 = null;
-        if (pendingImageUri != null) {
-            try {
-                InputStream inputStream = getContentResolver().openInputStream(pendingImageUri);
-                Bitmap bitmap = BitmapFactory.decodeStream(inputStream);
-
-                // Compress and Encode
-                java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream();
-                bitmap.compress(Bitmap.CompressFormat.JPEG, 70, byteArrayOutputStream);
-                byte[] byteArray = byteArrayOutputStream.toByteArray();
-                imageBase64 = android.util.Base64.encodeToString(byteArray, android.util.Base64.NO_WRAP);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        // 3. Prepare Data: the photo is decoded and JPEG-encoded while the request is written
+        okhttp3.MultipartBody.Part imagePart = pendingImageUri != null
+                ? com.example.plateit.api.ImageUploadBody.fromUri(this, pendingImageUri)
+                : null;
 
         // 4. Reset Inputs
         etChatMessage.setText("");
@@ -167,54 +156,57 @@ public class ChatActivity extends AppCompatActivity {
                 userId,
                 null,
                 0,
-                imageBase64);
+                null);
+
+        // Stream the reply into the placeholder bubble as the agent writes it
+        typingMsg.setStreamed(true);
+        // Tracked so closing the screen stops reading the reply
+        replyCall = com.example.plateit.api.CallScope.of(this).track(
+                com.example.plateit.api.ChatStreamClient.stream(req, imagePart, new com.example.plateit.api.ChatStreamClient.Listener() {
+            private boolean firstDelta = true;
+
+            @Override
+            public void onDelta(String text) {
+                if (firstDelta) {
+                    typingMsg.setMessage(text);
+                    firstDelta = false;
+                } else {
+                    typingMsg.appendMessage(text);
+                }
+                notifyTypingChanged();
+            }
 
-        com.example.plateit.api.RetrofitClient.getAgentService().chat(req)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.ChatResponse>() {
-                    @Override
-                    public void onResponse(retrofit2.Call<com.example.plateit.responses.ChatResponse> call,
-                            retrofit2.Response<com.example.plateit.responses.ChatResponse> response) {
-
-                        // Remove "..." placeholder safely
-                        int currentPos = messageList.indexOf(typingMsg);
-                        if (currentPos != -1) {
-                            messageList.remove(currentPos);
-                            chatAdapter.notifyItemRemoved(currentPos);
-                        }
+            @Override
+            public void onComplete(com.example.plateit.responses.ChatResponse response) {
+                if (response != null) {
+                    typingMsg.applyResponse(response);
+                }
+                notifyTypingChanged();
+                rvChatMessages.smoothScrollToPosition(messageList.size() - 1);
+                replyFinished();
+            }
 
-                        if (response.isSuccessful() && response.body() != null) {
-                            com.example.plateit.responses.ChatResponse resp = response.body();
-
-                            ChatMessage aiMsg = new ChatMessage(
-                                    resp.getChatBubble(),
-                                    resp.getUiType() != null ? resp.getUiType() : "none",
-                                    resp.getRecipeData(),
-                                    resp.getIngredientData(),
-                                    resp.getVideoData());
-
-                            messageList.add(aiMsg);
-                            chatAdapter.notifyItemInserted(messageList.size() - 1);
-                            rvChatMessages.smoothScrollToPosition(messageList.size() - 1);
-                        } else {
-                            messageList.add(new ChatMessage("Sorry, I'm having trouble connecting.", false));
-                            chatAdapter.notifyItemInserted(messageList.size() - 1);
-                            rvChatMessages.smoothScrollToPosition(messageList.size() - 1);
-                        }
-                    }
+            @Override
+            public void onError(String message) {
+                typingMsg.setMessage(message);
+                notifyTypingChanged();
+                replyFinished();
+            }
 
-                    @Override
-                    public void onFailure(retrofit2.Call<com.example.plateit.responses.ChatResponse> call,
-                            Throwable t) {
-                        int currentPos = messageList.indexOf(typingMsg);
-                        if (currentPos != -1) {
-                            messageList.remove(currentPos);
-                            chatAdapter.notifyItemRemoved(currentPos);
-                        }
-                        messageList.add(new ChatMessage("Network error: " + t.getMessage(), false));
-                        chatAdapter.notifyItemInserted(messageList.size() - 1);
-                        rvChatMessages.smoothScrollToPosition(messageList.size() - 1);
-                    }
-                });
+            private void notifyTypingChanged() {
+                int currentPos = messageList.indexOf(typingMsg);
+                if (currentPos != -1) {
+                    chatAdapter.notifyItemChanged(currentPos);
+                }
+            }
+        }));
+    }
+
+    private void replyFinished() {
+        if (replyCall != null) {
+            com.example.plateit.api.CallScope.of(this).untrack(replyCall);
+            replyCall = null;
+        }
     }
 
     @Override
@@ -234,8 +226,9 @@ public class ChatActivity extends AppCompatActivity {
 
     private void showHistoryDialog() {
         com.example.plateit.utils.SessionManager sm = new com.example.plateit.utils.SessionManager(this);
-        com.example.plateit.api.RetrofitClient.getAgentService().getChatSessions(sm.getUserId())
-                .enqueue(new retrofit2.Callback<List<com.example.plateit.models.ChatSession>>() {
+        com.example.plateit.api.CallScope.of(this).enqueue(
+                com.example.plateit.api.RetrofitClient.getAgentService().getChatSessions(sm.getUserId()),
+                new retrofit2.Callback<List<com.example.plateit.models.ChatSession>>() {
                     @Override
                     public void onResponse(retrofit2.Call<List<com.example.plateit.models.ChatSession>> call,
                             retrofit2.Response<List<com.example.plateit.models.ChatSession>> response) {
@@ -269,37 +262,44 @@ public class ChatActivity extends AppCompatActivity {
     }
 
     private void loadChatHistory(String threadId) {
-        com.example.plateit.api.RetrofitClient.getAgentService().getChatHistory(threadId)
-                .enqueue(new retrofit2.Callback<List<com.example.plateit.responses.ChatHistoryResponse>>() {
+        if (historyCall != null) {
+            historyCall.cancel();
+            historyFinished();
+        }
+        messageList.clear();
+        chatAdapter.notifyDataSetChanged();
+        // Newest messages arrive first; each batch is older history inserted above
+        historyCall = com.example.plateit.api.CallScope.of(this).track(
+                com.example.plateit.api.ChatHistoryStreamClient.load(threadId,
+                new com.example.plateit.api.ChatHistoryStreamClient.Listener() {
+                    private boolean first = true;
+
                     @Override
-                    public void onResponse(
-                            retrofit2.Call<List<com.example.plateit.responses.ChatHistoryResponse>> call,
-                            retrofit2.Response<List<com.example.plateit.responses.ChatHistoryResponse>> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            messageList.clear();
-                            for (com.example.plateit.responses.ChatHistoryResponse item : response.body()) {
-                                ChatMessage msg = new ChatMessage(
-                                        item.getContent(),
-                                        item.getUiType() != null ? item.getUiType() : "none",
-                                        item.getRecipeData(),
-                                        item.getIngredientData(),
-                                        item.getVideoData());
-                                if ("user".equals(item.getSender())) {
-                                    msg.setUser(true);
-                                }
-                                messageList.add(msg);
-                            }
-                            chatAdapter.notifyDataSetChanged();
-                            if (!messageList.isEmpty()) {
-                                rvChatMessages.scrollToPosition(messageList.size() - 1);
-                            }
+                    public void onOlderMessages(List<ChatMessage> messages) {
+                        messageList.addAll(0, messages);
+                        chatAdapter.notifyItemRangeInserted(0, messages.size());
+                        if (first) {
+                            first = false;
+                            rvChatMessages.scrollToPosition(messageList.size() - 1);
                         }
                     }
 
                     @Override
-                    public void onFailure(retrofit2.Call<List<com.example.plateit.responses.ChatHistoryResponse>> call,
-                            Throwable t) {
+                    public void onComplete() {
+                        historyFinished();
                     }
-                });
+
+                    @Override
+                    public void onError(String message) {
+                        historyFinished();
+                    }
+                }));
+    }
+
+    private void historyFinished() {
+        if (historyCall != null) {
+            com.example.plateit.api.CallScope.of(this).untrack(historyCall);
+            historyCall = null;
+        }
     }
 }
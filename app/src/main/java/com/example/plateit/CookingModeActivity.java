@@ -66,6 +66,7 @@ public class CookingModeActivity extends AppCompatActivity {
 
     // Session
     private int sessionId = -1;
+    private com.example.plateit.sync.CookingProgressSync progressSync;
     private com.example.plateit.utils.SessionManager sessionManager;
 
     private void startCookingSession(int cookbookId) {
@@ -75,8 +76,9 @@ public class CookingModeActivity extends AppCompatActivity {
 
         com.example.plateit.requests.CookingSessionCreate req = new com.example.plateit.requests.CookingSessionCreate(
                 userId, cookbookId);
-        com.example.plateit.api.RetrofitClient.getAgentService().startCookingSession(req)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.CookingSession>() {
+        com.example.plateit.api.CallScope.of(this).enqueueToCompletion(
+                com.example.plateit.api.RetrofitClient.getAgentService().startCookingSession(req),
+                new retrofit2.Callback<com.example.plateit.responses.CookingSession>() {
                     @Override
                     public void onResponse(retrofit2.Call<com.example.plateit.responses.CookingSession> call,
                             retrofit2.Response<com.example.plateit.responses.CookingSession> response) {
@@ -97,22 +99,8 @@ public class CookingModeActivity extends AppCompatActivity {
     }
 
     private void updateCookingSession(int stepIndex, boolean isFinished) {
-        com.example.plateit.requests.CookingProgressUpdate req = new com.example.plateit.requests.CookingProgressUpdate(
-                sessionId, stepIndex, isFinished);
-        com.example.plateit.api.RetrofitClient.getAgentService().updateCookingProgress(req)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.CookingSession>() {
-                    @Override
-                    public void onResponse(retrofit2.Call<com.example.plateit.responses.CookingSession> call,
-                            retrofit2.Response<com.example.plateit.responses.CookingSession> response) {
-                        // Success
-                    }
-
-                    @Override
-                    public void onFailure(retrofit2.Call<com.example.plateit.responses.CookingSession> call,
-                            Throwable t) {
-                        // Fail silently
-                    }
-                });
+        // Debounced: swiping through several steps sends only the one the user stops on
+        progressSync.onStepChanged(sessionId, stepIndex, isFinished);
     }
 
     @Override
@@ -121,6 +109,7 @@ public class CookingModeActivity extends AppCompatActivity {
         // androidx.activity.EdgeToEdge.enable(this); // Disabled to restore standard
         // bars
         setContentView(R.layout.activity_cooking_mode);
+        progressSync = new com.example.plateit.sync.CookingProgressSync(this);
 
         // setContentView(R.layout.activity_cooking_mode); already called above
 
@@ -141,7 +130,7 @@ public class CookingModeActivity extends AppCompatActivity {
         try {
             String json = getIntent().getStringExtra("recipe_json");
             if (json != null) {
-                currentRecipe = new com.google.gson.Gson().fromJson(json, com.example.plateit.models.Recipe.class);
+                currentRecipe = com.example.plateit.utils.GsonProvider.get().fromJson(json, com.example.plateit.models.Recipe.class);
             }
             // Check for legacy object passing just in case (optional, can remove)
             if (currentRecipe == null) {
@@ -434,7 +423,7 @@ public class CookingModeActivity extends AppCompatActivity {
         // Toast.makeText(this, "Thinking...", Toast.LENGTH_SHORT).show();
 
         int currentStepIndex = viewPager.getCurrentItem();
-        String imageBase64 = null;
+        okhttp3.MultipartBody.Part imagePart = null;
 
         // Display user query in UI
         cvAssistantResponse.setVisibility(View.VISIBLE);
@@ -442,10 +431,8 @@ public class CookingModeActivity extends AppCompatActivity {
         if (image != null) {
             imgUserQuery.setVisibility(View.VISIBLE);
             imgUserQuery.setImageBitmap(image);
-            java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream();
-            image.compress(android.graphics.Bitmap.CompressFormat.JPEG, 70, byteArrayOutputStream);
-            byte[] byteArray = byteArrayOutputStream.toByteArray();
-            imageBase64 = android.util.Base64.encodeToString(byteArray, android.util.Base64.NO_WRAP);
+            // JPEG-encoded straight into the upload on the OkHttp thread
+            imagePart = com.example.plateit.api.ImageUploadBody.fromBitmap(image);
         } else {
             imgUserQuery.setVisibility(View.GONE);
         }
@@ -454,8 +441,6 @@ public class CookingModeActivity extends AppCompatActivity {
         // The original code had an extra closing brace here, which was syntactically
         // incorrect.
         // It has been removed to ensure correctness.
-        // The imageBase64 conversion was also inside an incorrect block. Moved it
-        // inside the `if (image != null)` block.
 
         String userId = sessionManager.getUserId();
         String threadId = (sessionId != -1) ? "cooking_" + sessionId : "chat_" + userId;
@@ -466,11 +451,15 @@ public class CookingModeActivity extends AppCompatActivity {
                 userId,
                 currentRecipe,
                 currentStepIndex,
-                imageBase64);
-
-        // Use AgentApiService
-        com.example.plateit.api.RetrofitClient.getAgentService().chat(req)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.ChatResponse>() {
+                null);
+
+        // Use AgentApiService; a photo goes as a multipart part rather than base64 JSON
+        com.example.plateit.api.AgentApiService service = com.example.plateit.api.RetrofitClient.getAgentService();
+        retrofit2.Call<com.example.plateit.responses.ChatResponse> chatCall = imagePart != null
+                ? service.chatMultipart(req, imagePart)
+                : service.chat(req);
+        com.example.plateit.api.CallScope.of(this).enqueue(chatCall,
+                new retrofit2.Callback<com.example.plateit.responses.ChatResponse>() {
                     @Override
                     public void onResponse(retrofit2.Call<com.example.plateit.responses.ChatResponse> call,
                             retrofit2.Response<com.example.plateit.responses.ChatResponse> response) {
@@ -497,6 +486,10 @@ public class CookingModeActivity extends AppCompatActivity {
                                         });
                                 rvRecipeList.setAdapter(adapter);
                                 rvRecipeList.setVisibility(View.VISIBLE);
+                                List<com.example.plateit.responses.ChatResponse.RecipeCard> cards = resp
+                                        .getRecipeData().getItems();
+                                com.example.plateit.api.RecipePrefetcher.getInstance().track(rvRecipeList,
+                                        position -> cards.get(position).getId());
 
                             } else if ("ingredient_list".equals(type) && resp.getIngredientData() != null) {
                                 // Convert items
@@ -587,40 +580,37 @@ public class CookingModeActivity extends AppCompatActivity {
     }
 
     private void fetchAndStartRecipe(int recipeId) {
-        // Toast.makeText(this, "Loading recipe...", Toast.LENGTH_SHORT).show();
-        setApiLoading(true);
+        com.example.plateit.api.RecipePrefetcher prefetcher = com.example.plateit.api.RecipePrefetcher.getInstance();
+        // Usually prefetched while the cards were on screen
+        if (prefetcher.getCached(recipeId) == null) {
+            setApiLoading(true);
+        }
 
-        com.example.plateit.api.RetrofitClient.getAgentService().getRecipeDetails(recipeId)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.RecipeResponse>() {
-                    public void onResponse(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                            retrofit2.Response<com.example.plateit.responses.RecipeResponse> response) {
-                        setApiLoading(false);
-                        if (response.isSuccessful() && response.body() != null) {
-                            com.example.plateit.responses.RecipeResponse recipeResp = response.body();
-
-                            // Convert to Recipe model
-                            com.example.plateit.models.Recipe recipe = new com.example.plateit.models.Recipe(
-                                    recipeResp.getName(),
-                                    recipeResp.getSteps(),
-                                    recipeResp.getIngredients(),
-                                    recipeResp.getSourceUrl(),
-                                    recipeResp.getSourceImage());
-
-                            // Restart CookingModeActivity with new recipe
-                            Intent intent = new Intent(CookingModeActivity.this, CookingModeActivity.class);
-                            intent.putExtra("recipe_object", recipe);
-                            finish(); // Close current activity
-                            startActivity(intent);
-                        } else {
-                            // Failed to load
-                        }
-                    }
+        prefetcher.load(recipeId, new com.example.plateit.api.RecipePrefetcher.Listener() {
+            @Override
+            public void onLoaded(com.example.plateit.responses.RecipeResponse recipeResp) {
+                setApiLoading(false);
+
+                // Convert to Recipe model
+                com.example.plateit.models.Recipe recipe = new com.example.plateit.models.Recipe(
+                        recipeResp.getName(),
+                        recipeResp.getSteps(),
+                        recipeResp.getIngredients(),
+                        recipeResp.getSourceUrl(),
+                        recipeResp.getSourceImage());
+
+                // Restart CookingModeActivity with new recipe
+                Intent intent = new Intent(CookingModeActivity.this, CookingModeActivity.class);
+                intent.putExtra("recipe_object", recipe);
+                finish(); // Close current activity
+                startActivity(intent);
+            }
 
-                    public void onFailure(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                            Throwable t) {
-                        setApiLoading(false);
-                    }
-                });
+            @Override
+            public void onFailed() {
+                setApiLoading(false);
+            }
+        });
     }
 
     @Override
@@ -800,8 +790,15 @@ public class CookingModeActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        progressSync.flush();
+    }
+
     @Override
     protected void onDestroy() {
+        progressSync.flush();
         if (textToSpeech != null) {
             textToSpeech.stop();
             textToSpeech.shutdown();
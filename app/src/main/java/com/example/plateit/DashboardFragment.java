@@ -1,5 +1,6 @@
 package com.example.plateit;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.LayoutInflater;
@@ -13,18 +14,39 @@ import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.paging.CombinedLoadStates;
+import androidx.paging.LoadState;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.plateit.adapters.CookbookAdapter;
+import com.example.plateit.api.CallFutures;
+import com.example.plateit.api.CallScope;
 import com.example.plateit.api.RetrofitClient;
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.CookbookEntity;
+import com.example.plateit.db.CookingSessionEntity;
+import com.example.plateit.db.DatabaseClient;
 import com.example.plateit.responses.CookbookEntry;
+import com.example.plateit.responses.CookbookSummary;
+import com.example.plateit.sync.CookbookRemoteMediator;
+import com.example.plateit.sync.CookingSessionRemoteMediator;
 import com.example.plateit.utils.SessionManager;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.gson.Gson;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -32,6 +54,12 @@ import retrofit2.Response;
 
 public class DashboardFragment extends Fragment {
 
+    private static final int PAGE_SIZE = 20;
+    private static final long SECTION_TIMEOUT_SECONDS = 8;
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    // The pagers load on their own the first time; later resumes ask for a fresh first page
+    private boolean refreshPagesOnResume = false;
+
     private RecyclerView rvCookbook;
     private CookbookAdapter adapter;
     private TextView tvEmpty;
@@ -41,7 +69,6 @@ public class DashboardFragment extends Fragment {
     private RecyclerView rvSessions;
     private TextView tvSessionsHeader;
     private com.example.plateit.adapters.CookingSessionAdapter sessionAdapter;
-    private List<CookbookEntry> myCookbook = new ArrayList<>();
 
     // Shopping Lists UI
     private RecyclerView rvShoppingLists;
@@ -78,6 +105,13 @@ public class DashboardFragment extends Fragment {
         setupChefName();
 
         btnEdit.setOnClickListener(v -> showEditProfileDialog(tvChefName));
+        if (BuildConfig.DEBUG) {
+            // Hidden entry to the network timing screen
+            tvChefName.setOnLongClickListener(v -> {
+                startActivity(new android.content.Intent(getContext(), NetworkDebugActivity.class));
+                return true;
+            });
+        }
         btnLogout.setOnClickListener(v -> {
             new android.app.AlertDialog.Builder(getContext())
                     .setTitle("Logout")
@@ -99,16 +133,14 @@ public class DashboardFragment extends Fragment {
         tvEmpty = view.findViewById(R.id.tvEmptyCookbook);
 
         rvCookbook.setLayoutManager(new LinearLayoutManager(getContext(), LinearLayoutManager.HORIZONTAL, false));
-        adapter = new CookbookAdapter(new ArrayList<>(), this::openRecipe, this::deleteRecipe);
+        adapter = new CookbookAdapter(this::openRecipe, this::deleteRecipe);
         rvCookbook.setAdapter(adapter);
 
         // Sessions Section (History)
         rvSessions = view.findViewById(R.id.rvSessions);
         tvSessionsHeader = view.findViewById(R.id.tvSessionsHeader);
         rvSessions.setLayoutManager(new LinearLayoutManager(getContext()));
-        rvSessions.setNestedScrollingEnabled(false);
-        sessionAdapter = new com.example.plateit.adapters.CookingSessionAdapter(
-                new ArrayList<>(), new ArrayList<>(), this::onResumeSession);
+        sessionAdapter = new com.example.plateit.adapters.CookingSessionAdapter(this::onResumeSession);
         rvSessions.setAdapter(sessionAdapter);
 
         // Active Card Section
@@ -135,20 +167,163 @@ public class DashboardFragment extends Fragment {
                 });
         rvShoppingLists.setAdapter(shoppingAdapter);
 
+        refreshPagesOnResume = false;
         return view;
     }
 
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        startPagedLists();
+    }
+
     @Override
     public void onResume() {
         super.onResume();
-        fetchCookbook();
-        fetchActiveSession();
-        fetchHistory();
-        fetchUserStats();
-        fetchShoppingLists();
+        loadDashboard();
+        if (refreshPagesOnResume) {
+            adapter.refresh();
+            sessionAdapter.refresh();
+        }
+        refreshPagesOnResume = true;
         setupChefName(); // Refresh in case it changed
     }
 
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        dbExecutor.shutdown();
+    }
+
+    // Cookbook and history are paged from Room; the mediators fetch further pages as the user scrolls
+    @androidx.annotation.OptIn(markerClass = androidx.paging.ExperimentalPagingApi.class)
+    private void startPagedLists() {
+        String userId = sessionManager.getUserId();
+        if (userId == null)
+            return;
+        AppDatabase db = DatabaseClient.getInstance(requireContext()).getAppDatabase();
+
+        Pager<Integer, CookbookEntity> cookbookPager = new Pager<>(new PagingConfig(PAGE_SIZE), null,
+                new CookbookRemoteMediator(db, userId), () -> db.cookbookDao().pagingSource(userId));
+        androidx.lifecycle.Transformations.map(PagingLiveData.getLiveData(cookbookPager),
+                data -> PagingDataTransforms.map(data, dbExecutor, CookbookEntity::toSummary))
+                .observe(getViewLifecycleOwner(), data -> adapter.submitData(getViewLifecycleOwner().getLifecycle(), data));
+        adapter.addLoadStateListener(states -> {
+            renderCookbookState(states);
+            return kotlin.Unit.INSTANCE;
+        });
+
+        Pager<Integer, CookingSessionEntity> sessionsPager = new Pager<>(new PagingConfig(PAGE_SIZE), null,
+                new CookingSessionRemoteMediator(db, userId), () -> db.cookingSessionDao().pagingSource(userId));
+        androidx.lifecycle.Transformations.map(PagingLiveData.getLiveData(sessionsPager),
+                data -> PagingDataTransforms.map(data, dbExecutor, CookingSessionEntity::toSession))
+                .observe(getViewLifecycleOwner(), data -> sessionAdapter.submitData(getViewLifecycleOwner().getLifecycle(), data));
+        sessionAdapter.addLoadStateListener(states -> {
+            renderHistoryState(states);
+            return kotlin.Unit.INSTANCE;
+        });
+    }
+
+    // One snapshot call renders the whole screen; falls back to the individual endpoints if it fails
+    private void loadDashboard() {
+        String userId = sessionManager.getUserId();
+        if (userId == null)
+            return;
+
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().getDashboardSummary(userId),
+                new Callback<com.example.plateit.responses.DashboardSnapshot>() {
+                    @Override
+                    public void onResponse(Call<com.example.plateit.responses.DashboardSnapshot> call,
+                            Response<com.example.plateit.responses.DashboardSnapshot> response) {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        deferDashboardRefresh();
+                        com.example.plateit.responses.DashboardSnapshot snapshot = response.body();
+                        if (response.isSuccessful() && snapshot != null
+                                && snapshot.getVersion() <= com.example.plateit.responses.DashboardSnapshot.SUPPORTED_VERSION) {
+                            renderSnapshot(snapshot);
+                        } else {
+                            fetchAllSections();
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call<com.example.plateit.responses.DashboardSnapshot> call, Throwable t) {
+                        if (isAdded()) {
+                            deferDashboardRefresh();
+                            fetchAllSections();
+                        }
+                    }
+                });
+    }
+
+    // Offline: cached snapshot and Room pages stay on screen; reload all of it once the network is back
+    private void deferDashboardRefresh() {
+        com.example.plateit.api.Reachability.getInstance().deferIfOffline(getViewLifecycleOwner(), "dashboard", () -> {
+            loadDashboard();
+            adapter.refresh();
+            sessionAdapter.refresh();
+        });
+    }
+
+    // Fallback for the snapshot: the sections load in parallel and the screen renders once
+    // they are all in; a section that fails or is slow renders empty instead of holding up the rest
+    private void fetchAllSections() {
+        String userId = sessionManager.getUserId();
+        if (userId == null)
+            return;
+
+        com.example.plateit.api.AgentApiService service = RetrofitClient.getAgentService();
+        ListenableFuture<com.example.plateit.responses.CookingSession> session = section(
+                service.getActiveCookingSession(userId));
+        ListenableFuture<CookbookEntry> activeRecipe = Futures.transformAsync(session,
+                s -> s != null && s.getCookbookId() != null
+                        ? section(cookbookEntryFuture(s.getCookbookId()))
+                        : Futures.immediateFuture(null),
+                MoreExecutors.directExecutor());
+        ListenableFuture<com.example.plateit.responses.UserStatsResponse> stats = section(
+                service.getUserStats(userId));
+        ListenableFuture<List<com.example.plateit.responses.ShoppingList>> lists = section(
+                service.getShoppingLists(userId));
+
+        CallFutures.onMain(getViewLifecycleOwner(),
+                Futures.whenAllSucceed(session, activeRecipe, stats, lists).call(() -> null,
+                        MoreExecutors.directExecutor()),
+                new FutureCallback<Object>() {
+                    @Override
+                    public void onSuccess(Object ignored) {
+                        renderActiveSession(Futures.getUnchecked(session), Futures.getUnchecked(activeRecipe));
+                        if (Futures.getUnchecked(stats) != null) {
+                            updateStatsUI(Futures.getUnchecked(stats));
+                        }
+                        if (Futures.getUnchecked(lists) != null) {
+                            renderShoppingLists(Futures.getUnchecked(lists));
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Throwable t) {
+                        // Sections never fail (see section()), nothing to render
+                    }
+                });
+    }
+
+    private static <T> ListenableFuture<T> section(ListenableFuture<T> future) {
+        return CallFutures.orNull(CallFutures.withTimeout(future, SECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    private void renderSnapshot(com.example.plateit.responses.DashboardSnapshot snapshot) {
+        if (snapshot.getProfile() != null) {
+            renderProfile(snapshot.getProfile());
+        }
+        if (snapshot.getStats() != null) {
+            updateStatsUI(snapshot.getStats());
+        }
+        renderActiveSession(snapshot.getActiveSession(), snapshot.getActiveRecipe());
+        renderShoppingLists(snapshot.getShoppingLists() != null ? snapshot.getShoppingLists() : new ArrayList<>());
+    }
+
     private void setupChefName() {
         String fullName = sessionManager.getFullName();
         if (fullName != null && !fullName.isEmpty()) {
@@ -186,20 +361,13 @@ public class DashboardFragment extends Fragment {
         if (userId == null)
             return;
 
-        RetrofitClient.getAgentService().getUserProfile(userId)
-                .enqueue(new Callback<com.example.plateit.responses.AuthResponse>() {
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().getUserProfile(userId),
+                new Callback<com.example.plateit.responses.AuthResponse>() {
                     @Override
                     public void onResponse(Call<com.example.plateit.responses.AuthResponse> call,
                             Response<com.example.plateit.responses.AuthResponse> response) {
                         if (response.isSuccessful() && response.body() != null) {
-                            String fullName = response.body().getFullName();
-                            if (fullName != null && !fullName.isEmpty()) {
-                                sessionManager.setFullName(fullName);
-                                String firstName = fullName.split(" ")[0];
-                                if (tvChefName != null) {
-                                    tvChefName.setText("Chef " + firstName);
-                                }
-                            }
+                            renderProfile(response.body());
                         }
                     }
 
@@ -210,6 +378,17 @@ public class DashboardFragment extends Fragment {
                 });
     }
 
+    private void renderProfile(com.example.plateit.responses.AuthResponse profile) {
+        String fullName = profile.getFullName();
+        if (fullName != null && !fullName.isEmpty()) {
+            sessionManager.setFullName(fullName);
+            String firstName = fullName.split(" ")[0];
+            if (tvChefName != null) {
+                tvChefName.setText("Chef " + firstName);
+            }
+        }
+    }
+
     private void setupPieChart() {
         chartSessions.setUsePercentValues(true);
         chartSessions.getDescription().setEnabled(false);
@@ -223,29 +402,6 @@ public class DashboardFragment extends Fragment {
         chartSessions.getLegend().setEnabled(false);
     }
 
-    private void fetchUserStats() {
-        String userId = sessionManager.getUserId();
-        if (userId == null)
-            return;
-
-        RetrofitClient.getAgentService().getUserStats(userId)
-                .enqueue(new Callback<com.example.plateit.responses.UserStatsResponse>() {
-                    @Override
-                    public void onResponse(Call<com.example.plateit.responses.UserStatsResponse> call,
-                            Response<com.example.plateit.responses.UserStatsResponse> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            com.example.plateit.responses.UserStatsResponse stats = response.body();
-                            updateStatsUI(stats);
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Call<com.example.plateit.responses.UserStatsResponse> call, Throwable t) {
-                        // Fail silently
-                    }
-                });
-    }
-
     private void updateStatsUI(com.example.plateit.responses.UserStatsResponse stats) {
         tvStatRecipes.setText(stats.getTotalRecipes() + " Recipes Saved");
         tvStatDays.setText(stats.getActiveDays() + " Active Days");
@@ -278,14 +434,20 @@ public class DashboardFragment extends Fragment {
         }
     }
 
-    private void onResumeSession(com.example.plateit.responses.CookingSession session, CookbookEntry entry) {
-        launchCookingMode(session, entry);
+    private void onResumeSession(com.example.plateit.responses.CookingSession session) {
+        findCookbookEntry(session.getCookbookId(), entry -> {
+            if (entry != null) {
+                launchCookingMode(session, entry);
+            } else {
+                Toast.makeText(getContext(), "Recipe not found", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     private void launchCookingMode(com.example.plateit.responses.CookingSession session, CookbookEntry entry) {
         if (entry.getRecipeData() != null) {
             Intent intent = new Intent(getContext(), CookingModeActivity.class);
-            String json = new Gson().toJson(entry.getRecipeData());
+            String json = com.example.plateit.utils.GsonProvider.get().toJson(entry.getRecipeData());
             intent.putExtra("recipe_json", json);
             intent.putExtra("session_id", session.getId());
             intent.putExtra("initial_step", session.getCurrentStepIndex());
@@ -294,156 +456,91 @@ public class DashboardFragment extends Fragment {
         }
     }
 
-    private void fetchCookbook() {
-        String userId = sessionManager.getUserId();
-        if (userId == null)
-            return;
-
-        android.util.Log.d("PlateIt", "DEBUG: Calling getCookbook for " + userId);
-        RetrofitClient.getAgentService().getCookbook(userId).enqueue(new Callback<List<CookbookEntry>>() {
-            @Override
-            public void onResponse(Call<List<CookbookEntry>> call, Response<List<CookbookEntry>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<CookbookEntry> recipes = response.body();
-                    myCookbook = recipes;
-                    android.util.Log.d("PlateIt", "Cookbook fetched: " + recipes.size() + " items");
-
-                    if (recipes.isEmpty()) {
-                        tvEmpty.setVisibility(View.VISIBLE);
-                        rvCookbook.setVisibility(View.GONE);
-                    } else {
-                        tvEmpty.setVisibility(View.GONE);
-                        rvCookbook.setVisibility(View.VISIBLE);
-                        adapter.updateData(recipes);
-                    }
-                    // Crucial: Update sessions too so they can match labels/data
-                    if (sessionAdapter != null) {
-                        sessionAdapter.updateCookbook(recipes);
-                    }
-                } else {
-                    android.util.Log.e("PlateIt", "Cookbook fetch failed: " + response.code());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<CookbookEntry>> call, Throwable t) {
-                android.util.Log.e("PlateIt", "Cookbook Fetch Error: " + t.getMessage(), t);
-                // Still try to find sessions
-            }
-        });
-    }
-
-    private void fetchActiveSession() {
-        String userId = sessionManager.getUserId();
-        if (userId == null)
-            return;
-
-        RetrofitClient.getAgentService().getActiveCookingSession(userId)
-                .enqueue(new Callback<com.example.plateit.responses.CookingSession>() {
+    // Full entry with the recipe body; the list only holds summaries
+    private void findCookbookEntry(int cookbookId, androidx.core.util.Consumer<CookbookEntry> callback) {
+        CallFutures.onMain(getViewLifecycleOwner(), cookbookEntryFuture(cookbookId),
+                new FutureCallback<CookbookEntry>() {
                     @Override
-                    public void onResponse(Call<com.example.plateit.responses.CookingSession> call,
-                            Response<com.example.plateit.responses.CookingSession> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            com.example.plateit.responses.CookingSession session = response.body();
-
-                            // Match recipe
-                            CookbookEntry match = null;
-                            if (myCookbook != null) {
-                                for (CookbookEntry entry : myCookbook) {
-                                    if (entry.getId() == session.getCookbookId()) {
-                                        match = entry;
-                                        break;
-                                    }
-                                }
-                            }
-
-                            if (match != null) {
-                                cvActiveSession.setVisibility(View.VISIBLE);
-                                tvActiveTitle.setText(match.getTitle());
-                                tvActiveStep.setText("Currently on Step " + (session.getCurrentStepIndex() + 1));
-
-                                final CookbookEntry finalMatch = match;
-                                btnResume.setOnClickListener(v -> launchCookingMode(session, finalMatch));
-                            } else {
-                                cvActiveSession.setVisibility(View.GONE);
-                            }
-                        } else {
-                            cvActiveSession.setVisibility(View.GONE);
-                        }
+                    public void onSuccess(CookbookEntry entry) {
+                        callback.accept(entry);
                     }
 
                     @Override
-                    public void onFailure(Call<com.example.plateit.responses.CookingSession> call, Throwable t) {
-                        cvActiveSession.setVisibility(View.GONE);
+                    public void onFailure(@NonNull Throwable t) {
+                        callback.accept(null);
                     }
                 });
     }
 
-    private void fetchHistory() {
-        String userId = sessionManager.getUserId();
-        if (userId == null)
+    // Answered from the HTTP cache after the first open (see getCookbookEntry)
+    private static ListenableFuture<CookbookEntry> cookbookEntryFuture(int cookbookId) {
+        return RetrofitClient.getAgentService().getCookbookEntry(cookbookId);
+    }
+
+    private void renderCookbookState(CombinedLoadStates states) {
+        // Empty only once the first page has actually come back empty
+        boolean loaded = states.getRefresh() instanceof LoadState.NotLoading;
+        boolean empty = loaded && adapter.getItemCount() == 0;
+        tvEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+        rvCookbook.setVisibility(empty ? View.GONE : View.VISIBLE);
+    }
+
+    private void renderActiveSession(com.example.plateit.responses.CookingSession session, CookbookEntry match) {
+        if (session == null || match == null) {
+            cvActiveSession.setVisibility(View.GONE);
             return;
+        }
 
-        RetrofitClient.getAgentService().getAllCookingSessions(userId)
-                .enqueue(new Callback<List<com.example.plateit.responses.CookingSession>>() {
-                    @Override
-                    public void onResponse(Call<List<com.example.plateit.responses.CookingSession>> call,
-                            Response<List<com.example.plateit.responses.CookingSession>> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<com.example.plateit.responses.CookingSession> sessions = response.body();
-                            if (!sessions.isEmpty()) {
-                                tvSessionsHeader.setVisibility(View.VISIBLE);
-                                tvSessionsHeader.setText("Recent Activity");
-                                rvSessions.setVisibility(View.VISIBLE);
-                                sessionAdapter.updateData(sessions, myCookbook);
-                            } else {
-                                tvSessionsHeader.setVisibility(View.GONE);
-                                rvSessions.setVisibility(View.GONE);
-                            }
-                        } else {
-                            tvSessionsHeader.setVisibility(View.GONE);
-                        }
-                    }
+        cvActiveSession.setVisibility(View.VISIBLE);
+        tvActiveTitle.setText(match.getTitle());
+        tvActiveStep.setText("Currently on Step " + (session.getCurrentStepIndex() + 1));
+        btnResume.setOnClickListener(v -> launchCookingMode(session, match));
+    }
 
-                    @Override
-                    public void onFailure(Call<List<com.example.plateit.responses.CookingSession>> call, Throwable t) {
-                        tvSessionsHeader.setVisibility(View.GONE);
-                    }
-                });
+    private void renderHistoryState(CombinedLoadStates states) {
+        boolean hasSessions = sessionAdapter.getItemCount() > 0;
+        tvSessionsHeader.setVisibility(hasSessions ? View.VISIBLE : View.GONE);
+        tvSessionsHeader.setText("Recent Activity");
+        rvSessions.setVisibility(hasSessions ? View.VISIBLE : View.GONE);
     }
 
-    private void openRecipe(CookbookEntry entry) {
-        if (entry.getRecipeData() != null) {
-            Intent intent = new Intent(getContext(), RecipeActivity.class);
-            String json = new Gson().toJson(entry.getRecipeData());
-            intent.putExtra("recipe_json", json);
-            intent.putExtra("cookbook_id", entry.getId());
-            startActivity(intent);
-        } else {
-            // Recipe data corrupted
-        }
+    private void openRecipe(CookbookSummary summary) {
+        findCookbookEntry(summary.getId(), entry -> {
+            if (entry != null && entry.getRecipeData() != null) {
+                Intent intent = new Intent(getContext(), RecipeActivity.class);
+                String json = com.example.plateit.utils.GsonProvider.get().toJson(entry.getRecipeData());
+                intent.putExtra("recipe_json", json);
+                intent.putExtra("cookbook_id", entry.getId());
+                startActivity(intent);
+            } else {
+                Toast.makeText(getContext(), "Couldn't load this recipe", Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
-    private void deleteRecipe(CookbookEntry entry) {
+    private void deleteRecipe(CookbookSummary entry) {
         new android.app.AlertDialog.Builder(getContext())
                 .setTitle("Delete Recipe")
                 .setMessage("Remove '" + entry.getTitle() + "' from your cookbook?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    RetrofitClient.getAgentService().deleteFromCookbook(entry.getId()).enqueue(new Callback<Void>() {
-                        @Override
-                        public void onResponse(Call<Void> call, Response<Void> response) {
-                            if (response.isSuccessful()) {
-                                fetchCookbook();
-                                fetchUserStats();
-                                fetchActiveSession();
-                                fetchHistory();
-                            }
-                        }
+                    Context appContext = requireContext().getApplicationContext();
+                    CallScope.of(this).enqueueToCompletion(
+                            RetrofitClient.getAgentService().deleteFromCookbook(entry.getId()),
+                            new Callback<Void>() {
+                                @Override
+                                public void onResponse(Call<Void> call, Response<Void> response) {
+                                    if (response.isSuccessful()) {
+                                        // Dropping the Room row updates the paged list
+                                        dbExecutor.execute(() -> DatabaseClient.getInstance(appContext).getAppDatabase()
+                                                .cookbookDao().deleteById(entry.getId()));
+                                        loadDashboard();
+                                    }
+                                }
 
-                        @Override
-                        public void onFailure(Call<Void> call, Throwable t) {
-                        }
-                    });
+                                @Override
+                                public void onFailure(Call<Void> call, Throwable t) {
+                                }
+                            });
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -485,31 +582,33 @@ public class DashboardFragment extends Fragment {
         if (userId == null)
             return;
 
-        RetrofitClient.getAgentService().getShoppingLists(userId)
-                .enqueue(new Callback<List<com.example.plateit.responses.ShoppingList>>() {
+        CallFutures.onMain(getViewLifecycleOwner(), RetrofitClient.getAgentService().getShoppingLists(userId),
+                new FutureCallback<List<com.example.plateit.responses.ShoppingList>>() {
                     @Override
-                    public void onResponse(Call<List<com.example.plateit.responses.ShoppingList>> call,
-                            Response<List<com.example.plateit.responses.ShoppingList>> response) {
-                        if (response.isSuccessful() && response.body() != null) {
-                            List<com.example.plateit.responses.ShoppingList> lists = response.body();
-                            if (lists.isEmpty()) {
-                                tvEmptyShopping.setVisibility(View.VISIBLE);
-                                rvShoppingLists.setVisibility(View.GONE);
-                            } else {
-                                tvEmptyShopping.setVisibility(View.GONE);
-                                rvShoppingLists.setVisibility(View.VISIBLE);
-                                shoppingAdapter.updateData(lists);
-                            }
+                    public void onSuccess(List<com.example.plateit.responses.ShoppingList> lists) {
+                        if (lists != null) {
+                            renderShoppingLists(lists);
                         }
                     }
 
                     @Override
-                    public void onFailure(Call<List<com.example.plateit.responses.ShoppingList>> call, Throwable t) {
+                    public void onFailure(@NonNull Throwable t) {
                         // Fail silently or log
                     }
                 });
     }
 
+    private void renderShoppingLists(List<com.example.plateit.responses.ShoppingList> lists) {
+        if (lists.isEmpty()) {
+            tvEmptyShopping.setVisibility(View.VISIBLE);
+            rvShoppingLists.setVisibility(View.GONE);
+        } else {
+            tvEmptyShopping.setVisibility(View.GONE);
+            rvShoppingLists.setVisibility(View.VISIBLE);
+            shoppingAdapter.updateData(lists);
+        }
+    }
+
     private void openShoppingList(com.example.plateit.responses.ShoppingList list) {
         StringBuilder sb = new StringBuilder();
         for (com.example.plateit.responses.ShoppingListItem item : list.getItems()) {
@@ -532,18 +631,20 @@ public class DashboardFragment extends Fragment {
                 .setTitle("Delete List")
                 .setMessage("Remove '" + list.getTitle() + "'?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    RetrofitClient.getAgentService().deleteShoppingList(list.getId()).enqueue(new Callback<Void>() {
-                        @Override
-                        public void onResponse(Call<Void> call, Response<Void> response) {
-                            if (response.isSuccessful()) {
-                                fetchShoppingLists();
-                            }
-                        }
+                    CallScope.of(this).enqueueToCompletion(
+                            RetrofitClient.getAgentService().deleteShoppingList(list.getId()),
+                            new Callback<Void>() {
+                                @Override
+                                public void onResponse(Call<Void> call, Response<Void> response) {
+                                    if (response.isSuccessful()) {
+                                        fetchShoppingLists();
+                                    }
+                                }
 
-                        @Override
-                        public void onFailure(Call<Void> call, Throwable t) {
-                        }
-                    });
+                                @Override
+                                public void onFailure(Call<Void> call, Throwable t) {
+                                }
+                            });
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -18,8 +18,8 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomsheet.BottomSheetDialog;
-import com.example.plateit.requests.VideoRequest;
 import com.example.plateit.responses.RecipeResponse;
+import com.example.plateit.api.CallScope;
 import com.example.plateit.api.RetrofitClient;
 import com.example.plateit.db.DatabaseClient;
 import com.example.plateit.db.VideoDao;
@@ -151,6 +151,8 @@ public class HomeFragment extends Fragment {
     @Override
     public void onResume() {
         super.onResume();
+        // Recommendations are about to load
+        com.example.plateit.api.ConnectionWarmer.getInstance().ping();
         updateTokenDisplay();
     }
 
@@ -212,11 +214,12 @@ public class HomeFragment extends Fragment {
     }
 
     private void refreshVideosFromNetwork(String userId, VideoAdapter adapter) {
-        RetrofitClient.getAgentService().getRecommendations(userId)
-                .enqueue(new Callback<com.example.plateit.responses.VideoRecommendationResponse>() {
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().getRecommendations(userId),
+                new Callback<com.example.plateit.responses.VideoRecommendationResponse>() {
                     @Override
                     public void onResponse(Call<com.example.plateit.responses.VideoRecommendationResponse> call,
                             Response<com.example.plateit.responses.VideoRecommendationResponse> response) {
+                        deferVideoRefresh(userId, adapter);
                         if (response.isSuccessful() && response.body() != null) {
                             List<RecipeVideo> videos = response.body().getVideos();
                             if (videos != null && !videos.isEmpty()) {
@@ -235,10 +238,17 @@ public class HomeFragment extends Fragment {
                             Throwable t) {
                         android.util.Log.e("HomeFragment", "Video Network Error: " + t.getMessage());
                         // If no cache and network fails, show error
+                        deferVideoRefresh(userId, adapter);
                     }
                 });
     }
 
+    // Offline: the Room copy stays on screen; fetch fresh recommendations once the network is back
+    private void deferVideoRefresh(String userId, VideoAdapter adapter) {
+        com.example.plateit.api.Reachability.getInstance().deferIfOffline(getViewLifecycleOwner(), "videos",
+                () -> refreshVideosFromNetwork(userId, adapter));
+    }
+
     @SuppressLint("StaticFieldLeak")
     private void syncVideoCache(List<RecipeVideo> videos) {
         new AsyncTask<Void, Void, Void>() {
@@ -382,25 +392,26 @@ public class HomeFragment extends Fragment {
         okhttp3.RequestBody reqFile = okhttp3.RequestBody.create(okhttp3.MediaType.parse("image/jpeg"), file);
         okhttp3.MultipartBody.Part body = okhttp3.MultipartBody.Part.createFormData("file", file.getName(), reqFile);
 
-        RetrofitClient.getAgentService().identifyDishFromImage(body).enqueue(new Callback<RecipeResponse>() {
-            @Override
-            public void onResponse(Call<RecipeResponse> call, Response<RecipeResponse> response) {
-                loadingDialog.dismissDialog();
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().identifyDishFromImage(body),
+                new Callback<RecipeResponse>() {
+                    @Override
+                    public void onResponse(Call<RecipeResponse> call, Response<RecipeResponse> response) {
+                        loadingDialog.dismissDialog();
 
-                if (response.isSuccessful() && response.body() != null) {
-                    showRecipePreviewDialog(response.body());
-                } else {
-                    // Identification failed
-                }
-                file.delete();
-            }
+                        if (response.isSuccessful() && response.body() != null) {
+                            showRecipePreviewDialog(response.body());
+                        } else {
+                            // Identification failed
+                        }
+                        file.delete();
+                    }
 
-            @Override
-            public void onFailure(Call<RecipeResponse> call, Throwable t) {
-                loadingDialog.dismissDialog();
-                file.delete();
-            }
-        });
+                    @Override
+                    public void onFailure(Call<RecipeResponse> call, Throwable t) {
+                        loadingDialog.dismissDialog();
+                        file.delete();
+                    }
+                });
     }
 
     private void showVideoOptionsDialog(RecipeVideo video) {
@@ -469,28 +480,50 @@ public class HomeFragment extends Fragment {
         tokenManager.useTokens(cost);
         updateTokenDisplay();
 
-        loadingDialog.startLoadingDialog("Extracting Recipe...");
+        requestNotificationPermission();
 
-        VideoRequest request = new VideoRequest(url);
-        RetrofitClient.getService().extractRecipe(request)
-                .enqueue(new Callback<RecipeResponse>() {
+        // Runs in WorkManager so the user can keep browsing; progress shows in a notification
+        // and the result shows up here if this screen is still open.
+        com.example.plateit.jobs.ExtractionJobManager jobs = com.example.plateit.jobs.ExtractionJobManager
+                .getInstance(requireContext());
+        jobs.submit(url);
+
+        jobs.observeProgress(getViewLifecycleOwner(), url,
+                new com.example.plateit.jobs.ExtractionJobManager.ProgressListener() {
                     @Override
-                    public void onResponse(Call<RecipeResponse> call, Response<RecipeResponse> response) {
-                        loadingDialog.dismissDialog();
-                        if (response.isSuccessful() && response.body() != null) {
-                            showRecipePreviewDialog(response.body());
-                        } else {
-                            // Extraction failed
+                    public void onStage(String label) {
+                        // Shown in the extraction notification, see ExtractionNotifier
+                    }
+
+                    @Override
+                    public void onSucceeded(RecipeResponse recipe) {
+                        if (isAdded()) {
+                            showRecipePreviewDialog(recipe);
                         }
                     }
 
                     @Override
-                    public void onFailure(Call<RecipeResponse> call, Throwable t) {
-                        loadingDialog.dismissDialog();
+                    public void onFailed(String error) {
+                        if (isAdded()) {
+                            Toast.makeText(getContext(), "Couldn't extract recipe: " + error, Toast.LENGTH_LONG).show();
+                        }
                     }
                 });
     }
 
+    private final androidx.activity.result.ActivityResultLauncher<String> notificationPermissionLauncher = registerForActivityResult(
+            new androidx.activity.result.contract.ActivityResultContracts.RequestPermission(), isGranted -> {
+                // Extraction works either way, the notification is just a convenience
+            });
+
+    private void requestNotificationPermission() {
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.TIRAMISU
+                && androidx.core.content.ContextCompat.checkSelfPermission(requireContext(),
+                        android.Manifest.permission.POST_NOTIFICATIONS) != android.content.pm.PackageManager.PERMISSION_GRANTED) {
+            notificationPermissionLauncher.launch(android.Manifest.permission.POST_NOTIFICATIONS);
+        }
+    }
+
     // Removing old showExtractionProgress and extractionDialog field
 
     private void showRecipePreviewDialog(RecipeResponse recipe) {
@@ -515,7 +548,7 @@ public class HomeFragment extends Fragment {
             bottomSheetDialog.dismiss();
             android.content.Intent intent = new android.content.Intent(getContext(), RecipeActivity.class);
             // Pass JSON to avoid Serializable issues
-            String json = new com.google.gson.Gson().toJson(recipe);
+            String json = com.example.plateit.utils.GsonProvider.get().toJson(recipe);
             intent.putExtra("recipe_json", json);
             startActivity(intent);
         });
@@ -524,4 +557,13 @@ public class HomeFragment extends Fragment {
 
         bottomSheetDialog.show();
     }
+
+    @Override
+    public void onDestroyView() {
+        // Calls cancelled with the view (CallScope) never reach their callbacks, which would close this
+        if (loadingDialog != null) {
+            loadingDialog.dismissDialog();
+        }
+        super.onDestroyView();
+    }
 }
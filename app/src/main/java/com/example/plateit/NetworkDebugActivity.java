@@ -0,0 +1,79 @@
+package com.example.plateit;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.plateit.api.CircuitBreaker;
+import com.example.plateit.api.NetworkMetrics;
+import com.example.plateit.api.ResilienceMonitor;
+import com.example.plateit.api.WireFormatBenchmark;
+
+import java.util.Map;
+
+/**
+ * Debug-only screen with per-endpoint latency percentiles and the retry / circuit
+ * breaker state. Opened by long-pressing the chef name on the dashboard in debug builds.
+ */
+public class NetworkDebugActivity extends AppCompatActivity {
+
+    private TextView tvReport;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_network_debug);
+        com.example.plateit.utils.AppBarHelper.setup(this, "Network Timings", true, 0, "Refresh", this::render);
+
+        tvReport = findViewById(R.id.tvNetworkReport);
+
+        findViewById(R.id.btnDumpTimings).setOnClickListener(v -> {
+            try {
+                java.io.File file = NetworkMetrics.getInstance().dumpToFile(this);
+                Toast.makeText(this, "Saved to " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+            } catch (java.io.IOException e) {
+                Toast.makeText(this, "Dump failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
+        findViewById(R.id.btnResetTimings).setOnClickListener(v -> {
+            NetworkMetrics.getInstance().reset();
+            render();
+        });
+        findViewById(R.id.btnWireBenchmark).setOnClickListener(v -> {
+            v.setEnabled(false);
+            tvReport.setText("Measuring JSON vs CBOR...");
+            String userId = new com.example.plateit.utils.SessionManager(this).getUserId();
+            WireFormatBenchmark.run(userId, report -> {
+                if (!isDestroyed()) {
+                    v.setEnabled(true);
+                    tvReport.setText(report);
+                }
+            });
+        });
+
+        ResilienceMonitor.getInstance().observeBreakers().observe(this, states -> render());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        render();
+    }
+
+    private void render() {
+        ResilienceMonitor monitor = ResilienceMonitor.getInstance();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Retries: ").append(monitor.getRetryCount())
+                .append("   Short-circuited: ").append(monitor.getShortCircuitCount()).append('\n');
+        Map<String, CircuitBreaker.State> breakers = monitor.observeBreakers().getValue();
+        if (breakers != null) {
+            for (Map.Entry<String, CircuitBreaker.State> entry : breakers.entrySet()) {
+                sb.append("Circuit ").append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+            }
+        }
+        sb.append('\n').append(NetworkMetrics.getInstance().report());
+        tvReport.setText(sb.toString());
+    }
+}
@@ -22,6 +22,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.plateit.adapters.PantryAdapter;
+import com.example.plateit.api.CallScope;
 import com.example.plateit.api.RetrofitClient;
 import com.example.plateit.db.DatabaseClient;
 import com.example.plateit.db.PantryDao;
@@ -45,6 +46,7 @@ public class PantryFragment extends Fragment {
     private RecyclerView rvPantryItems;
     private ProgressBar progressBar;
     private TextView tvEmpty;
+    private TextView tvSyncStatus;
     private PantryAdapter adapter;
     private List<PantryItem> pantryTypeList = new ArrayList<>();
     private com.example.plateit.utils.SessionManager sessionManager;
@@ -71,6 +73,7 @@ public class PantryFragment extends Fragment {
         rvPantryItems = view.findViewById(R.id.rvPantryItems);
         progressBar = view.findViewById(R.id.progressBar);
         tvEmpty = view.findViewById(R.id.tvEmpty);
+        tvSyncStatus = view.findViewById(R.id.tvSyncStatus);
         View fabAdd = view.findViewById(R.id.fabAdd);
 
         // Standardized AppBar Setup for Pantry - Using Text Action for clarity
@@ -85,6 +88,7 @@ public class PantryFragment extends Fragment {
 
         sessionManager = new com.example.plateit.utils.SessionManager(requireContext());
         loadPantryItems(false);
+        observeSyncStatus();
     }
 
     private void cookWithPantry() {
@@ -130,8 +134,8 @@ public class PantryFragment extends Fragment {
         com.example.plateit.requests.IngredientSearchRequest request = new com.example.plateit.requests.IngredientSearchRequest(
                 ingredients, 10);
 
-        RetrofitClient.getAgentService().findRecipesByIngredients(request)
-                .enqueue(new Callback<List<com.example.plateit.responses.RecipeSummary>>() {
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().findRecipesByIngredients(request),
+                new Callback<List<com.example.plateit.responses.RecipeSummary>>() {
                     @Override
                     public void onResponse(Call<List<com.example.plateit.responses.RecipeSummary>> call,
                             Response<List<com.example.plateit.responses.RecipeSummary>> response) {
@@ -171,36 +175,40 @@ public class PantryFragment extends Fragment {
             fetchFullRecipeDetails(recipe.getId());
         });
         rvResults.setAdapter(recipeAdapter);
+        // Warm details of the visible results so opening one is instant
+        com.example.plateit.api.RecipePrefetcher.getInstance().track(rvResults, position -> recipes.get(position).getId());
 
         bottomSheetDialog.show();
     }
 
     private void fetchFullRecipeDetails(int recipeId) {
-        loadingDialog.startLoadingDialog("Loading Details...");
+        com.example.plateit.api.RecipePrefetcher prefetcher = com.example.plateit.api.RecipePrefetcher.getInstance();
+        boolean prefetched = prefetcher.getCached(recipeId) != null;
+        if (!prefetched) {
+            loadingDialog.startLoadingDialog("Loading Details...");
+        }
 
-        RetrofitClient.getAgentService().getRecipeDetails(recipeId)
-                .enqueue(new Callback<com.example.plateit.responses.RecipeResponse>() {
-                    @Override
-                    public void onResponse(Call<com.example.plateit.responses.RecipeResponse> call,
-                            Response<com.example.plateit.responses.RecipeResponse> response) {
-                        loadingDialog.dismissDialog();
-                        if (response.isSuccessful() && response.body() != null) {
-                            // Navigate to RecipeActivity
-                            Intent intent = new Intent(getContext(), RecipeActivity.class);
-                            // Pass JSON
-                            String json = new com.google.gson.Gson().toJson(response.body());
-                            intent.putExtra("recipe_json", json);
-                            startActivity(intent);
-                        } else {
-                            // Failed to load details
-                        }
-                    }
+        prefetcher.load(recipeId, new com.example.plateit.api.RecipePrefetcher.Listener() {
+            @Override
+            public void onLoaded(com.example.plateit.responses.RecipeResponse recipe) {
+                if (!prefetched) {
+                    loadingDialog.dismissDialog();
+                }
+                if (getContext() == null)
+                    return;
+                // Navigate to RecipeActivity
+                Intent intent = new Intent(getContext(), RecipeActivity.class);
+                // Pass JSON
+                String json = com.example.plateit.utils.GsonProvider.get().toJson(recipe);
+                intent.putExtra("recipe_json", json);
+                startActivity(intent);
+            }
 
-                    @Override
-                    public void onFailure(Call<com.example.plateit.responses.RecipeResponse> call, Throwable t) {
-                        loadingDialog.dismissDialog();
-                    }
-                });
+            @Override
+            public void onFailed() {
+                loadingDialog.dismissDialog();
+            }
+        });
     }
 
     // Internal Adapter Class for Recipe Results
@@ -318,8 +326,8 @@ public class PantryFragment extends Fragment {
     private void fetchImageAndSave(String name, String amount) {
         loadingDialog.startLoadingDialog("Fetching Image...");
 
-        RetrofitClient.getAgentService().getIngredientImage(name)
-                .enqueue(new Callback<com.example.plateit.responses.IngredientImageResponse>() {
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().getIngredientImage(name),
+                new Callback<com.example.plateit.responses.IngredientImageResponse>() {
                     @Override
                     public void onResponse(Call<com.example.plateit.responses.IngredientImageResponse> call,
                             Response<com.example.plateit.responses.IngredientImageResponse> response) {
@@ -420,30 +428,31 @@ public class PantryFragment extends Fragment {
                     reqFile);
 
             // 3. Upload
-            RetrofitClient.getAgentService().scanPantryImage(body).enqueue(new Callback<PantryScanResponse>() {
-                @Override
-                public void onResponse(Call<PantryScanResponse> call, Response<PantryScanResponse> response) {
-                    loadingDialog.dismissDialog();
-                    if (response.isSuccessful() && response.body() != null) {
-                        List<PantryScanResponse.PantryItem> scannedItems = response.body().getItems();
-                        if (scannedItems != null && !scannedItems.isEmpty()) {
-                            saveBatchItems(scannedItems);
-                        } else {
-                            // No items found
+            CallScope.of(this).enqueue(RetrofitClient.getAgentService().scanPantryImage(body),
+                    new Callback<PantryScanResponse>() {
+                        @Override
+                        public void onResponse(Call<PantryScanResponse> call, Response<PantryScanResponse> response) {
+                            loadingDialog.dismissDialog();
+                            if (response.isSuccessful() && response.body() != null) {
+                                List<PantryScanResponse.PantryItem> scannedItems = response.body().getItems();
+                                if (scannedItems != null && !scannedItems.isEmpty()) {
+                                    saveBatchItems(scannedItems);
+                                } else {
+                                    // No items found
+                                }
+                            } else {
+                                // Failed to scan
+                            }
+                            // Optimize: Delete temp file
+                            file.delete();
                         }
-                    } else {
-                        // Failed to scan
-                    }
-                    // Optimize: Delete temp file
-                    file.delete();
-                }
 
-                @Override
-                public void onFailure(Call<PantryScanResponse> call, Throwable t) {
-                    loadingDialog.dismissDialog();
-                    file.delete();
-                }
-            });
+                        @Override
+                        public void onFailure(Call<PantryScanResponse> call, Throwable t) {
+                            loadingDialog.dismissDialog();
+                            file.delete();
+                        }
+                    });
 
         } catch (Exception e) {
             loadingDialog.dismissDialog();
@@ -460,25 +469,15 @@ public class PantryFragment extends Fragment {
         com.example.plateit.requests.PantryItemCreateRequest request = new com.example.plateit.requests.PantryItemCreateRequest(
                 userId, name, amount, imageUrl);
 
-        progressBar.setVisibility(View.VISIBLE);
-        RetrofitClient.getAgentService().addPantryItem(request).enqueue(new Callback<PantryItem>() {
-            @Override
-            public void onResponse(Call<PantryItem> call, Response<PantryItem> response) {
-                progressBar.setVisibility(View.GONE);
-                if (response.isSuccessful()) {
-                    // Reset fetch timer to force a fresh pull
-                    sessionManager.setLastPantryFetchTime(0);
-                    loadPantryItems(true);
-                } else {
-                    // Failed to add item
-                }
-            }
-
-            @Override
-            public void onFailure(Call<PantryItem> call, Throwable t) {
-                progressBar.setVisibility(View.GONE);
-            }
-        });
+        // Show it right away; the outbox syncs it when there is a connection
+        PantryItem local = com.example.plateit.sync.MutationOutbox.getInstance(requireContext())
+                .addPantryItem(request, name, amount, imageUrl);
+        List<PantryItem> merged = new ArrayList<>();
+        merged.add(local);
+        merged.addAll(pantryTypeList);
+        pantryTypeList = merged;
+        adapter.updateList(pantryTypeList);
+        tvEmpty.setVisibility(View.GONE);
     }
 
     private void saveBatchItems(List<PantryScanResponse.PantryItem> scannedItems) {
@@ -486,45 +485,89 @@ public class PantryFragment extends Fragment {
         if (userId == null)
             return;
 
-        java.util.concurrent.atomic.AtomicInteger counter = new java.util.concurrent.atomic.AtomicInteger(
-                scannedItems.size());
-
+        List<com.example.plateit.requests.PantryItemCreateRequest> requests = new ArrayList<>();
         for (PantryScanResponse.PantryItem sItem : scannedItems) {
-            com.example.plateit.requests.PantryItemCreateRequest request = new com.example.plateit.requests.PantryItemCreateRequest(
-                    userId, sItem.getName(), sItem.getAmount(), sItem.getImageUrl());
-            RetrofitClient.getAgentService().addPantryItem(request).enqueue(new Callback<PantryItem>() {
-                @Override
-                public void onResponse(Call<PantryItem> call, Response<PantryItem> response) {
-                    if (counter.decrementAndGet() == 0) {
-                        sessionManager.setLastPantryFetchTime(0); // Force refresh
-                        loadPantryItems(true);
+            requests.add(new com.example.plateit.requests.PantryItemCreateRequest(
+                    userId, sItem.getName(), sItem.getAmount(), sItem.getImageUrl()));
+        }
+
+        // One round trip for the whole scan; merge the created rows locally instead of refetching
+        progressBar.setVisibility(View.VISIBLE);
+        CallScope.of(this).enqueueToCompletion(RetrofitClient.getAgentService().addPantryItemsBatch(requests),
+                new Callback<List<PantryItem>>() {
+                    @Override
+                    public void onResponse(Call<List<PantryItem>> call, Response<List<PantryItem>> response) {
+                        progressBar.setVisibility(View.GONE);
+                        if (response.isSuccessful() && response.body() != null) {
+                            mergeCreatedItems(response.body());
+                        } else {
+                            loadPantryItems(true);
+                            showBatchFailed(scannedItems);
+                        }
                     }
-                }
 
-                @Override
-                public void onFailure(Call<PantryItem> call, Throwable t) {
-                    if (counter.decrementAndGet() == 0) {
-                        loadPantryItems(true);
+                    @Override
+                    public void onFailure(Call<List<PantryItem>> call, Throwable t) {
+                        progressBar.setVisibility(View.GONE);
+                        showBatchFailed(scannedItems);
                     }
-                }
-            });
+                });
+    }
+
+    // The scanned items only exist in memory, so don't drop them without telling the user
+    private void showBatchFailed(List<PantryScanResponse.PantryItem> scannedItems) {
+        if (!isAdded()) {
+            return;
         }
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Couldn't add scanned items")
+                .setMessage(scannedItems.size() + " items from your scan weren't saved.")
+                .setPositiveButton("Retry", (dialog, which) -> saveBatchItems(scannedItems))
+                .setNegativeButton("Discard", null)
+                .show();
     }
 
-    private void deleteItem(PantryItem item) {
-        RetrofitClient.getAgentService().deletePantryItem(item.id).enqueue(new Callback<Void>() {
+    private void mergeCreatedItems(List<PantryItem> created) {
+        parseDates(created);
+
+        List<PantryItem> merged = new ArrayList<>(created);
+        merged.addAll(pantryTypeList);
+        pantryTypeList = merged;
+        adapter.updateList(pantryTypeList);
+        tvEmpty.setVisibility(pantryTypeList.isEmpty() ? View.VISIBLE : View.GONE);
+
+        android.content.Context appContext = requireContext().getApplicationContext();
+        new AsyncTask<Void, Void, Void>() {
             @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    sessionManager.setLastPantryFetchTime(0); // Force refresh
-                    loadPantryItems(true);
-                }
+            protected Void doInBackground(Void... voids) {
+                DatabaseClient.getInstance(appContext).getAppDatabase().pantryDao().upsertAll(created);
+                return null;
             }
+        }.execute();
+    }
 
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
+    private static void parseDates(List<PantryItem> items) {
+        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss",
+                java.util.Locale.getDefault());
+        for (PantryItem item : items) {
+            try {
+                if (item.start_date != null) {
+                    item.dateAdded = sdf.parse(item.start_date).getTime();
+                }
+            } catch (Exception e) {
+                item.dateAdded = System.currentTimeMillis();
             }
-        });
+        }
+    }
+
+    private void deleteItem(PantryItem item) {
+        List<PantryItem> remaining = new ArrayList<>(pantryTypeList);
+        remaining.remove(item);
+        pantryTypeList = remaining;
+        adapter.updateList(pantryTypeList);
+        tvEmpty.setVisibility(pantryTypeList.isEmpty() ? View.VISIBLE : View.GONE);
+
+        com.example.plateit.sync.MutationOutbox.getInstance(requireContext()).deletePantryItem(item);
     }
 
     private void loadPantryItems(boolean forceRefresh) {
@@ -573,59 +616,136 @@ public class PantryFragment extends Fragment {
         }.execute();
     }
 
+    private static String pantryCursorKey(String userId) {
+        return "pantry:" + userId;
+    }
+
     private void fetchPantryFromNetwork(String userId) {
         progressBar.setVisibility(View.VISIBLE);
-        RetrofitClient.getAgentService().getPantryItems(userId).enqueue(new Callback<List<PantryItem>>() {
+        android.content.Context appContext = requireContext().getApplicationContext();
+        new AsyncTask<Void, Void, Long>() {
             @Override
-            public void onResponse(Call<List<PantryItem>> call, Response<List<PantryItem>> response) {
-                progressBar.setVisibility(View.GONE);
-                if (response.isSuccessful() && response.body() != null) {
-                    List<PantryItem> freshItems = response.body();
-
-                    // Parse dates and update local list
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss",
-                            java.util.Locale.getDefault());
-                    for (PantryItem item : freshItems) {
-                        try {
-                            if (item.start_date != null) {
-                                item.dateAdded = sdf.parse(item.start_date).getTime();
-                            }
-                        } catch (Exception e) {
-                            item.dateAdded = System.currentTimeMillis();
+            protected Long doInBackground(Void... voids) {
+                return DatabaseClient.getInstance(appContext).getAppDatabase().syncCursorDao()
+                        .get(pantryCursorKey(userId));
+            }
+
+            @Override
+            protected void onPostExecute(Long since) {
+                fetchPantryChanges(userId, since);
+            }
+        }.execute();
+    }
+
+    private void fetchPantryChanges(String userId, long since) {
+        CallScope.of(this).enqueue(RetrofitClient.getAgentService().getPantryChanges(userId, since),
+                new Callback<com.example.plateit.responses.PantryChanges>() {
+                    @Override
+                    public void onResponse(Call<com.example.plateit.responses.PantryChanges> call,
+                            Response<com.example.plateit.responses.PantryChanges> response) {
+                        if (getContext() == null)
+                            return;
+                        progressBar.setVisibility(View.GONE);
+                        deferPantryRefresh(userId);
+                        if (response.isSuccessful() && response.body() != null) {
+                            // 3. Apply to Local Database, then refresh the UI from it
+                            applyPantryChanges(userId, response.body());
+
+                            // 4. Update last fetch time
+                            sessionManager.setLastPantryFetchTime(System.currentTimeMillis());
                         }
                     }
 
-                    // 3. Update UI
-                    pantryTypeList = freshItems;
-                    adapter.updateList(pantryTypeList);
-                    tvEmpty.setVisibility(pantryTypeList.isEmpty() ? View.VISIBLE : View.GONE);
+                    @Override
+                    public void onFailure(Call<com.example.plateit.responses.PantryChanges> call, Throwable t) {
+                        if (getContext() == null)
+                            return;
+                        progressBar.setVisibility(View.GONE);
+                        // If network fails, we already show the cached items (if any)
+                        android.util.Log.e("PantryFragment", "Network fetch failed, showing cached data: " + t.getMessage());
+                        deferPantryRefresh(userId);
+                    }
+                });
+    }
 
-                    // 4. Update Local Database (Sync)
-                    syncLocalDatabase(freshItems);
+    // Offline (failed fast or answered from the HTTP cache): sync again once the network is back
+    private void deferPantryRefresh(String userId) {
+        com.example.plateit.api.Reachability.getInstance().deferIfOffline(getViewLifecycleOwner(), "pantry",
+                () -> fetchPantryFromNetwork(userId));
+    }
 
-                    // 5. Update last fetch time
-                    sessionManager.setLastPantryFetchTime(System.currentTimeMillis());
-                }
-            }
+    private void applyPantryChanges(String userId, com.example.plateit.responses.PantryChanges changes) {
+        List<PantryItem> upserts = changes.getUpserts() != null ? changes.getUpserts() : new ArrayList<>();
+        List<Integer> deleted = changes.getDeleted() != null ? changes.getDeleted() : new ArrayList<>();
+        parseDates(upserts);
 
+        android.content.Context appContext = requireContext().getApplicationContext();
+        new AsyncTask<Void, Void, List<PantryItem>>() {
             @Override
-            public void onFailure(Call<List<PantryItem>> call, Throwable t) {
-                progressBar.setVisibility(View.GONE);
-                // If network fails, we already show the cached items (if any)
-                android.util.Log.e("PantryFragment", "Network fetch failed, showing cached data: " + t.getMessage());
+            protected List<PantryItem> doInBackground(Void... voids) {
+                com.example.plateit.db.AppDatabase db = DatabaseClient.getInstance(appContext).getAppDatabase();
+                PantryDao dao = db.pantryDao();
+                // Rows, tombstones and the cursor move together or not at all
+                db.runInTransaction(() -> {
+                    // Hide rows with a delete still queued in the outbox
+                    List<String> pendingDeletes = db.outboxDao()
+                            .getEntityKeys(com.example.plateit.db.OutboxEntry.TYPE_PANTRY_DELETE);
+                    List<PantryItem> visible = new ArrayList<>();
+                    for (PantryItem item : upserts) {
+                        if (!pendingDeletes.contains(com.example.plateit.sync.MutationOutbox.pantryKey(item.id))) {
+                            visible.add(item);
+                        }
+                    }
+                    if (changes.isFull()) {
+                        // Keeps local-only rows (negative ids)
+                        dao.deleteSynced();
+                    } else if (!deleted.isEmpty()) {
+                        dao.deleteByIds(deleted);
+                    }
+                    dao.upsertAll(visible);
+                    db.syncCursorDao().put(new com.example.plateit.db.SyncCursor(pantryCursorKey(userId),
+                            changes.getCursor()));
+                });
+                android.util.Log.d("PantryFragment", "Pantry sync: " + upserts.size() + " upserts, "
+                        + deleted.size() + " deletes (full=" + changes.isFull() + ")");
+                return dao.getAll();
             }
-        });
-    }
 
-    private void syncLocalDatabase(List<PantryItem> freshItems) {
-        new AsyncTask<Void, Void, Void>() {
             @Override
-            protected Void doInBackground(Void... voids) {
-                PantryDao dao = DatabaseClient.getInstance(getContext()).getAppDatabase().pantryDao();
-                dao.deleteAll();
-                dao.insertAll(freshItems.toArray(new PantryItem[0]));
-                return null;
+            protected void onPostExecute(List<PantryItem> items) {
+                if (getContext() == null)
+                    return;
+                pantryTypeList = items;
+                adapter.updateList(pantryTypeList);
+                tvEmpty.setVisibility(pantryTypeList.isEmpty() ? View.VISIBLE : View.GONE);
             }
         }.execute();
     }
+
+    private void observeSyncStatus() {
+        com.example.plateit.sync.MutationOutbox.getInstance(requireContext()).observePendingCount()
+                .observe(getViewLifecycleOwner(), count -> {
+                    int pending = count != null ? count : 0;
+                    if (pending > 0) {
+                        tvSyncStatus.setText(pending == 1 ? "1 change waiting to sync"
+                                : pending + " changes waiting to sync");
+                        tvSyncStatus.setVisibility(View.VISIBLE);
+                    } else {
+                        if (tvSyncStatus.getVisibility() == View.VISIBLE) {
+                            // Outbox just drained: temp rows were swapped for server rows
+                            loadPantryItems(true);
+                        }
+                        tvSyncStatus.setVisibility(View.GONE);
+                    }
+                });
+    }
+
+    @Override
+    public void onDestroyView() {
+        // Calls cancelled with the view (CallScope) never reach their callbacks, which would close this
+        if (loadingDialog != null) {
+            loadingDialog.dismissDialog();
+        }
+        super.onDestroyView();
+    }
 }
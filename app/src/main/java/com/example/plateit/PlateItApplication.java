@@ -8,6 +8,18 @@ public class PlateItApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        // Shared OkHttp client needs a context for its disk cache
+        com.example.plateit.api.RetrofitClient.init(this);
+        // Requests fail fast while there is no validated network
+        com.example.plateit.api.Reachability.getInstance().init(this);
+        // Thumbnails load at background priority, behind chat and scans
+        com.squareup.picasso.Picasso.setSingletonInstance(new com.squareup.picasso.Picasso.Builder(this)
+                .downloader(new com.squareup.picasso.OkHttp3Downloader(
+                        com.example.plateit.api.RetrofitClient.getImageClient()))
+                .build());
+        // Resolve and connect to the backend (and wake it) before the first screen needs it
+        com.example.plateit.api.ConnectionWarmer.getInstance().ping();
+
         // Initialize RevenueCat
         // TODO: Replace with actual API Key from RevenueCat Dashboard
         Purchases.setLogLevel(com.revenuecat.purchases.LogLevel.DEBUG);
@@ -31,7 +31,7 @@ public class RecipeActivity extends AppCompatActivity {
         try {
             String json = getIntent().getStringExtra("recipe_json");
             if (json != null) {
-                recipe = new com.google.gson.Gson().fromJson(json, com.example.plateit.responses.RecipeResponse.class);
+                recipe = com.example.plateit.utils.GsonProvider.get().fromJson(json, com.example.plateit.responses.RecipeResponse.class);
             }
         } catch (Exception e) {
             android.util.Log.e("PlateIt", "RecipeActivity: JSON Parse Error", e);
@@ -71,7 +71,11 @@ public class RecipeActivity extends AppCompatActivity {
                     finalRecipe.getSourceUrl(),
                     finalRecipe.getSourceImage());
 
-            com.example.plateit.api.RetrofitClient.getAgentService().addToCookbook(request)
+            // One key for this save: the outbox replays under it if the first response is lost
+            String idempotencyKey = java.util.UUID.randomUUID().toString();
+
+            // Not bound to the screen: the offline fallback below must run even after it closes
+            com.example.plateit.api.RetrofitClient.getAgentService().saveToCookbook(request, idempotencyKey)
                     .enqueue(new retrofit2.Callback<com.example.plateit.responses.CookbookEntry>() {
                         @Override
                         public void onResponse(retrofit2.Call<com.example.plateit.responses.CookbookEntry> call,
@@ -80,6 +84,7 @@ public class RecipeActivity extends AppCompatActivity {
                                 cookbookId[0] = response.body().getId();
                                 btnSave.setText("Saved!");
                                 android.util.Log.d("PlateIt", "Recipe saved successfully. ID: " + cookbookId[0]);
+                            } else {
                                 android.util.Log.e("PlateIt",
                                         "Save failed: " + response.code() + " " + response.message());
                                 btnSave.setEnabled(true);
@@ -91,8 +96,15 @@ public class RecipeActivity extends AppCompatActivity {
                         public void onFailure(retrofit2.Call<com.example.plateit.responses.CookbookEntry> call,
                                 Throwable t) {
                             android.util.Log.e("PlateIt", "Save Error: " + t.getMessage(), t);
-                            btnSave.setEnabled(true);
-                            btnSave.setText("Save to My Cookbook");
+                            if (t instanceof java.io.IOException) {
+                                // Offline: keep it in the outbox and sync later
+                                com.example.plateit.sync.MutationOutbox.getInstance(RecipeActivity.this)
+                                        .addToCookbook(request, idempotencyKey);
+                                btnSave.setText("Saved!");
+                            } else {
+                                btnSave.setEnabled(true);
+                                btnSave.setText("Save to My Cookbook");
+                            }
                         }
                     });
         });
@@ -111,7 +123,7 @@ public class RecipeActivity extends AppCompatActivity {
                         finalRecipe.getTotalTime());
 
                 // Pass as JSON
-                String jsonModel = new com.google.gson.Gson().toJson(recipeModel);
+                String jsonModel = com.example.plateit.utils.GsonProvider.get().toJson(recipeModel);
                 intent.putExtra("recipe_json", jsonModel);
 
                 // Pass cookbook ID for session tracking
@@ -211,8 +223,9 @@ public class RecipeActivity extends AppCompatActivity {
         if (userId == null)
             return;
 
-        com.example.plateit.api.RetrofitClient.getAgentService().getPantryItems(userId)
-                .enqueue(new retrofit2.Callback<java.util.List<com.example.plateit.db.PantryItem>>() {
+        com.example.plateit.api.CallScope.of(this).enqueue(
+                com.example.plateit.api.RetrofitClient.getAgentService().getPantryItems(userId),
+                new retrofit2.Callback<java.util.List<com.example.plateit.db.PantryItem>>() {
                     @Override
                     public void onResponse(retrofit2.Call<java.util.List<com.example.plateit.db.PantryItem>> call,
                             retrofit2.Response<java.util.List<com.example.plateit.db.PantryItem>> response) {
@@ -256,8 +269,9 @@ public class RecipeActivity extends AppCompatActivity {
         requestBody.put("recipe_name", recipe.getName());
         requestBody.put("ingredients", recipe.getIngredients());
 
-        com.example.plateit.api.RetrofitClient.getAgentService().createShoppingListFromRecipe(requestBody)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.ShoppingListFromRecipeResponse>() {
+        com.example.plateit.api.CallScope.of(this).enqueueToCompletion(
+                com.example.plateit.api.RetrofitClient.getAgentService().createShoppingListFromRecipe(requestBody),
+                new retrofit2.Callback<com.example.plateit.responses.ShoppingListFromRecipeResponse>() {
                     @Override
                     public void onResponse(
                             retrofit2.Call<com.example.plateit.responses.ShoppingListFromRecipeResponse> call,
@@ -311,20 +325,7 @@ public class RecipeActivity extends AppCompatActivity {
                 currentShoppingList.getTitle(),
                 currentShoppingList.getItems());
 
-        com.example.plateit.api.RetrofitClient.getAgentService().updateShoppingList(currentShoppingList.getId(), update)
-                .enqueue(new retrofit2.Callback<com.example.plateit.responses.ShoppingList>() {
-                    @Override
-                    public void onResponse(retrofit2.Call<com.example.plateit.responses.ShoppingList> call,
-                            retrofit2.Response<com.example.plateit.responses.ShoppingList> response) {
-                        if (response.isSuccessful()) {
-                            // Shopping list updated successfully
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(retrofit2.Call<com.example.plateit.responses.ShoppingList> call,
-                            Throwable t) {
-                    }
-                });
+        com.example.plateit.sync.MutationOutbox.getInstance(this)
+                .updateShoppingList(currentShoppingList.getId(), update);
     }
 }
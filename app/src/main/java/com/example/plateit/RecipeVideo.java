@@ -1,27 +1,33 @@
 package com.example.plateit;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class RecipeVideo {
     @SerializedName("title")
-    private String title;
+    String title;
 
     @SerializedName("link")
-    private String link;
+    String link;
 
     @SerializedName("thumbnail")
-    private String thumbnail;
+    String thumbnail;
 
     @SerializedName("channel")
-    private String channel;
+    String channel;
 
     @SerializedName("views")
-    private String views;
+    String views;
 
     @SerializedName("length")
-    private String length;
+    String length;
 
     // Constructor
+    // Used by the generated JSON adapter
+    RecipeVideo() {
+    }
+
     public RecipeVideo(String title, String link, String thumbnail, String channel, String views, String length) {
         this.title = title;
         this.link = link;
@@ -58,7 +58,8 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             ((UserViewHolder) holder).bind(message);
         } else {
             AIViewHolder aiHolder = (AIViewHolder) holder;
-            boolean shouldAnimate = !message.isUser() && !animatedPositions.contains(position);
+            boolean shouldAnimate = !message.isUser() && !message.isStreamed()
+                    && !animatedPositions.contains(position);
             aiHolder.bind(message, shouldAnimate);
             if (shouldAnimate) {
                 animatedPositions.add(position);
@@ -130,6 +131,9 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
                 rvRecipeList.setAdapter(new RecipeCardAdapter(message.getRecipeData().getItems(), recipe -> {
                     showRecipePreviewSheet(itemView.getContext(), recipe);
                 }));
+                List<com.example.plateit.responses.ChatResponse.RecipeCard> cards = message.getRecipeData().getItems();
+                com.example.plateit.api.RecipePrefetcher.getInstance().track(rvRecipeList,
+                        position -> cards.get(position).getId());
 
             } else if ("ingredient_list".equals(type) && message.getIngredientData() != null) {
                 rvIngredientList.setVisibility(View.VISIBLE);
@@ -229,33 +233,35 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         }
 
         private void extractAndStartRecipe(android.content.Context context, String url) {
+            // Runs as a background job; opens the recipe if the chat is still open,
+            // otherwise a notification does
+            if (context instanceof android.app.Activity) {
+                com.example.plateit.jobs.ExtractionNotifier.requestPermissionIfNeeded((android.app.Activity) context);
+            }
+            com.example.plateit.jobs.ExtractionJobManager jobs = com.example.plateit.jobs.ExtractionJobManager
+                    .getInstance(context);
+            jobs.submit(url);
+            if (!(context instanceof androidx.lifecycle.LifecycleOwner)) {
+                return;
+            }
+            jobs.observeProgress((androidx.lifecycle.LifecycleOwner) context, url,
+                    new com.example.plateit.jobs.ExtractionJobManager.ProgressListener() {
+                        @Override
+                        public void onStage(String label) {
+                            // Shown in the extraction notification, see ExtractionNotifier
+                        }
 
-            com.example.plateit.requests.VideoRequest req = new com.example.plateit.requests.VideoRequest(url);
-            com.example.plateit.api.RetrofitClient.getService().extractRecipe(req)
-                    .enqueue(new retrofit2.Callback<com.example.plateit.responses.RecipeResponse>() {
                         @Override
-                        public void onResponse(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                                retrofit2.Response<com.example.plateit.responses.RecipeResponse> response) {
-                            if (response.isSuccessful() && response.body() != null) {
-                                // Once extracted, we can either show another preview or jump directly.
-                                // User said "Start Cooking" so let's jump if valid.
-                                com.example.plateit.responses.RecipeResponse resp = response.body();
-                                com.example.plateit.models.Recipe recipe = new com.example.plateit.models.Recipe(
-                                        resp.getName(), resp.getSteps(), resp.getIngredients(), resp.getSourceUrl(),
-                                        resp.getSourceImage());
-
-                                Intent intent = new Intent(context, com.example.plateit.RecipeActivity.class);
-                                String json = new com.google.gson.Gson().toJson(resp);
-                                intent.putExtra("recipe_json", json);
-                                context.startActivity(intent);
-                            } else {
-                                // Extraction failed
-                            }
+                        public void onSucceeded(com.example.plateit.responses.RecipeResponse recipe) {
+                            Intent intent = new Intent(context, com.example.plateit.RecipeActivity.class);
+                            intent.putExtra("recipe_json", com.example.plateit.utils.GsonProvider.get().toJson(recipe));
+                            context.startActivity(intent);
                         }
 
                         @Override
-                        public void onFailure(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                                Throwable t) {
+                        public void onFailed(String error) {
+                            android.widget.Toast.makeText(context, "Couldn't extract recipe: " + error,
+                                    android.widget.Toast.LENGTH_LONG).show();
                         }
                     });
         }
@@ -311,28 +317,20 @@ public class ChatAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
         private void fetchAndStartRecipe(android.content.Context context, int recipeId) {
 
-            com.example.plateit.api.RetrofitClient.getAgentService().getRecipeDetails(recipeId)
-                    .enqueue(new retrofit2.Callback<com.example.plateit.responses.RecipeResponse>() {
+            com.example.plateit.api.RecipePrefetcher.getInstance().load(recipeId,
+                    new com.example.plateit.api.RecipePrefetcher.Listener() {
                         @Override
-                        public void onResponse(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                                retrofit2.Response<com.example.plateit.responses.RecipeResponse> response) {
-                            if (response.isSuccessful() && response.body() != null) {
-                                com.example.plateit.responses.RecipeResponse recipeResp = response.body();
-
-                                // Start RecipeActivity instead of CookingModeActivity directly
-                                android.content.Intent intent = new android.content.Intent(context,
-                                        com.example.plateit.RecipeActivity.class);
-                                String json = new com.google.gson.Gson().toJson(recipeResp);
-                                intent.putExtra("recipe_json", json);
-                                context.startActivity(intent);
-                            } else {
-                                // Load failed
-                            }
+                        public void onLoaded(com.example.plateit.responses.RecipeResponse recipeResp) {
+                            // Start RecipeActivity instead of CookingModeActivity directly
+                            android.content.Intent intent = new android.content.Intent(context,
+                                    com.example.plateit.RecipeActivity.class);
+                            String json = com.example.plateit.utils.GsonProvider.get().toJson(recipeResp);
+                            intent.putExtra("recipe_json", json);
+                            context.startActivity(intent);
                         }
 
                         @Override
-                        public void onFailure(retrofit2.Call<com.example.plateit.responses.RecipeResponse> call,
-                                Throwable t) {
+                        public void onFailed() {
                         }
                     });
         }
@@ -6,29 +6,43 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.plateit.R;
-import com.example.plateit.responses.CookbookEntry;
+import com.example.plateit.responses.CookbookSummary;
 import com.squareup.picasso.Picasso;
-import java.util.List;
 
-public class CookbookAdapter extends RecyclerView.Adapter<CookbookAdapter.ViewHolder> {
+/** Paged cookbook cards; pages come from CookbookRemoteMediator via Room. */
+public class CookbookAdapter extends PagingDataAdapter<CookbookSummary, CookbookAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<CookbookSummary> DIFF = new DiffUtil.ItemCallback<CookbookSummary>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CookbookSummary a, @NonNull CookbookSummary b) {
+            return a.getId() == b.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CookbookSummary a, @NonNull CookbookSummary b) {
+            return java.util.Objects.equals(a.getTitle(), b.getTitle())
+                    && java.util.Objects.equals(a.getThumbnailUrl(), b.getThumbnailUrl())
+                    && a.getStepCount() == b.getStepCount();
+        }
+    };
 
-    private List<CookbookEntry> recipes;
     private OnRecipeClickListener listener;
     private OnRecipeDeleteListener deleteListener;
 
     public interface OnRecipeClickListener {
-        void onRecipeClick(CookbookEntry recipe);
+        void onRecipeClick(CookbookSummary recipe);
     }
 
     public interface OnRecipeDeleteListener {
-        void onRecipeDelete(CookbookEntry recipe);
+        void onRecipeDelete(CookbookSummary recipe);
     }
 
-    public CookbookAdapter(List<CookbookEntry> recipes, OnRecipeClickListener listener,
-            OnRecipeDeleteListener deleteListener) {
-        this.recipes = recipes;
+    public CookbookAdapter(OnRecipeClickListener listener, OnRecipeDeleteListener deleteListener) {
+        super(DIFF);
         this.listener = listener;
         this.deleteListener = deleteListener;
     }
@@ -42,9 +56,12 @@ public class CookbookAdapter extends RecyclerView.Adapter<CookbookAdapter.ViewHo
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        CookbookEntry recipe = recipes.get(position);
+        CookbookSummary recipe = getItem(position);
+        if (recipe == null) {
+            return;
+        }
         holder.title.setText(recipe.getTitle());
-        holder.subtitle.setText("Saved Recipe"); // Or time if available
+        holder.subtitle.setText(recipe.getStepCount() > 0 ? recipe.getStepCount() + " Steps" : "Saved Recipe");
 
         if (recipe.getThumbnailUrl() != null && !recipe.getThumbnailUrl().isEmpty()) {
             Picasso.get().load(recipe.getThumbnailUrl())
@@ -67,16 +84,6 @@ public class CookbookAdapter extends RecyclerView.Adapter<CookbookAdapter.ViewHo
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return recipes.size();
-    }
-
-    public void updateData(List<CookbookEntry> newRecipes) {
-        this.recipes = newRecipes;
-        notifyDataSetChanged();
-    }
-
     public static class ViewHolder extends RecyclerView.ViewHolder {
         TextView title, subtitle, channel;
         ImageView thumbnail;
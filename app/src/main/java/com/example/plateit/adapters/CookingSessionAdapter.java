@@ -10,40 +10,38 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.plateit.R;
-import com.example.plateit.responses.CookbookEntry;
 import com.example.plateit.responses.CookingSession;
 
-import java.util.List;
-
-public class CookingSessionAdapter extends RecyclerView.Adapter<CookingSessionAdapter.ViewHolder> {
+/** Paged cooking history; titles come with each page, so no cookbook list is needed here. */
+public class CookingSessionAdapter extends PagingDataAdapter<CookingSession, CookingSessionAdapter.ViewHolder> {
 
     public interface OnResumeClickListener {
-        void onResume(CookingSession session, CookbookEntry matchedEntry);
+        void onResume(CookingSession session);
     }
 
-    private List<CookingSession> sessions;
-    private List<CookbookEntry> cookbook;
-    private OnResumeClickListener resumeListener;
+    private static final DiffUtil.ItemCallback<CookingSession> DIFF = new DiffUtil.ItemCallback<CookingSession>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CookingSession a, @NonNull CookingSession b) {
+            return a.getId() == b.getId();
+        }
 
-    public CookingSessionAdapter(List<CookingSession> sessions, List<CookbookEntry> cookbook,
-            OnResumeClickListener listener) {
-        this.sessions = sessions;
-        this.cookbook = cookbook;
-        this.resumeListener = listener;
-    }
+        @Override
+        public boolean areContentsTheSame(@NonNull CookingSession a, @NonNull CookingSession b) {
+            return a.getCurrentStepIndex() == b.getCurrentStepIndex() && a.isFinished() == b.isFinished()
+                    && java.util.Objects.equals(a.getRecipeTitle(), b.getRecipeTitle());
+        }
+    };
 
-    public void updateData(List<CookingSession> sessions, List<CookbookEntry> cookbook) {
-        this.sessions = sessions;
-        this.cookbook = cookbook;
-        notifyDataSetChanged();
-    }
+    private OnResumeClickListener resumeListener;
 
-    public void updateCookbook(List<CookbookEntry> cookbook) {
-        this.cookbook = cookbook;
-        notifyDataSetChanged();
+    public CookingSessionAdapter(OnResumeClickListener listener) {
+        super(DIFF);
+        this.resumeListener = listener;
     }
 
     @NonNull
@@ -55,22 +53,14 @@ public class CookingSessionAdapter extends RecyclerView.Adapter<CookingSessionAd
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        CookingSession session = sessions.get(position);
-
-        // Find matching cookbook entry
-        CookbookEntry match = null;
-        if (session.getCookbookId() != null) {
-            for (CookbookEntry entry : cookbook) {
-                if (entry.getId() == session.getCookbookId()) {
-                    match = entry;
-                    break;
-                }
-            }
+        CookingSession session = getItem(position);
+        if (session == null) {
+            return;
         }
 
         // Set title
-        if (match != null) {
-            holder.tvTitle.setText(match.getTitle());
+        if (session.getRecipeTitle() != null) {
+            holder.tvTitle.setText(session.getRecipeTitle());
         } else {
             holder.tvTitle.setText("Session #" + session.getId());
         }
@@ -100,10 +90,9 @@ public class CookingSessionAdapter extends RecyclerView.Adapter<CookingSessionAd
                 holder.cardRoot.setOutlineAmbientShadowColor(0xFFFF9800);
             }
 
-            final CookbookEntry finalMatch = match;
             View.OnClickListener resumeClick = v -> {
-                if (resumeListener != null && finalMatch != null) {
-                    resumeListener.onResume(session, finalMatch);
+                if (resumeListener != null && session.getCookbookId() != null) {
+                    resumeListener.onResume(session);
                 }
             };
 
@@ -112,11 +101,6 @@ public class CookingSessionAdapter extends RecyclerView.Adapter<CookingSessionAd
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return sessions.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         CardView cardRoot;
         ImageView ivStatus;
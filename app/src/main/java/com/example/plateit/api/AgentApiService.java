@@ -6,121 +6,355 @@ import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.POST;
 
+/**
+ * GET endpoints carry a {@link CachePolicy}; mutable per-user data uses the default
+ * (always revalidate with If-None-Match) so a refresh after a write is never stale.
+ * Every method also declares its {@link LatencyClass} so CRUD calls fail fast, and its
+ * {@link PriorityClass} so background refreshes queue separately from what the user waits on.
+ * Large request bodies (chat, cookbook entries with the full recipe) opt into
+ * gzip with {@link CompressRequest}; the largest responses (recipes, chat replies and
+ * history, video recommendations) opt into CBOR with {@link WireFormat#ACCEPT_CBOR}.
+ * Reads the dashboard composes with others return a ListenableFuture (see {@link CallFutures}).
+ */
 public interface AgentApiService {
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CompressRequest
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
         @POST("chat")
         Call<ChatResponse> chat(@Body ChatRequest request);
 
+        // Same as chat, but answered as NDJSON ChatStreamEvents; read with ChatStreamClient
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CompressRequest
+        @retrofit2.http.Streaming
+        @POST("chat/stream")
+        Call<okhttp3.ResponseBody> chatStream(@Body ChatRequest request);
+
+        // chat / chatStream with the photo as a binary part (see ImageUploadBody) instead of base64 image_data
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.INTERACTIVE)
+        @retrofit2.http.Multipart
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
+        @POST("chat/multipart")
+        Call<ChatResponse> chatMultipart(@retrofit2.http.Part("request") ChatRequest request,
+                        @retrofit2.http.Part okhttp3.MultipartBody.Part image);
+
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.INTERACTIVE)
+        @retrofit2.http.Streaming
+        @retrofit2.http.Multipart
+        @POST("chat/stream/multipart")
+        Call<okhttp3.ResponseBody> chatStreamMultipart(@retrofit2.http.Part("request") ChatRequest request,
+                        @retrofit2.http.Part okhttp3.MultipartBody.Part image);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CachePolicy(maxAgeSeconds = 24 * 60 * 60)
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
         @retrofit2.http.GET("recipes/{id}/full")
         retrofit2.Call<com.example.plateit.responses.RecipeResponse> getRecipeDetails(
                         @retrofit2.http.Path("id") int recipeId);
 
+        // Same as getRecipeDetails, for RecipePrefetcher warming cards nobody has tapped yet
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CachePolicy(maxAgeSeconds = 24 * 60 * 60)
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
+        @retrofit2.http.GET("recipes/{id}/full")
+        retrofit2.Call<com.example.plateit.responses.RecipeResponse> prefetchRecipeDetails(
+                        @retrofit2.http.Path("id") int recipeId);
+
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.LONG_RUNNING)
         @retrofit2.http.Multipart
         @retrofit2.http.POST("pantry/scan_image")
         retrofit2.Call<com.example.plateit.responses.PantryScanResponse> scanPantryImage(
                         @retrofit2.http.Part okhttp3.MultipartBody.Part image);
 
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.LONG_RUNNING)
         @retrofit2.http.Multipart
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
         @retrofit2.http.POST("recipes/identify_dish")
         retrofit2.Call<com.example.plateit.responses.RecipeResponse> identifyDishFromImage(
                         @retrofit2.http.Part okhttp3.MultipartBody.Part image);
 
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CachePolicy(maxAgeSeconds = 7 * 24 * 60 * 60)
         @retrofit2.http.GET("get_ingredient_image")
         retrofit2.Call<com.example.plateit.responses.IngredientImageResponse> getIngredientImage(
                         @retrofit2.http.Query("query") String query);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("pantry/{user_id}")
         retrofit2.Call<java.util.List<com.example.plateit.db.PantryItem>> getPantryItems(
                         @retrofit2.http.Path("user_id") String userId);
 
+        // Delta sync: items written and ids deleted after version "since" (0 = full list)
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.GET("pantry/{user_id}/changes")
+        retrofit2.Call<com.example.plateit.responses.PantryChanges> getPantryChanges(
+                        @retrofit2.http.Path("user_id") String userId,
+                        @retrofit2.http.Query("since") long since);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("pantry/add")
         retrofit2.Call<com.example.plateit.db.PantryItem> addPantryItem(
                         @retrofit2.http.Body com.example.plateit.requests.PantryItemCreateRequest request);
 
+        // Inserts all items in one transaction; returns the created rows with their server ids
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.POST("pantry/add_batch")
+        retrofit2.Call<java.util.List<com.example.plateit.db.PantryItem>> addPantryItemsBatch(
+                        @retrofit2.http.Body java.util.List<com.example.plateit.requests.PantryItemCreateRequest> requests);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.DELETE("pantry/{item_id}")
         retrofit2.Call<Void> deletePantryItem(@retrofit2.http.Path("item_id") int itemId);
 
+        @Priority(PriorityClass.INTERACTIVE)
+        @Latency(LatencyClass.INTERACTIVE)
         @retrofit2.http.POST("recipes/findByIngredients")
         retrofit2.Call<java.util.List<com.example.plateit.responses.RecipeSummary>> findRecipesByIngredients(
                         @retrofit2.http.Body com.example.plateit.requests.IngredientSearchRequest request);
 
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CachePolicy(maxAgeSeconds = 30 * 60)
         @retrofit2.http.GET("recommendations/blogs/{user_id}")
         retrofit2.Call<com.example.plateit.responses.BlogRecommendationResponse> getBlogRecommendations(
                         @retrofit2.http.Path("user_id") String userId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("users/preferences")
         retrofit2.Call<Void> updatePreferences(
                         @retrofit2.http.Body com.example.plateit.requests.PreferencesRequest request);
 
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.INTERACTIVE)
+        @CachePolicy(maxAgeSeconds = 15 * 60)
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
         @retrofit2.http.GET("recommendations/videos/{user_id}")
         retrofit2.Call<com.example.plateit.responses.VideoRecommendationResponse> getRecommendations(
                         @retrofit2.http.Path("user_id") String userId);
 
         // --- Cookbook ---
+        // Keyed from the first attempt so an outbox replay after a lost response can't add it twice
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CompressRequest
         @retrofit2.http.POST("cookbook/add")
-        retrofit2.Call<com.example.plateit.responses.CookbookEntry> addToCookbook(
-                        @retrofit2.http.Body com.example.plateit.requests.CookbookEntryCreate request);
+        retrofit2.Call<com.example.plateit.responses.CookbookEntry> saveToCookbook(
+                        @retrofit2.http.Body com.example.plateit.requests.CookbookEntryCreate request,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("cookbook/{user_id}")
         retrofit2.Call<java.util.List<com.example.plateit.responses.CookbookEntry>> getCookbook(
                         @retrofit2.http.Path("user_id") String userId);
 
+        // Keyset pages of list rows without the recipe body, newest first; pass Page.getNextCursor()
+        // back as cursor (null for the first page). The body comes from getCookbookEntry on open.
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.GET("cookbook/{user_id}/summaries")
+        retrofit2.Call<com.example.plateit.responses.Page<com.example.plateit.responses.CookbookSummary>> getCookbookSummaries(
+                        @retrofit2.http.Path("user_id") String userId,
+                        @retrofit2.http.Query("cursor") Integer cursor,
+                        @retrofit2.http.Query("limit") int limit);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        // Entries are never edited, so the body can be served from the HTTP cache for a week
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy(maxAgeSeconds = 7 * 24 * 60 * 60)
+        @retrofit2.http.GET("cookbook/entry/{cookbook_id}")
+        com.google.common.util.concurrent.ListenableFuture<com.example.plateit.responses.CookbookEntry> getCookbookEntry(
+                        @retrofit2.http.Path("cookbook_id") int cookbookId);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.DELETE("cookbook/{recipe_id}")
         retrofit2.Call<Void> deleteFromCookbook(@retrofit2.http.Path("recipe_id") int recipeId);
 
         // --- Cooking Session ---
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("cooking/start")
         retrofit2.Call<com.example.plateit.responses.CookingSession> startCookingSession(
                         @retrofit2.http.Body com.example.plateit.requests.CookingSessionCreate request);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("cooking/update")
         retrofit2.Call<com.example.plateit.responses.CookingSession> updateCookingProgress(
                         @retrofit2.http.Body com.example.plateit.requests.CookingProgressUpdate request);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("cooking/active/{user_id}")
-        retrofit2.Call<com.example.plateit.responses.CookingSession> getActiveCookingSession(
+        com.google.common.util.concurrent.ListenableFuture<com.example.plateit.responses.CookingSession> getActiveCookingSession(
                         @retrofit2.http.Path("user_id") String userId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("cooking/sessions/{user_id}")
         retrofit2.Call<java.util.List<com.example.plateit.responses.CookingSession>> getAllCookingSessions(
                         @retrofit2.http.Path("user_id") String userId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.GET("cooking/sessions/{user_id}/page")
+        retrofit2.Call<com.example.plateit.responses.Page<com.example.plateit.responses.CookingSession>> getCookingSessionsPage(
+                        @retrofit2.http.Path("user_id") String userId,
+                        @retrofit2.http.Query("cursor") Integer cursor,
+                        @retrofit2.http.Query("limit") int limit);
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("chat/sessions/{user_id}")
         retrofit2.Call<java.util.List<com.example.plateit.models.ChatSession>> getChatSessions(
                         @retrofit2.http.Path("user_id") String userId);
 
+        // Raw body, decoded incrementally by ChatHistoryStreamClient
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.Streaming
+        @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
         @retrofit2.http.GET("chat/history/{thread_id}")
-        retrofit2.Call<java.util.List<com.example.plateit.responses.ChatHistoryResponse>> getChatHistory(
-                        @retrofit2.http.Path("thread_id") String threadId);
+        retrofit2.Call<okhttp3.ResponseBody> getChatHistory(
+                        @retrofit2.http.Path("thread_id") String threadId,
+                        @retrofit2.http.Query("newest_first") boolean newestFirst);
 
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("users/stats/{user_id}")
-        retrofit2.Call<com.example.plateit.responses.UserStatsResponse> getUserStats(
+        com.google.common.util.concurrent.ListenableFuture<com.example.plateit.responses.UserStatsResponse> getUserStats(
                         @retrofit2.http.Path("user_id") String userId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("users/profile/{user_id}")
         retrofit2.Call<com.example.plateit.responses.AuthResponse> getUserProfile(
                         @retrofit2.http.Path("user_id") String userId);
 
+        // --- Warm-up ---
+        // No DB work on the server; used by ConnectionWarmer to open a connection ahead of real calls
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.GET("health")
+        retrofit2.Call<Void> health();
+
+        // --- Dashboard ---
+        // Aggregated snapshot for DashboardFragment; the individual calls stay for partial refreshes
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.GET("dashboard/{user_id}")
+        retrofit2.Call<com.example.plateit.responses.DashboardSnapshot> getDashboard(
+                        @retrofit2.http.Path("user_id") String userId);
+
+        // Snapshot without cookbook and sessions, for screens that page those lists
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
+        @retrofit2.http.GET("dashboard/{user_id}/summary")
+        retrofit2.Call<com.example.plateit.responses.DashboardSnapshot> getDashboardSummary(
+                        @retrofit2.http.Path("user_id") String userId);
+
+        // --- Outbox replays ---
+        // Same writes as above, tagged with an Idempotency-Key so the backend runs each one only once
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.POST("pantry/add")
+        retrofit2.Call<com.example.plateit.db.PantryItem> addPantryItem(
+                        @retrofit2.http.Body com.example.plateit.requests.PantryItemCreateRequest request,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
+
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.DELETE("pantry/{item_id}")
+        retrofit2.Call<Void> deletePantryItem(@retrofit2.http.Path("item_id") int itemId,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
+
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CompressRequest
+        @retrofit2.http.POST("cookbook/add")
+        retrofit2.Call<com.example.plateit.responses.CookbookEntry> addToCookbook(
+                        @retrofit2.http.Body com.example.plateit.requests.CookbookEntryCreate request,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
+
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.POST("cooking/update")
+        retrofit2.Call<com.example.plateit.responses.CookingSession> updateCookingProgress(
+                        @retrofit2.http.Body com.example.plateit.requests.CookingProgressUpdate request,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
+
+        @Priority(PriorityClass.BACKGROUND)
+        @Latency(LatencyClass.FAST_CRUD)
+        @retrofit2.http.PUT("shopping_lists/{list_id}")
+        retrofit2.Call<com.example.plateit.responses.ShoppingList> updateShoppingList(
+                        @retrofit2.http.Path("list_id") int listId,
+                        @retrofit2.http.Body com.example.plateit.requests.ShoppingListUpdate request,
+                        @retrofit2.http.Header("Idempotency-Key") String idempotencyKey);
+
         // --- Shopping List ---
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("shopping_lists/{user_id}")
-        retrofit2.Call<java.util.List<com.example.plateit.responses.ShoppingList>> getShoppingLists(
+        com.google.common.util.concurrent.ListenableFuture<java.util.List<com.example.plateit.responses.ShoppingList>> getShoppingLists(
                         @retrofit2.http.Path("user_id") String userId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy
         @retrofit2.http.GET("shopping_list/{list_id}")
         retrofit2.Call<com.example.plateit.responses.ShoppingList> getShoppingList(
                         @retrofit2.http.Path("list_id") int listId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("shopping_lists/add")
         retrofit2.Call<com.example.plateit.responses.ShoppingList> createShoppingList(
                         @retrofit2.http.Body com.example.plateit.requests.ShoppingListCreateRequest request);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.PUT("shopping_lists/{list_id}")
         retrofit2.Call<com.example.plateit.responses.ShoppingList> updateShoppingList(
                         @retrofit2.http.Path("list_id") int listId,
                         @retrofit2.http.Body com.example.plateit.requests.ShoppingListUpdate request);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.DELETE("shopping_lists/{list_id}")
         retrofit2.Call<Void> deleteShoppingList(@retrofit2.http.Path("list_id") int listId);
 
+        @Priority(PriorityClass.USER_INITIATED)
+        @Latency(LatencyClass.FAST_CRUD)
         @retrofit2.http.POST("shopping_lists/from_recipe")
         retrofit2.Call<com.example.plateit.responses.ShoppingListFromRecipeResponse> createShoppingListFromRecipe(
                         @retrofit2.http.Body java.util.Map<String, Object> request);
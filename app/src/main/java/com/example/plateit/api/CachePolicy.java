@@ -0,0 +1,22 @@
+package com.example.plateit.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how long a GET response may be served from the shared HTTP cache.
+ * Read by {@link CachePolicyInterceptor} through Retrofit's {@code Invocation} tag.
+ *
+ * maxAgeSeconds = 0 means "always revalidate": the cached body is kept, but every
+ * request goes out with If-None-Match and a 304 is answered from disk.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachePolicy {
+    int maxAgeSeconds() default 0;
+
+    // How long a stale copy may still be shown when the network fails
+    int staleIfErrorSeconds() default 24 * 60 * 60;
+}
@@ -0,0 +1,91 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Applies {@link CachePolicy} annotations from the Retrofit service interfaces.
+ *
+ * Registered twice on the shared client:
+ * - as a network interceptor it stamps Cache-Control on fresh responses so OkHttp
+ *   stores them (the backend does not send cache headers of its own);
+ * - as an application interceptor it retries from cache when the network fails,
+ *   as long as the copy is within the stale-if-error window.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    private final boolean network;
+
+    private CachePolicyInterceptor(boolean network) {
+        this.network = network;
+    }
+
+    public static CachePolicyInterceptor forNetwork() {
+        return new CachePolicyInterceptor(true);
+    }
+
+    public static CachePolicyInterceptor forApplication() {
+        return new CachePolicyInterceptor(false);
+    }
+
+    static CachePolicy policyOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return null;
+        }
+        return invocation.method().getAnnotation(CachePolicy.class);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CachePolicy policy = "GET".equals(request.method()) ? policyOf(request) : null;
+        if (policy == null) {
+            return chain.proceed(request);
+        }
+        return network ? stampResponse(chain, request, policy) : fallbackToCache(chain, request, policy);
+    }
+
+    private Response stampResponse(Chain chain, Request request, CachePolicy policy) throws IOException {
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful() && response.code() != 304) {
+            return response;
+        }
+        // Respect explicit server headers if the backend ever starts sending them
+        if (response.header("Cache-Control") != null) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "private, max-age=" + policy.maxAgeSeconds())
+                .build();
+    }
+
+    private Response fallbackToCache(Chain chain, Request request, CachePolicy policy) throws IOException {
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            if (policy.staleIfErrorSeconds() <= 0) {
+                throw e;
+            }
+            Request cacheOnly = request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale(policy.staleIfErrorSeconds(), java.util.concurrent.TimeUnit.SECONDS)
+                            .build())
+                    .build();
+            Response cached = chain.proceed(cacheOnly);
+            if (cached.code() == 504) {
+                // Nothing usable on disk, surface the original network error
+                cached.close();
+                throw e;
+            }
+            return cached;
+        }
+    }
+}
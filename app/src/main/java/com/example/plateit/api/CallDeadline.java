@@ -0,0 +1,53 @@
+package com.example.plateit.api;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+
+/**
+ * The overall budget of one call, attached as a request tag by {@link LatencyInterceptor}.
+ *
+ * The call itself is never cancelled when the budget runs out: each network attempt just
+ * gets timeouts no longer than what is left, so a late attempt fails with a timeout and
+ * the stale-if-error fallback can still answer from cache on the same call.
+ */
+final class CallDeadline {
+
+    final LatencyClass latency;
+    private final long expiresAtNanos;
+
+    CallDeadline(LatencyClass latency) {
+        this.latency = latency;
+        this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(latency.callSeconds);
+    }
+
+    long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+    }
+
+    boolean expired() {
+        return remainingMillis() <= 0;
+    }
+
+    /** Chain for one network attempt, with every timeout capped at the time left. */
+    Interceptor.Chain bound(Interceptor.Chain chain) throws InterruptedIOException {
+        long remaining = remainingMillis();
+        if (remaining <= 0) {
+            throw exceeded();
+        }
+        return chain
+                .withConnectTimeout(cap(chain.connectTimeoutMillis(), remaining), TimeUnit.MILLISECONDS)
+                .withReadTimeout(cap(chain.readTimeoutMillis(), remaining), TimeUnit.MILLISECONDS)
+                .withWriteTimeout(cap(chain.writeTimeoutMillis(), remaining), TimeUnit.MILLISECONDS);
+    }
+
+    // 0 means "no timeout" to OkHttp
+    private static int cap(int timeoutMillis, long remaining) {
+        return (int) (timeoutMillis == 0 ? remaining : Math.min(timeoutMillis, remaining));
+    }
+
+    InterruptedIOException exceeded() {
+        return new InterruptedIOException(latency.name() + " deadline of " + latency.callSeconds + "s exceeded");
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.plateit.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Retrofit calls as Guava ListenableFutures, for screens that load several resources
+ * at once: start them together, combine with Futures.whenAllSucceed / transformAsync,
+ * and render once with onMain().
+ *
+ * Cancelling a future cancels its Call, and Guava's combinators pass cancellation on to
+ * their inputs, so cancelling the combined future stops every request behind it.
+ * Service methods that are only ever loaded this way declare the future directly (see
+ * {@link ListenableFutureCallAdapterFactory}); of() wraps the ones that return Call.
+ */
+public final class CallFutures {
+
+    private static final Executor mainExecutor = new Handler(Looper.getMainLooper())::post;
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "CallFutures Timeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private CallFutures() {
+    }
+
+    /** Enqueues the call. Fails with HttpException on a non-2xx response, like Retrofit's own adapters. */
+    public static <T> ListenableFuture<T> of(Call<T> call) {
+        SettableFuture<T> future = SettableFuture.create();
+        cancelWith(future, call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> response) {
+                if (response.isSuccessful()) {
+                    future.set(response.body());
+                } else {
+                    future.setException(new HttpException(response));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                future.setException(t);
+            }
+        });
+        return future;
+    }
+
+    /** Same, but completes with the Response for any HTTP status; fails only on I/O errors. */
+    public static <T> ListenableFuture<Response<T>> response(Call<T> call) {
+        SettableFuture<Response<T>> future = SettableFuture.create();
+        cancelWith(future, call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> response) {
+                future.set(response);
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                future.setException(t);
+            }
+        });
+        return future;
+    }
+
+    private static void cancelWith(ListenableFuture<?> future, Call<?> call) {
+        future.addListener(() -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /** Fails with TimeoutException, and cancels the input, if it isn't done in time. */
+    public static <T> ListenableFuture<T> withTimeout(ListenableFuture<T> future, long timeout, TimeUnit unit) {
+        return Futures.withTimeout(future, timeout, unit, timer);
+    }
+
+    /** For optional parts of a screen: a failure becomes null so the rest can still render. */
+    public static <T> ListenableFuture<T> orNull(ListenableFuture<T> future) {
+        return Futures.catching(future, Exception.class, e -> {
+            android.util.Log.w("CallFutures", "Optional load failed", e);
+            return null;
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Delivers the result on the main thread while the owner is alive. If the owner is
+     * destroyed first the future is cancelled (and with it the calls behind it) and the
+     * callback never runs. Main thread only.
+     */
+    public static <T> void onMain(LifecycleOwner owner, ListenableFuture<T> future, FutureCallback<T> callback) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            future.cancel(false);
+            return;
+        }
+        LifecycleEventObserver observer = new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY && future.cancel(false)) {
+                    NetworkMetrics.getInstance().recordTeardownCancel();
+                }
+            }
+        };
+        lifecycle.addObserver(observer);
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                lifecycle.removeObserver(observer);
+                if (lifecycle.getCurrentState() != Lifecycle.State.DESTROYED) {
+                    callback.onSuccess(result);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable t) {
+                lifecycle.removeObserver(observer);
+                if (!future.isCancelled() && lifecycle.getCurrentState() != Lifecycle.State.DESTROYED) {
+                    callback.onFailure(t);
+                }
+            }
+        }, mainExecutor);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.plateit.api;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Retrofit calls bound to a screen's lifecycle.
+ *
+ * Calls enqueued through a scope are cancelled when its owner is destroyed (for a
+ * fragment, pass getViewLifecycleOwner() so this happens in onDestroyView), and their
+ * callbacks are never run after that, so they can't touch dead views or keep the
+ * screen alive. Work that must reach the server anyway (deletes, saves) uses
+ * enqueueToCompletion: the call keeps running, only the callback is dropped.
+ * Main thread for of(); enqueue/track are safe from any thread.
+ */
+public class CallScope implements LifecycleEventObserver {
+
+    private static final WeakHashMap<LifecycleOwner, CallScope> scopes = new WeakHashMap<>();
+
+    private final Set<Call<?>> pending = new HashSet<>();
+    private boolean destroyed;
+
+    public static synchronized CallScope of(LifecycleOwner owner) {
+        CallScope scope = scopes.get(owner);
+        if (scope == null) {
+            scope = new CallScope();
+            if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+                scope.destroyed = true;
+            } else {
+                scopes.put(owner, scope);
+                owner.getLifecycle().addObserver(scope);
+            }
+        }
+        return scope;
+    }
+
+    /** Scope of the fragment's view while it has one, else of the fragment itself. */
+    public static CallScope of(androidx.fragment.app.Fragment fragment) {
+        return of(fragment.getView() != null ? fragment.getViewLifecycleOwner() : fragment);
+    }
+
+    /** Enqueues the call; it is cancelled if the owner is destroyed first. */
+    public <T> void enqueue(Call<T> call, Callback<T> callback) {
+        if (track(call) != null) {
+            call.enqueue(wrap(call, callback));
+        }
+    }
+
+    /** Opt-out: the call always runs to completion; the callback only runs while the owner is alive. */
+    public <T> void enqueueToCompletion(Call<T> call, Callback<T> callback) {
+        call.enqueue(wrap(call, callback));
+    }
+
+    /**
+     * Registers a call that is executed elsewhere (e.g. a streaming reader) so it is
+     * cancelled with the scope. Returns null, with the call cancelled, if the owner is
+     * already gone. Callers should untrack() once the call has finished.
+     */
+    public synchronized <T> Call<T> track(Call<T> call) {
+        if (destroyed) {
+            call.cancel();
+            return null;
+        }
+        pending.add(call);
+        return call;
+    }
+
+    public synchronized void untrack(Call<?> call) {
+        pending.remove(call);
+    }
+
+    private synchronized boolean finish(Call<?> call) {
+        pending.remove(call);
+        return !destroyed;
+    }
+
+    private <T> Callback<T> wrap(Call<T> call, Callback<T> callback) {
+        return new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> response) {
+                if (finish(call)) {
+                    callback.onResponse(c, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                if (finish(call)) {
+                    callback.onFailure(c, t);
+                }
+            }
+        };
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event != Lifecycle.Event.ON_DESTROY) {
+            return;
+        }
+        source.getLifecycle().removeObserver(this);
+        synchronized (CallScope.class) {
+            scopes.remove(source);
+        }
+        Set<Call<?>> toCancel;
+        synchronized (this) {
+            destroyed = true;
+            toCancel = new HashSet<>(pending);
+            pending.clear();
+        }
+        for (Call<?> call : toCancel) {
+            if (!call.isCanceled()) {
+                call.cancel();
+                NetworkMetrics.getInstance().recordTeardownCancel();
+            }
+        }
+    }
+}
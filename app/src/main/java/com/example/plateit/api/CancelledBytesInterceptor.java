@@ -0,0 +1,63 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Network interceptor that counts how many response bytes were never downloaded because
+ * the call was cancelled (see CallScope), for the network debug screen. Only bodies
+ * with a Content-Length are counted; these are wire bytes, i.e. after gzip.
+ */
+class CancelledBytesInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        ResponseBody body = response.body();
+        if (body == null || body.contentLength() < 0) {
+            return response;
+        }
+        long length = body.contentLength();
+        okhttp3.Call call = chain.call();
+        ForwardingSource counting = new ForwardingSource(body.source()) {
+            private long read;
+            private boolean reported;
+
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                try {
+                    long n = super.read(sink, byteCount);
+                    if (n > 0) {
+                        read += n;
+                    }
+                    return n;
+                } catch (IOException e) {
+                    reportIfCancelled();
+                    throw e;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                reportIfCancelled();
+                super.close();
+            }
+
+            private void reportIfCancelled() {
+                if (!reported && call.isCanceled()) {
+                    reported = true;
+                    NetworkMetrics.getInstance().recordCancelledBytes(Math.max(0, length - read));
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), length, Okio.buffer(counting)))
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.plateit.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.plateit.models.ChatMessage;
+import com.example.plateit.responses.ChatHistoryResponse;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Loads a chat thread newest first and decodes the array (JSON or CBOR) one element at a time
+ * as it comes off the socket, instead of waiting for the whole List to be parsed.
+ *
+ * Messages are handed to the main thread in batches of older history: the first batch
+ * is about a screenful so it shows up quickly, later ones are larger to keep the
+ * number of adapter updates down. Each batch is in chronological order.
+ */
+public class ChatHistoryStreamClient {
+
+    public interface Listener {
+        /** Messages older than everything delivered so far, oldest first. */
+        void onOlderMessages(List<ChatMessage> messages);
+
+        void onComplete();
+
+        void onError(String message);
+    }
+
+    private static final int FIRST_BATCH = 15;
+    private static final int BATCH = 50;
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Starts loading; cancel the returned call to stop reading. */
+    public static Call<ResponseBody> load(String threadId, Listener listener) {
+        Call<ResponseBody> call = RetrofitClient.getAgentService().getChatHistory(threadId, true);
+        executor.execute(() -> read(call, listener));
+        return call;
+    }
+
+    private static void read(Call<ResponseBody> call, Listener listener) {
+        Gson gson = com.example.plateit.utils.GsonProvider.get();
+        // The generated adapter, looked up once instead of per element
+        TypeAdapter<ChatHistoryResponse> adapter = gson.getAdapter(ChatHistoryResponse.class);
+        try {
+            Response<ResponseBody> response = call.execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                post(call, () -> listener.onError("Could not load chat history."));
+                return;
+            }
+            try (ResponseBody body = response.body();
+                    JsonReader reader = WireFormat.reader(body)) {
+                List<ChatMessage> batch = new ArrayList<>();
+                int limit = FIRST_BATCH;
+                reader.beginArray();
+                while (reader.hasNext() && !call.isCanceled()) {
+                    batch.add(toMessage(adapter.read(reader)));
+                    if (batch.size() >= limit) {
+                        deliver(call, listener, batch);
+                        batch = new ArrayList<>();
+                        limit = BATCH;
+                    }
+                }
+                if (!call.isCanceled()) {
+                    reader.endArray();
+                }
+                if (!batch.isEmpty()) {
+                    deliver(call, listener, batch);
+                }
+            }
+            post(call, listener::onComplete);
+        } catch (IOException | com.google.gson.JsonParseException | IllegalStateException e) {
+            post(call, () -> listener.onError("Network error: " + e.getMessage()));
+        }
+    }
+
+    private static ChatMessage toMessage(ChatHistoryResponse item) {
+        ChatMessage msg = new ChatMessage(
+                item.getContent(),
+                item.getUiType() != null ? item.getUiType() : "none",
+                item.getRecipeData(),
+                item.getIngredientData(),
+                item.getVideoData());
+        if ("user".equals(item.getSender())) {
+            msg.setUser(true);
+        }
+        // Batches are inserted above, which shifts positions; old replies shouldn't replay the typing animation
+        msg.setStreamed(true);
+        return msg;
+    }
+
+    private static void deliver(Call<ResponseBody> call, Listener listener, List<ChatMessage> newestFirst) {
+        Collections.reverse(newestFirst);
+        post(call, () -> listener.onOlderMessages(newestFirst));
+    }
+
+    private static void post(Call<ResponseBody> call, Runnable runnable) {
+        mainHandler.post(() -> {
+            // A cancelled load (screen closed, other thread picked) must not touch the list anymore
+            if (!call.isCanceled()) {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.plateit.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.plateit.requests.ChatRequest;
+import com.example.plateit.responses.ChatResponse;
+import com.example.plateit.responses.ChatStreamEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Reads the chat/stream NDJSON response line by line on a background thread and
+ * hands each event to the listener on the main thread as soon as it arrives.
+ */
+public class ChatStreamClient {
+
+    public interface Listener {
+        void onDelta(String text);
+
+        void onComplete(ChatResponse response);
+
+        void onError(String message);
+    }
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final com.google.gson.Gson gson = com.example.plateit.utils.GsonProvider.get();
+
+    /** Starts streaming; cancel the returned call to stop reading. */
+    public static Call<ResponseBody> stream(ChatRequest request, Listener listener) {
+        return stream(request, null, listener);
+    }
+
+    /** Same, with an optional photo sent as a multipart image part (see ImageUploadBody). */
+    public static Call<ResponseBody> stream(ChatRequest request, okhttp3.MultipartBody.Part image,
+            Listener listener) {
+        Call<ResponseBody> call = image != null
+                ? RetrofitClient.getAgentService().chatStreamMultipart(request, image)
+                : RetrofitClient.getAgentService().chatStream(request);
+        executor.execute(() -> read(call, listener));
+        return call;
+    }
+
+    private static void read(Call<ResponseBody> call, Listener listener) {
+        try {
+            Response<ResponseBody> response = call.execute();
+            if (!response.isSuccessful() || response.body() == null) {
+                post(call, () -> listener.onError("Sorry, I'm having trouble connecting."));
+                return;
+            }
+            try (ResponseBody body = response.body();
+                    BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(body.byteStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    ChatStreamEvent event = gson.fromJson(line, ChatStreamEvent.class);
+                    if (ChatStreamEvent.TYPE_DELTA.equals(event.getType()) && event.getText() != null) {
+                        post(call, () -> listener.onDelta(event.getText()));
+                    } else if (ChatStreamEvent.TYPE_FINAL.equals(event.getType())) {
+                        post(call, () -> listener.onComplete(event.getResponse()));
+                        return;
+                    } else if (ChatStreamEvent.TYPE_ERROR.equals(event.getType())) {
+                        post(call, () -> listener.onError("Sorry, something went wrong: " + event.getDetail()));
+                        return;
+                    }
+                }
+            }
+            // Stream ended without a final event
+            post(call, () -> listener.onError("Sorry, the reply was cut off."));
+        } catch (IOException | com.google.gson.JsonParseException e) {
+            post(call, () -> listener.onError("Network error: " + e.getMessage()));
+        }
+    }
+
+    private static void post(Call<ResponseBody> call, Runnable runnable) {
+        mainHandler.post(() -> {
+            // A cancelled stream (e.g. screen closed) must not touch the UI anymore
+            if (!call.isCanceled()) {
+                runnable.run();
+            }
+        });
+    }
+}
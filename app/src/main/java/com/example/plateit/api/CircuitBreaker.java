@@ -0,0 +1,92 @@
+package com.example.plateit.api;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Per-host breaker used by {@link ResilienceInterceptor}.
+ *
+ * CLOSED: requests flow; FAILURE_THRESHOLD consecutive failures (IOException or 5xx) open it.
+ * OPEN: requests fail immediately with {@link CircuitOpenException} for OPEN_MILLIS, which
+ * lets {@link CachePolicyInterceptor} answer GETs from cache instead of hammering a sick backend.
+ * HALF_OPEN: a single trial request is let through; success closes, failure re-opens.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    static final int FAILURE_THRESHOLD = 5;
+    static final long OPEN_MILLIS = 30_000;
+
+    private final String host;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean trialInFlight = false;
+
+    CircuitBreaker(String host) {
+        this(host, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String host, LongSupplier clock) {
+        this.host = host;
+        this.clock = clock;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Returns false when the request must be short-circuited. */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < OPEN_MILLIS) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= FAILURE_THRESHOLD) {
+            openedAt = clock.getAsLong();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * A cancelled request, or one answered from the HTTP cache, says nothing about backend
+     * health but must free the trial slot.
+     */
+    synchronized void onInconclusive() {
+        trialInFlight = false;
+    }
+
+    private void transition(State next) {
+        state = next;
+        ResilienceMonitor.getInstance().onBreakerChanged(host, next);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+/** Thrown instead of making a request while the host's {@link CircuitBreaker} is open. */
+public class CircuitOpenException extends IOException {
+    public CircuitOpenException(String host) {
+        super("Backend " + host + " is unavailable, try again shortly");
+    }
+}
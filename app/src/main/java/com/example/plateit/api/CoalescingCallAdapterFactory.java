@@ -0,0 +1,216 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Single-flight wrapper for GET calls.
+ *
+ * When several screens enqueue the same GET (same URL and {@link Priority}) while
+ * one is already in flight, only the first one hits the network.
+ * The others are parked and receive the same Response through their own callback.
+ *
+ * The parsed body object is shared between callers, so treat it as read-only or
+ * copy it before mutating. execute() is not coalesced, and neither are @Streaming or
+ * raw ResponseBody methods, whose body can only be read once.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+    private final Map<String, Flight<?>> inFlight = new HashMap<>();
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !isGet(annotations) || isStreaming(annotations)
+                || !(returnType instanceof ParameterizedType)
+                || getParameterUpperBound(0, (ParameterizedType) returnType) == ResponseBody.class) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final CallAdapter<Object, Call<Object>> delegate = (CallAdapter<Object, Call<Object>>) retrofit
+                .nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(delegate.adapt(call), inFlight);
+            }
+        };
+    }
+
+    private static boolean isGet(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof retrofit2.http.GET) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreaming(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof retrofit2.http.Streaming) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** One network call plus everyone waiting on it. */
+    private static class Flight<T> {
+        final Call<T> leader;
+        final List<CoalescingCall<T>> waiters = new ArrayList<>();
+
+        Flight(Call<T> leader) {
+            this.leader = leader;
+        }
+    }
+
+    static class CoalescingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private final Map<String, Flight<?>> inFlight;
+        private Callback<T> callback;
+        private Flight<T> flight;
+        private String key;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        CoalescingCall(Call<T> delegate, Map<String, Flight<?>> inFlight) {
+            this.delegate = delegate;
+            this.inFlight = inFlight;
+        }
+
+        // Priority is part of the key so a tap never waits on a deferred BACKGROUND flight
+        private String key() {
+            Request request = delegate.request();
+            return PriorityCallFactory.priorityOf(request) + " " + request.method() + " " + request.url();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void enqueue(Callback<T> callback) {
+            if (executed) {
+                throw new IllegalStateException("Already executed.");
+            }
+            executed = true;
+            this.callback = callback;
+
+            String key = key();
+            this.key = key;
+            boolean leader;
+            synchronized (inFlight) {
+                Flight<T> existing = (Flight<T>) inFlight.get(key);
+                leader = existing == null;
+                if (leader) {
+                    existing = new Flight<>(delegate);
+                    inFlight.put(key, existing);
+                }
+                existing.waiters.add(this);
+                flight = existing;
+            }
+            if (!leader) {
+                android.util.Log.d("Coalescing", "Joined in-flight request: " + key);
+                return;
+            }
+
+            delegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    for (CoalescingCall<T> waiter : finish(key)) {
+                        waiter.callback.onResponse(waiter, response);
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    for (CoalescingCall<T> waiter : finish(key)) {
+                        waiter.callback.onFailure(waiter, t);
+                    }
+                }
+            });
+        }
+
+        private List<CoalescingCall<T>> finish(String key) {
+            List<CoalescingCall<T>> waiters;
+            synchronized (inFlight) {
+                if (inFlight.get(key) == flight) {
+                    inFlight.remove(key);
+                }
+                waiters = new ArrayList<>(flight.waiters);
+                flight.waiters.clear();
+            }
+            return waiters;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            executed = true;
+            return delegate.execute();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            if (flight == null) {
+                delegate.cancel();
+                return;
+            }
+            // Only cancel the shared network call once nobody is waiting on it anymore
+            boolean lastWaiter;
+            synchronized (inFlight) {
+                flight.waiters.remove(this);
+                lastWaiter = flight.waiters.isEmpty();
+                // A new identical call must start its own flight, not join the one being cancelled
+                if (lastWaiter && inFlight.get(key) == flight) {
+                    inFlight.remove(key);
+                }
+            }
+            if (lastWaiter) {
+                flight.leader.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone(), inFlight);
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public okio.Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.plateit.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a request into gzip body compression by {@link RequestCompressionInterceptor}.
+ * Meant for large JSON bodies (chat requests carry the whole recipe and sometimes a
+ * base64 photo); bodies smaller than minBytes are sent as-is since gzip would not pay off.
+ * The backend must accept Content-Encoding: gzip on the endpoint.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CompressRequest {
+    long minBytes() default 1024;
+}
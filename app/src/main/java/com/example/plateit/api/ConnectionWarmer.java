@@ -0,0 +1,61 @@
+package com.example.plateit.api;
+
+import android.os.SystemClock;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Keeps a connection to the backend warm so interactive calls don't pay for DNS,
+ * TCP, TLS and a Cloud Run cold start.
+ *
+ * ping() runs at app start and from screens that are about to make an expensive call
+ * (recommendations, chat). It sends GET health, which resolves the host (see
+ * PersistentDns), completes the TLS handshake and leaves an HTTP/2 connection in the
+ * shared pool for the real request to reuse. Pings closer together than
+ * MIN_INTERVAL_MS are skipped; the connection is still pooled then.
+ */
+public class ConnectionWarmer {
+
+    private static final long MIN_INTERVAL_MS = 60 * 1000;
+
+    private static ConnectionWarmer instance;
+
+    private final AtomicLong lastPingAt = new AtomicLong(0);
+    // Building the shared client (disk cache, DNS store) is kept off the caller's thread
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    public static synchronized ConnectionWarmer getInstance() {
+        if (instance == null) {
+            instance = new ConnectionWarmer();
+        }
+        return instance;
+    }
+
+    public void ping() {
+        long now = SystemClock.elapsedRealtime();
+        long last = lastPingAt.get();
+        if (last != 0 && now - last < MIN_INTERVAL_MS) {
+            return;
+        }
+        if (!lastPingAt.compareAndSet(last, now)) {
+            return; // Another screen just pinged
+        }
+        executor.execute(() -> RetrofitClient.getAgentService().health().enqueue(new Callback<Void>() {
+            @Override
+            public void onResponse(Call<Void> call, Response<Void> response) {
+            }
+
+            @Override
+            public void onFailure(Call<Void> call, Throwable t) {
+                // Let the next screen try again
+                lastPingAt.set(0);
+            }
+        }));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.plateit.api;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * JPEG image part for the multipart chat endpoints.
+ *
+ * The bitmap is compressed straight into the request sink while OkHttp writes the
+ * body, so there is no intermediate byte[] or base64 string, and for a Uri the
+ * decode also happens on the OkHttp thread instead of the UI thread.
+ */
+public class ImageUploadBody extends RequestBody {
+
+    private static final MediaType JPEG = MediaType.parse("image/jpeg");
+    private static final int JPEG_QUALITY = 70;
+
+    private final Context context;
+    private final Uri uri;
+    private final Bitmap bitmap;
+
+    private ImageUploadBody(Context context, Uri uri, Bitmap bitmap) {
+        this.context = context;
+        this.uri = uri;
+        this.bitmap = bitmap;
+    }
+
+    public static MultipartBody.Part fromUri(Context context, Uri uri) {
+        return MultipartBody.Part.createFormData("image", "image.jpg",
+                new ImageUploadBody(context.getApplicationContext(), uri, null));
+    }
+
+    public static MultipartBody.Part fromBitmap(Bitmap bitmap) {
+        return MultipartBody.Part.createFormData("image", "image.jpg", new ImageUploadBody(null, null, bitmap));
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JPEG;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        Bitmap image = bitmap;
+        if (image == null) {
+            try (InputStream in = context.getContentResolver().openInputStream(uri)) {
+                image = BitmapFactory.decodeStream(in);
+            }
+            if (image == null) {
+                throw new IOException("Could not decode image " + uri);
+            }
+        }
+        image.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, sink.outputStream());
+    }
+}
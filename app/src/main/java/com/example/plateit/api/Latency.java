@@ -0,0 +1,13 @@
+package com.example.plateit.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Declares the {@link LatencyClass} of a Retrofit service method. */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Latency {
+    LatencyClass value();
+}
@@ -0,0 +1,27 @@
+package com.example.plateit.api;
+
+/**
+ * Timeout budgets for the different kinds of backend calls.
+ * Pick one per service method with {@link Latency}; {@link LatencyInterceptor} enforces it.
+ */
+public enum LatencyClass {
+    // Plain DB reads/writes on the backend, should answer in well under a second
+    FAST_CRUD(5, 10, 10, 15),
+    // Agent chat and third-party lookups (Spoonacular, YouTube, image search)
+    INTERACTIVE(10, 60, 30, 90),
+    // Video/blog extraction and vision models
+    LONG_RUNNING(15, 180, 60, 240);
+
+    public final int connectSeconds;
+    public final int readSeconds;
+    public final int writeSeconds;
+    // Hard cap on the whole call including retries and redirects
+    public final int callSeconds;
+
+    LatencyClass(int connectSeconds, int readSeconds, int writeSeconds, int callSeconds) {
+        this.connectSeconds = connectSeconds;
+        this.readSeconds = readSeconds;
+        this.writeSeconds = writeSeconds;
+        this.callSeconds = callSeconds;
+    }
+}
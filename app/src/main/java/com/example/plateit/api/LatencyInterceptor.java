@@ -0,0 +1,60 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Applies the {@link Latency} class of the invoked service method: per-request
+ * connect/read/write timeouts plus an overall call deadline.
+ *
+ * Must be the outermost application interceptor so the deadline covers the
+ * cache fallback and everything below it. The deadline travels as a
+ * {@link CallDeadline} tag and is enforced per network attempt by
+ * {@link ResilienceInterceptor}. Requests without an annotation use the
+ * client defaults.
+ */
+public class LatencyInterceptor implements Interceptor {
+
+    static LatencyClass latencyOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return null;
+        }
+        Latency latency = invocation.method().getAnnotation(Latency.class);
+        return latency != null ? latency.value() : null;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        LatencyClass latency = latencyOf(chain.request());
+        if (latency == null) {
+            return chain.proceed(chain.request());
+        }
+
+        Chain tuned = chain
+                .withConnectTimeout(latency.connectSeconds, TimeUnit.SECONDS)
+                .withReadTimeout(latency.readSeconds, TimeUnit.SECONDS)
+                .withWriteTimeout(latency.writeSeconds, TimeUnit.SECONDS);
+
+        CallDeadline deadline = new CallDeadline(latency);
+        Request request = chain.request().newBuilder().tag(CallDeadline.class, deadline).build();
+        try {
+            return tuned.proceed(request);
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            if (deadline.expired()) {
+                InterruptedIOException timeout = deadline.exceeded();
+                timeout.initCause(e);
+                throw timeout;
+            }
+            throw e;
+        }
+    }
+}
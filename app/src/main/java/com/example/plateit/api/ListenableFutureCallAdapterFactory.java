@@ -0,0 +1,108 @@
+package com.example.plateit.api;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Lets service methods return {@code ListenableFuture<T>} or
+ * {@code ListenableFuture<Response<T>>} instead of Call; see {@link CallFutures} for the
+ * semantics and for wrapping methods that return Call.
+ *
+ * The Call behind the future is adapted by the factories registered after this one, so
+ * register it first and future-returning GETs are still coalesced.
+ */
+public class ListenableFutureCallAdapterFactory extends CallAdapter.Factory {
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != ListenableFuture.class) {
+            return null;
+        }
+        if (!(returnType instanceof ParameterizedType)) {
+            throw new IllegalStateException("ListenableFuture return type must be parameterized"
+                    + " as ListenableFuture<Foo> or ListenableFuture<Response<Foo>>");
+        }
+        Type innerType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        if (getRawType(innerType) != Response.class) {
+            return new BodyAdapter<>(callAdapter(innerType, annotations, retrofit));
+        }
+        if (!(innerType instanceof ParameterizedType)) {
+            throw new IllegalStateException("Response must be parameterized as Response<Foo>");
+        }
+        return new ResponseAdapter<>(callAdapter(getParameterUpperBound(0, (ParameterizedType) innerType),
+                annotations, retrofit));
+    }
+
+    // What the rest of the chain would do for the same method declared as Call<bodyType>
+    @SuppressWarnings("unchecked")
+    private <R> CallAdapter<R, Call<R>> callAdapter(Type bodyType, Annotation[] annotations, Retrofit retrofit) {
+        return (CallAdapter<R, Call<R>>) retrofit.nextCallAdapter(this, new CallType(bodyType), annotations);
+    }
+
+    private static final class CallType implements ParameterizedType {
+        private final Type bodyType;
+
+        CallType(Type bodyType) {
+            this.bodyType = bodyType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[] { bodyType };
+        }
+
+        @Override
+        public Type getRawType() {
+            return Call.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+
+    private static class BodyAdapter<R> implements CallAdapter<R, ListenableFuture<R>> {
+        private final CallAdapter<R, Call<R>> delegate;
+
+        BodyAdapter(CallAdapter<R, Call<R>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public ListenableFuture<R> adapt(Call<R> call) {
+            return CallFutures.of(delegate.adapt(call));
+        }
+    }
+
+    private static class ResponseAdapter<R> implements CallAdapter<R, ListenableFuture<Response<R>>> {
+        private final CallAdapter<R, Call<R>> delegate;
+
+        ResponseAdapter(CallAdapter<R, Call<R>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Type responseType() {
+            return delegate.responseType();
+        }
+
+        @Override
+        public ListenableFuture<Response<R>> adapt(Call<R> call) {
+            return CallFutures.response(delegate.adapt(call));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.plateit.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Gson converter that also reads CBOR responses, picked per response by Content-Type
+ * (see {@link WireFormat}). Both formats go through the same type adapters, so the
+ * generated Stag adapters serve as the codecs for either. Request bodies stay JSON.
+ */
+public class NegotiatedConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+    private final GsonConverterFactory json;
+
+    private NegotiatedConverterFactory(Gson gson) {
+        this.gson = gson;
+        this.json = GsonConverterFactory.create(gson);
+    }
+
+    public static NegotiatedConverterFactory create(Gson gson) {
+        return new NegotiatedConverterFactory(gson);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        Converter<ResponseBody, ?> jsonConverter = json.responseBodyConverter(type, annotations, retrofit);
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        return body -> {
+            if (!WireFormat.isCbor(body.contentType())) {
+                return jsonConverter.convert(body);
+            }
+            try (JsonReader reader = WireFormat.reader(body)) {
+                Object result = adapter.read(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) {
+                    throw new JsonIOException("CBOR document was not fully consumed.");
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+            Annotation[] methodAnnotations, Retrofit retrofit) {
+        return json.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
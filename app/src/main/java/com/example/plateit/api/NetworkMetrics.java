@@ -0,0 +1,173 @@
+package com.example.plateit.api;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory latency store fed by {@link NetworkTimingListener}.
+ *
+ * Keeps the last MAX_SAMPLES values per endpoint and phase and reports p50/p95/p99,
+ * which is enough to tell a cold start (connect/ttfb) from a slow upload (request)
+ * or a slow agent (ttfb on a warm connection, body on streaming calls).
+ */
+public class NetworkMetrics {
+
+    public static final String PHASE_DNS = "dns";
+    public static final String PHASE_CONNECT = "connect";
+    public static final String PHASE_TLS = "tls";
+    public static final String PHASE_REQUEST = "request";
+    public static final String PHASE_TTFB = "ttfb";
+    public static final String PHASE_BODY = "body";
+    public static final String PHASE_TOTAL = "total";
+
+    private static final String[] PHASE_ORDER = { PHASE_DNS, PHASE_CONNECT, PHASE_TLS, PHASE_REQUEST,
+            PHASE_TTFB, PHASE_BODY, PHASE_TOTAL };
+    private static final int MAX_SAMPLES = 256;
+
+    private static final NetworkMetrics instance = new NetworkMetrics();
+
+    private final Map<String, Endpoint> endpoints = new TreeMap<>();
+    // Calls cancelled because their screen went away, and response bytes that were skipped
+    private int teardownCancels;
+    private long cancelledBytes;
+    // BACKGROUND calls held back behind interactive ones (see PriorityInterceptor)
+    private int backgroundDeferrals;
+    private long backgroundDeferredMillis;
+
+    public static NetworkMetrics getInstance() {
+        return instance;
+    }
+
+    synchronized void record(String endpoint, Map<String, Long> phaseMillis, boolean failed) {
+        Endpoint stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = new Endpoint();
+            endpoints.put(endpoint, stats);
+        }
+        stats.calls++;
+        if (failed) {
+            stats.failures++;
+        }
+        for (Map.Entry<String, Long> phase : phaseMillis.entrySet()) {
+            Reservoir reservoir = stats.phases.get(phase.getKey());
+            if (reservoir == null) {
+                reservoir = new Reservoir();
+                stats.phases.put(phase.getKey(), reservoir);
+            }
+            reservoir.add(phase.getValue());
+        }
+    }
+
+    synchronized void recordTeardownCancel() {
+        teardownCancels++;
+    }
+
+    synchronized void recordCancelledBytes(long bytes) {
+        cancelledBytes += bytes;
+    }
+
+    synchronized void recordBackgroundDeferral(long millis) {
+        backgroundDeferrals++;
+        backgroundDeferredMillis += millis;
+    }
+
+    public synchronized int getTeardownCancels() {
+        return teardownCancels;
+    }
+
+    public synchronized long getCancelledBytes() {
+        return cancelledBytes;
+    }
+
+    public synchronized void reset() {
+        endpoints.clear();
+        teardownCancels = 0;
+        cancelledBytes = 0;
+        backgroundDeferrals = 0;
+        backgroundDeferredMillis = 0;
+    }
+
+    /** Plain-text table, one block per endpoint. Phases without samples (e.g. dns on a reused connection) are omitted. */
+    public synchronized String report() {
+        if (endpoints.isEmpty()) {
+            return "No requests recorded yet.\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Cancelled on screen teardown: ").append(teardownCancels)
+                .append(" calls; cancelled responses skipped ").append(cancelledBytes / 1024).append(" KB\n");
+        sb.append("Background calls deferred: ").append(backgroundDeferrals)
+                .append(" (").append(backgroundDeferredMillis).append(" ms total)\n\n");
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint stats = entry.getValue();
+            sb.append(entry.getKey()).append("  calls=").append(stats.calls)
+                    .append(" failed=").append(stats.failures).append('\n');
+            for (String phase : PHASE_ORDER) {
+                Reservoir reservoir = stats.phases.get(phase);
+                if (reservoir == null) {
+                    continue;
+                }
+                long[] sorted = reservoir.sorted();
+                sb.append(String.format(java.util.Locale.US, "  %-8s n=%-4d p50=%6d p95=%6d p99=%6d ms%n",
+                        phase, sorted.length, percentile(sorted, 50), percentile(sorted, 95),
+                        percentile(sorted, 99)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Writes the report to app-specific external storage (pullable with adb) and returns the file. */
+    public File dumpToFile(Context context) throws IOException {
+        File dir = context.getExternalFilesDir("diagnostics");
+        if (dir == null) {
+            dir = new File(context.getFilesDir(), "diagnostics");
+        }
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        String stamp = new java.text.SimpleDateFormat("yyyyMMdd_HHmmss", java.util.Locale.US)
+                .format(new java.util.Date());
+        File file = new File(dir, "network_timings_" + stamp + ".txt");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(report());
+        }
+        return file;
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static class Endpoint {
+        int calls;
+        int failures;
+        final Map<String, Reservoir> phases = new LinkedHashMap<>();
+    }
+
+    // Ring buffer of the most recent samples
+    private static class Reservoir {
+        final long[] samples = new long[MAX_SAMPLES];
+        int size;
+        int next;
+
+        void add(long value) {
+            samples[next] = value;
+            next = (next + 1) % MAX_SAMPLES;
+            size = Math.min(size + 1, MAX_SAMPLES);
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Times the phases of each Retrofit call and reports them to {@link NetworkMetrics},
+ * keyed by service method (e.g. "AgentApiService.chat"). Calls made without a
+ * Retrofit Invocation (raw OkHttp, Picasso) are not instrumented.
+ *
+ * With retries or the cache fallback a call can connect more than once; phases then
+ * reflect the last attempt while "total" covers the whole call.
+ */
+public class NetworkTimingListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = factory(null);
+
+    /** Like FACTORY, and also reports failed connects to dns so it stops handing out that address. */
+    public static EventListener.Factory factory(PersistentDns dns) {
+        return call -> {
+            String endpoint = endpointOf(call.request());
+            return endpoint != null ? new NetworkTimingListener(endpoint, dns) : EventListener.NONE;
+        };
+    }
+
+    private final String endpoint;
+    private final PersistentDns dns;
+    private final Map<String, Long> phases = new HashMap<>();
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long tlsStart;
+    private long requestStart;
+    private long requestEnd;
+    private long bodyStart;
+
+    private NetworkTimingListener(String endpoint, PersistentDns dns) {
+        this.endpoint = endpoint;
+        this.dns = dns;
+    }
+
+    static String endpointOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return null;
+        }
+        return invocation.method().getDeclaringClass().getSimpleName() + "." + invocation.method().getName();
+    }
+
+    private static long now() {
+        return System.nanoTime();
+    }
+
+    private void phase(String name, long startNanos) {
+        phases.put(name, (now() - startNanos) / 1_000_000);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = now();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = now();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        phase(NetworkMetrics.PHASE_DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = now();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = now();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        phase(NetworkMetrics.PHASE_TLS, tlsStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        phase(NetworkMetrics.PHASE_CONNECT, connectStart);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+            IOException ioe) {
+        phase(NetworkMetrics.PHASE_CONNECT, connectStart);
+        if (dns != null) {
+            dns.connectFailed(inetSocketAddress);
+        }
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = now();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = now();
+        phases.put(NetworkMetrics.PHASE_REQUEST, (requestEnd - requestStart) / 1_000_000);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = now();
+        phases.put(NetworkMetrics.PHASE_REQUEST, (requestEnd - requestStart) / 1_000_000);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        // Server think time plus the trip back: cold starts and agent latency show up here
+        phase(NetworkMetrics.PHASE_TTFB, requestEnd);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = now();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        phase(NetworkMetrics.PHASE_BODY, bodyStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        finish(true);
+    }
+
+    private void finish(boolean failed) {
+        phase(NetworkMetrics.PHASE_TOTAL, callStart);
+        NetworkMetrics.getInstance().record(endpoint, phases, failed);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+/** Thrown instead of making a request while {@link Reachability} reports no validated network. */
+public class OfflineException extends IOException {
+    public OfflineException() {
+        super("No network connection");
+    }
+}
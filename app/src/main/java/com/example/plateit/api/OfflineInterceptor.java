@@ -0,0 +1,28 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Fails requests immediately with {@link OfflineException} while there is no validated
+ * network, instead of letting them wait out the connect timeout.
+ *
+ * Sits below {@link CachePolicyInterceptor}'s application half, so a GET with a cache
+ * policy is answered from the HTTP cache right away, and above
+ * {@link ResilienceInterceptor} so nothing is retried or counted against the breaker.
+ */
+class OfflineInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        // The cache fallback itself must get through
+        if (!request.cacheControl().onlyIfCached() && !Reachability.getInstance().isOnline()) {
+            throw new OfflineException();
+        }
+        return chain.proceed(request);
+    }
+}
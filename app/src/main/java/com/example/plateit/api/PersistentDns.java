@@ -0,0 +1,152 @@
+package com.example.plateit.api;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.Dns;
+
+/**
+ * DNS for the shared client that remembers answers across process restarts.
+ *
+ * A remembered answer up to MAX_STALE_MS old is returned right away, without a lookup,
+ * so the first request after launch skips DNS; once it is older than REFRESH_AFTER_MS it
+ * is also re-resolved in the background for the next connection. Older answers are
+ * resolved again first and only used if that lookup fails.
+ *
+ * A remembered address may have moved (e.g. the backend was redeployed), so a failed
+ * connect to one expires the answer and the next lookup resolves again; see
+ * {@link #connectFailed}.
+ */
+public class PersistentDns implements Dns {
+
+    private static final String PREFS = "dns_cache";
+    private static final long REFRESH_AFTER_MS = 5 * 60 * 1000;
+    private static final long MAX_STALE_MS = 24 * 60 * 60 * 1000;
+
+    private static final class Entry {
+        final List<InetAddress> addresses;
+        final long resolvedAt;
+
+        Entry(List<InetAddress> addresses, long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+
+    private final SharedPreferences prefs;
+    private final Map<String, Entry> memory = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor();
+
+    public PersistentDns(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+        Entry cached = get(hostname);
+        long age = cached != null ? System.currentTimeMillis() - cached.resolvedAt : Long.MAX_VALUE;
+        if (age < REFRESH_AFTER_MS) {
+            return cached.addresses;
+        }
+        if (age < MAX_STALE_MS) {
+            refreshInBackground(hostname);
+            return cached.addresses;
+        }
+        try {
+            return resolve(hostname);
+        } catch (UnknownHostException e) {
+            // e.g. a captive or flaky resolver; an old answer beats failing outright
+            if (cached != null) {
+                return cached.addresses;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Marks the remembered answer holding this address as expired, so the next lookup
+     * resolves again first. It is kept only as the fallback for a failed lookup.
+     */
+    public void connectFailed(InetSocketAddress address) {
+        InetAddress failed = address.getAddress();
+        if (failed == null) {
+            return;
+        }
+        for (Map.Entry<String, Entry> cached : memory.entrySet()) {
+            Entry entry = cached.getValue();
+            if (entry.resolvedAt != 0 && entry.addresses.contains(failed)) {
+                put(cached.getKey(), new Entry(entry.addresses, 0));
+            }
+        }
+    }
+
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException {
+        List<InetAddress> addresses = Dns.SYSTEM.lookup(hostname);
+        put(hostname, new Entry(addresses, System.currentTimeMillis()));
+        return addresses;
+    }
+
+    private void refreshInBackground(String hostname) {
+        if (refreshing.putIfAbsent(hostname, Boolean.TRUE) != null) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                resolve(hostname);
+            } catch (UnknownHostException e) {
+                // Keep serving the remembered answer until it is too old
+            } finally {
+                refreshing.remove(hostname);
+            }
+        });
+    }
+
+    private Entry get(String hostname) {
+        Entry entry = memory.get(hostname);
+        if (entry != null) {
+            return entry;
+        }
+        // Stored as "<resolvedAt>|<ip>,<ip>,..."
+        String stored = prefs.getString(hostname, null);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            String[] parts = stored.split("\\|", 2);
+            List<InetAddress> addresses = new ArrayList<>();
+            for (String ip : parts[1].split(",")) {
+                // Literal addresses are parsed locally, no lookup happens here
+                addresses.add(InetAddress.getByAddress(hostname, InetAddress.getByName(ip).getAddress()));
+            }
+            entry = new Entry(addresses, Long.parseLong(parts[0]));
+            memory.put(hostname, entry);
+            return entry;
+        } catch (RuntimeException | UnknownHostException e) {
+            prefs.edit().remove(hostname).apply();
+            return null;
+        }
+    }
+
+    private void put(String hostname, Entry entry) {
+        memory.put(hostname, entry);
+        StringBuilder ips = new StringBuilder();
+        for (InetAddress address : entry.addresses) {
+            if (ips.length() > 0) {
+                ips.append(',');
+            }
+            ips.append(address.getHostAddress());
+        }
+        prefs.edit().putString(hostname, entry.resolvedAt + "|" + ips).apply();
+    }
+}
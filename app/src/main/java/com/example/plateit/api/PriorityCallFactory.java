@@ -0,0 +1,56 @@
+package com.example.plateit.api;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import retrofit2.Invocation;
+
+/**
+ * Retrofit call factory that runs each request on the client of its {@link Priority}.
+ *
+ * The clients are derived from one base client, so they share the connection pool,
+ * cache, interceptors and DNS; only the {@link Dispatcher} (and with it the concurrency
+ * limits) differs per class. Unannotated requests count as USER_INITIATED.
+ */
+public class PriorityCallFactory implements Call.Factory {
+
+    private final Map<PriorityClass, OkHttpClient> clients = new EnumMap<>(PriorityClass.class);
+
+    public PriorityCallFactory(OkHttpClient base) {
+        for (PriorityClass priority : PriorityClass.values()) {
+            OkHttpClient.Builder builder = base.newBuilder().dispatcher(newDispatcher(priority));
+            // Outermost, so time spent held back doesn't count against the @Latency deadline
+            builder.interceptors().add(0, new PriorityInterceptor(priority));
+            clients.put(priority, builder.build());
+        }
+    }
+
+    static PriorityClass priorityOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return PriorityClass.USER_INITIATED;
+        }
+        Priority priority = invocation.method().getAnnotation(Priority.class);
+        return priority != null ? priority.value() : PriorityClass.USER_INITIATED;
+    }
+
+    static Dispatcher newDispatcher(PriorityClass priority) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(priority.maxRequests);
+        dispatcher.setMaxRequestsPerHost(priority.maxRequestsPerHost);
+        return dispatcher;
+    }
+
+    public OkHttpClient clientFor(PriorityClass priority) {
+        return clients.get(priority);
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return clients.get(priorityOf(request)).newCall(request);
+    }
+}
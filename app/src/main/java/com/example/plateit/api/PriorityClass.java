@@ -0,0 +1,23 @@
+package com.example.plateit.api;
+
+/**
+ * Scheduling classes for backend calls. Each class has its own OkHttp dispatcher, so
+ * background refreshes can never take the slots a user is waiting on.
+ * Pick one per service method with {@link Priority}; see {@link PriorityCallFactory}.
+ */
+public enum PriorityClass {
+    // The user is watching a spinner for this answer (chat, scans, extraction)
+    INTERACTIVE(16, 8),
+    // Screen loads and writes triggered by a tap
+    USER_INITIATED(8, 4),
+    // Recommendations, stats, prefetches, sync replays and thumbnails; held back while INTERACTIVE calls run
+    BACKGROUND(4, 2);
+
+    public final int maxRequests;
+    public final int maxRequestsPerHost;
+
+    PriorityClass(int maxRequests, int maxRequestsPerHost) {
+        this.maxRequests = maxRequests;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+}
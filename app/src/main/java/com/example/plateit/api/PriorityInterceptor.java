@@ -0,0 +1,125 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Holds BACKGROUND calls back while an INTERACTIVE call is in flight, so a refresh of
+ * recommendations or stats doesn't compete with the reply the user is waiting for.
+ *
+ * An interactive call counts as in flight until its response body is closed, which
+ * covers streamed chat replies. Background calls wait at most MAX_DEFER_MS, so a
+ * long extraction can't starve them; deferral happens before the request is sent,
+ * running background calls are left alone. Added by {@link PriorityCallFactory}.
+ */
+class PriorityInterceptor implements Interceptor {
+
+    private static final long MAX_DEFER_MS = 10_000;
+    // Re-checks cancellation while waiting
+    private static final long POLL_MS = 250;
+
+    private static final Object lock = new Object();
+    private static int interactiveInFlight;
+
+    private final PriorityClass priority;
+
+    PriorityInterceptor(PriorityClass priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (priority == PriorityClass.BACKGROUND) {
+            awaitInteractiveIdle(chain.call());
+            return chain.proceed(chain.request());
+        }
+        if (priority != PriorityClass.INTERACTIVE) {
+            return chain.proceed(chain.request());
+        }
+
+        synchronized (lock) {
+            interactiveInFlight++;
+        }
+        AtomicBoolean released = new AtomicBoolean(false);
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            release(released);
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            release(released);
+            return response;
+        }
+        ForwardingSource releasing = new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                try {
+                    long n = super.read(sink, byteCount);
+                    if (n == -1) {
+                        release(released);
+                    }
+                    return n;
+                } catch (IOException e) {
+                    release(released);
+                    throw e;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                release(released);
+                super.close();
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(releasing)))
+                .build();
+    }
+
+    private static void release(AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            synchronized (lock) {
+                interactiveInFlight--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static void awaitInteractiveIdle(okhttp3.Call call) throws IOException {
+        long start = System.currentTimeMillis();
+        long deadline = start + MAX_DEFER_MS;
+        boolean deferred = false;
+        synchronized (lock) {
+            while (interactiveInFlight > 0 && !call.isCanceled()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                deferred = true;
+                try {
+                    lock.wait(Math.min(remaining, POLL_MS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while deferred");
+                }
+            }
+        }
+        if (deferred) {
+            NetworkMetrics.getInstance().recordBackgroundDeferral(System.currentTimeMillis() - start);
+        }
+        if (call.isCanceled()) {
+            throw new IOException("Canceled");
+        }
+    }
+}
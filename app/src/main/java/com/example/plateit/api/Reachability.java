@@ -0,0 +1,126 @@
+package com.example.plateit.api;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks whether the default network is validated (has working internet, not just a
+ * Wi-Fi association or a captive portal), for {@link OfflineInterceptor}.
+ *
+ * Screens that had a read short-circuited, or answered from cache, while offline
+ * register it with deferIfOffline(); when a validated network comes back all pending
+ * refreshes run together in one main-thread batch. A refresh is dropped if its owner
+ * is destroyed first. Until init() is called everything counts as online.
+ */
+public class Reachability {
+
+    private static final Reachability instance = new Reachability();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Owner -> refreshes by key, so repeated failures of the same read queue it once
+    private final Map<LifecycleOwner, Map<String, Runnable>> deferred = new LinkedHashMap<>();
+    private volatile boolean online = true;
+    private boolean initialized;
+
+    public static Reachability getInstance() {
+        return instance;
+    }
+
+    /** Called once from PlateItApplication. */
+    public synchronized void init(Context context) {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        ConnectivityManager cm = (ConnectivityManager) context.getApplicationContext()
+                .getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (cm == null) {
+            return;
+        }
+        online = isValidated(cm.getNetworkCapabilities(cm.getActiveNetwork()));
+        cm.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                setOnline(isValidated(capabilities));
+            }
+
+            @Override
+            public void onLost(@NonNull Network network) {
+                setOnline(false);
+            }
+        });
+    }
+
+    private static boolean isValidated(NetworkCapabilities capabilities) {
+        return capabilities != null
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    private void setOnline(boolean nowOnline) {
+        boolean cameBack = nowOnline && !online;
+        online = nowOnline;
+        if (cameBack) {
+            android.util.Log.d("Reachability", "Validated network is back, replaying deferred refreshes");
+            mainHandler.post(this::replay);
+        }
+    }
+
+    /**
+     * Runs refresh once a validated network returns, if the device is offline now.
+     * Main thread only. Call it from both outcomes of a read: a failed call and a
+     * response the cache answered while offline both need a refresh later.
+     */
+    public void deferIfOffline(LifecycleOwner owner, String key, Runnable refresh) {
+        if (online || owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        Map<String, Runnable> refreshes = deferred.get(owner);
+        if (refreshes == null) {
+            refreshes = new LinkedHashMap<>();
+            deferred.put(owner, refreshes);
+            owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+                @Override
+                public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                    if (event == Lifecycle.Event.ON_DESTROY) {
+                        deferred.remove(source);
+                        source.getLifecycle().removeObserver(this);
+                    }
+                }
+            });
+        }
+        refreshes.put(key, refresh);
+    }
+
+    private void replay() {
+        if (!online || deferred.isEmpty()) {
+            return;
+        }
+        List<Runnable> batch = new ArrayList<>();
+        for (Map<String, Runnable> refreshes : deferred.values()) {
+            batch.addAll(refreshes.values());
+            refreshes.clear();
+        }
+        for (Runnable refresh : batch) {
+            refresh.run();
+        }
+    }
+}
@@ -15,22 +15,52 @@ import retrofit2.http.Multipart;
 import retrofit2.http.Part;
 
 public interface RecipeApiService {
+    @Priority(PriorityClass.INTERACTIVE)
+    @Latency(LatencyClass.LONG_RUNNING)
+    @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
     @POST("/extract_recipe")
     Call<RecipeResponse> extractRecipe(@Body VideoRequest body);
 
+    // Async variant of extractRecipe: returns a job id right away, poll getExtractionJob for progress
+    @Priority(PriorityClass.USER_INITIATED)
+    @Latency(LatencyClass.FAST_CRUD)
+    @POST("/extract_recipe/jobs")
+    Call<com.example.plateit.responses.ExtractionJobResponse> submitExtractionJob(@Body VideoRequest body);
+
+    @Priority(PriorityClass.BACKGROUND)
+    @Latency(LatencyClass.FAST_CRUD)
+    @retrofit2.http.GET("/extract_recipe/jobs/{job_id}")
+    Call<com.example.plateit.responses.ExtractionJobResponse> getExtractionJob(
+            @retrofit2.http.Path("job_id") String jobId);
+
+    @Priority(PriorityClass.INTERACTIVE)
+    @Latency(LatencyClass.LONG_RUNNING)
     @Multipart
+    @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
     @POST("/extract_recipe_image")
     Call<RecipeResponse> extractRecipeImage(@Part MultipartBody.Part image);
 
+    @Priority(PriorityClass.USER_INITIATED)
+    @Latency(LatencyClass.FAST_CRUD)
     @POST("/signin")
     Call<AuthResponse> signin(@Body SignInRequest body);
 
+    @Priority(PriorityClass.USER_INITIATED)
+    @Latency(LatencyClass.FAST_CRUD)
     @POST("/signup")
     Call<AuthResponse> signup(@Body SignUpRequest body);
 
+    @Priority(PriorityClass.INTERACTIVE)
+    @Latency(LatencyClass.INTERACTIVE)
+    @CompressRequest
+    @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
     @POST("/chat")
     Call<com.example.plateit.responses.ChatResponse> chat(@Body com.example.plateit.requests.ChatRequest body);
 
+    @Priority(PriorityClass.BACKGROUND)
+    @Latency(LatencyClass.INTERACTIVE)
+    @CachePolicy(maxAgeSeconds = 15 * 60)
+    @retrofit2.http.Headers(WireFormat.ACCEPT_CBOR)
     @retrofit2.http.GET("/recommendations/videos/{user_id}")
     Call<com.example.plateit.responses.VideoRecommendationResponse> getRecommendations(
             @retrofit2.http.Path("user_id") String userId);
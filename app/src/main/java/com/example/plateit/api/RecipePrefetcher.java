@@ -0,0 +1,276 @@
+package com.example.plateit.api;
+
+import android.util.LruCache;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.plateit.responses.RecipeResponse;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Warms full recipe details for recipe cards while they are on screen, so that
+ * "Start Cooking" usually opens without a loading step.
+ *
+ * track() follows a result list and prefetches the first VISIBLE_LIMIT visible cards;
+ * cards that scroll away (or a list that is closed) cancel their prefetch. At most
+ * MAX_IN_FLIGHT prefetches run at once, at BACKGROUND priority, so they don't crowd out
+ * user-initiated calls.
+ * Finished details stay in a small memory LRU; recipe details are also cached on disk
+ * for a day by the HTTP cache. Main thread only.
+ */
+public class RecipePrefetcher {
+
+    public interface IdProvider {
+        /** Recipe id for the adapter position, or a value <= 0 if the card has none. */
+        int idAt(int position);
+    }
+
+    public interface Listener {
+        void onLoaded(RecipeResponse recipe);
+
+        void onFailed();
+    }
+
+    private static final int VISIBLE_LIMIT = 3;
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MEMORY_ENTRIES = 24;
+
+    private static RecipePrefetcher instance;
+
+    private final LruCache<Integer, RecipeResponse> memory = new LruCache<>(MEMORY_ENTRIES);
+    // Number of trackers that want each id; the prefetch is dropped when it reaches 0
+    private final Map<Integer, Integer> wanted = new HashMap<>();
+    private final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    private final Map<Integer, Call<RecipeResponse>> inFlight = new HashMap<>();
+    private final WeakHashMap<RecyclerView, Tracker> trackers = new WeakHashMap<>();
+
+    public static synchronized RecipePrefetcher getInstance() {
+        if (instance == null) {
+            instance = new RecipePrefetcher();
+        }
+        return instance;
+    }
+
+    public RecipeResponse getCached(int recipeId) {
+        return memory.get(recipeId);
+    }
+
+    /**
+     * Loads details for a tap on a card: from memory if prefetched, otherwise from the
+     * network at user-initiated priority. A prefetch still running for the card is
+     * cancelled, since it may be held back behind a chat reply.
+     */
+    public void load(int recipeId, Listener listener) {
+        RecipeResponse cached = memory.get(recipeId);
+        if (cached != null) {
+            listener.onLoaded(cached);
+            return;
+        }
+        Call<RecipeResponse> prefetch = inFlight.remove(recipeId);
+        if (prefetch != null) {
+            prefetch.cancel();
+            pump();
+        }
+        RetrofitClient.getAgentService().getRecipeDetails(recipeId).enqueue(new Callback<RecipeResponse>() {
+            @Override
+            public void onResponse(Call<RecipeResponse> call, Response<RecipeResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    memory.put(recipeId, response.body());
+                    listener.onLoaded(response.body());
+                } else {
+                    listener.onFailed();
+                }
+            }
+
+            @Override
+            public void onFailure(Call<RecipeResponse> call, Throwable t) {
+                listener.onFailed();
+            }
+        });
+    }
+
+    /** Starts prefetching for the cards of this list; replaces an earlier tracker on the same list. */
+    public Tracker track(RecyclerView recyclerView, IdProvider ids) {
+        Tracker previous = trackers.remove(recyclerView);
+        if (previous != null) {
+            previous.stop();
+        }
+        Tracker tracker = new Tracker(recyclerView, ids);
+        trackers.put(recyclerView, tracker);
+        return tracker;
+    }
+
+    private void want(int recipeId) {
+        Integer count = wanted.get(recipeId);
+        wanted.put(recipeId, count == null ? 1 : count + 1);
+        if (count == null && memory.get(recipeId) == null && !inFlight.containsKey(recipeId)) {
+            queue.add(recipeId);
+            pump();
+        }
+    }
+
+    private void unwant(int recipeId) {
+        Integer count = wanted.get(recipeId);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            wanted.put(recipeId, count - 1);
+            return;
+        }
+        wanted.remove(recipeId);
+        queue.remove((Integer) recipeId);
+        Call<RecipeResponse> call = inFlight.remove(recipeId);
+        if (call != null) {
+            call.cancel();
+            pump();
+        }
+    }
+
+    private void pump() {
+        while (inFlight.size() < MAX_IN_FLIGHT && !queue.isEmpty()) {
+            int recipeId = queue.poll();
+            Call<RecipeResponse> call = RetrofitClient.getAgentService().prefetchRecipeDetails(recipeId);
+            inFlight.put(recipeId, call);
+            call.enqueue(new Callback<RecipeResponse>() {
+                @Override
+                public void onResponse(Call<RecipeResponse> c, Response<RecipeResponse> response) {
+                    if (response.isSuccessful() && response.body() != null) {
+                        memory.put(recipeId, response.body());
+                    }
+                    finished(recipeId, c);
+                }
+
+                @Override
+                public void onFailure(Call<RecipeResponse> c, Throwable t) {
+                    finished(recipeId, c);
+                }
+            });
+        }
+    }
+
+    private void finished(int recipeId, Call<RecipeResponse> call) {
+        if (inFlight.get(recipeId) == call) {
+            inFlight.remove(recipeId);
+        }
+        pump();
+    }
+
+    /** Follows one RecyclerView; drops its prefetches while the list is off screen. */
+    public class Tracker {
+        private final RecyclerView recyclerView;
+        private final IdProvider ids;
+        // Attached card view -> {adapter position at attach time, recipe id}
+        private final Map<View, int[]> attached = new HashMap<>();
+        private final Set<Integer> requested = new HashSet<>();
+        private boolean stopped = false;
+
+        private final RecyclerView.OnChildAttachStateChangeListener childListener = new RecyclerView.OnChildAttachStateChangeListener() {
+            @Override
+            public void onChildViewAttachedToWindow(@NonNull View view) {
+                int position = recyclerView.getChildAdapterPosition(view);
+                if (position != RecyclerView.NO_POSITION) {
+                    attached.put(view, new int[] { position, ids.idAt(position) });
+                    update();
+                }
+            }
+
+            @Override
+            public void onChildViewDetachedFromWindow(@NonNull View view) {
+                // Position may already be gone here (adapter swapped), so key by view
+                if (attached.remove(view) != null) {
+                    update();
+                }
+            }
+        };
+
+        private final View.OnAttachStateChangeListener windowListener = new View.OnAttachStateChangeListener() {
+            @Override
+            public void onViewAttachedToWindow(@NonNull View v) {
+                // e.g. a chat row scrolled back in; its cards may not be re-bound
+                for (int i = 0; i < recyclerView.getChildCount(); i++) {
+                    childListener.onChildViewAttachedToWindow(recyclerView.getChildAt(i));
+                }
+            }
+
+            @Override
+            public void onViewDetachedFromWindow(@NonNull View v) {
+                // Sheet dismissed, screen closed or row scrolled away
+                attached.clear();
+                update();
+            }
+        };
+
+        private Tracker(RecyclerView recyclerView, IdProvider ids) {
+            this.recyclerView = recyclerView;
+            this.ids = ids;
+            recyclerView.addOnChildAttachStateChangeListener(childListener);
+            recyclerView.addOnAttachStateChangeListener(windowListener);
+            if (recyclerView.isAttachedToWindow()) {
+                windowListener.onViewAttachedToWindow(recyclerView);
+            }
+        }
+
+        private void update() {
+            if (stopped) {
+                return;
+            }
+            // First VISIBLE_LIMIT cards in list order
+            TreeMap<Integer, Integer> byPosition = new TreeMap<>();
+            for (int[] card : attached.values()) {
+                byPosition.put(card[0], card[1]);
+            }
+            Set<Integer> desired = new HashSet<>();
+            for (int recipeId : byPosition.values()) {
+                if (desired.size() >= VISIBLE_LIMIT) {
+                    break;
+                }
+                if (recipeId > 0) {
+                    desired.add(recipeId);
+                }
+            }
+            for (Iterator<Integer> it = requested.iterator(); it.hasNext();) {
+                int recipeId = it.next();
+                if (!desired.contains(recipeId)) {
+                    it.remove();
+                    unwant(recipeId);
+                }
+            }
+            for (int recipeId : desired) {
+                if (requested.add(recipeId)) {
+                    want(recipeId);
+                }
+            }
+        }
+
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            recyclerView.removeOnChildAttachStateChangeListener(childListener);
+            recyclerView.removeOnAttachStateChangeListener(windowListener);
+            for (int recipeId : requested) {
+                unwant(recipeId);
+            }
+            requested.clear();
+            if (trackers.get(recyclerView) == this) {
+                trackers.remove(recyclerView);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import retrofit2.Invocation;
+
+/**
+ * Gzips the request body of service methods annotated with {@link CompressRequest}.
+ *
+ * The compressed body is buffered so it goes out with a Content-Length (the backend
+ * reads it in one piece anyway) and so a retry can resend it. If compression doesn't
+ * make the body smaller, the original is sent.
+ */
+public class RequestCompressionInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestBody body = request.body();
+        Invocation invocation = request.tag(Invocation.class);
+        if (body == null || invocation == null || request.header("Content-Encoding") != null) {
+            return chain.proceed(request);
+        }
+        CompressRequest compress = invocation.method().getAnnotation(CompressRequest.class);
+        if (compress == null) {
+            return chain.proceed(request);
+        }
+
+        long length = body.contentLength();
+        if (length >= 0 && length < compress.minBytes()) {
+            return chain.proceed(request);
+        }
+
+        Buffer compressed = new Buffer();
+        BufferedSink gzip = Okio.buffer(new GzipSink(compressed));
+        body.writeTo(gzip);
+        gzip.close();
+        if (length >= 0 && compressed.size() >= length) {
+            return chain.proceed(request);
+        }
+
+        Request gzipped = request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), new BufferedBody(body.contentType(), compressed))
+                .build();
+        return chain.proceed(gzipped);
+    }
+
+    private static class BufferedBody extends RequestBody {
+        private final MediaType contentType;
+        private final Buffer buffer;
+
+        BufferedBody(MediaType contentType, Buffer buffer) {
+            this.contentType = contentType;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return buffer.size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            // Copy so a retry can write the same bytes again
+            sink.write(buffer.snapshot());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.plateit.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Retries transient failures and guards each host with a {@link CircuitBreaker}.
+ *
+ * Only idempotent requests are retried: GET/HEAD/PUT/DELETE and writes that carry an
+ * Idempotency-Key (outbox replays). Retried outcomes are IOExceptions and 429/502/503/504,
+ * with full-jitter exponential backoff, or the server's Retry-After when it sends one.
+ *
+ * Sits below {@link CachePolicyInterceptor}'s application half so a short-circuited GET
+ * still falls back to the cache, and below {@link LatencyInterceptor} so the call deadline
+ * bounds all attempts together: each attempt gets the time left as its timeouts, and no
+ * retry is started that could not finish in time.
+ */
+public class ResilienceInterceptor implements Interceptor {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_DELAY_MS = 500;
+    private static final long MAX_DELAY_MS = 8_000;
+
+    private final ConcurrentHashMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private CircuitBreaker breakerFor(String host) {
+        return breakers.computeIfAbsent(host, CircuitBreaker::new);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        // Cache-only lookups (the stale-if-error fallback) never touch the network
+        if (request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        String host = request.url().host();
+        CircuitBreaker breaker = breakerFor(host);
+        boolean idempotent = isIdempotent(request);
+        ResilienceMonitor monitor = ResilienceMonitor.getInstance();
+        CallDeadline deadline = request.tag(CallDeadline.class);
+
+        for (int attempt = 1;; attempt++) {
+            if (!breaker.allowRequest()) {
+                monitor.onShortCircuit();
+                throw new CircuitOpenException(host);
+            }
+
+            Response response;
+            try {
+                Chain attemptChain = deadline != null ? deadline.bound(chain) : chain;
+                response = attemptChain.proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.onInconclusive();
+                    throw e;
+                }
+                breaker.onFailure();
+                long delay = backoff(attempt);
+                if (!idempotent || attempt >= MAX_ATTEMPTS || !fitsDeadline(deadline, delay)) {
+                    throw e;
+                }
+                monitor.onRetry(host, e.getClass().getSimpleName());
+                sleep(chain, delay);
+                continue;
+            }
+
+            int code = response.code();
+            if (response.networkResponse() == null) {
+                // Served from the HTTP cache below us; the backend wasn't contacted
+                breaker.onInconclusive();
+            } else if (code >= 500) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            if (!idempotent || attempt >= MAX_ATTEMPTS || !isRetryable(code)) {
+                return response;
+            }
+
+            long delay = retryAfter(response, attempt);
+            if (!fitsDeadline(deadline, delay)) {
+                return response;
+            }
+            response.close();
+            monitor.onRetry(host, "HTTP " + code);
+            sleep(chain, delay);
+        }
+    }
+
+    static boolean isIdempotent(Request request) {
+        switch (request.method().toUpperCase(Locale.US)) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+                return true;
+            default:
+                return request.header("Idempotency-Key") != null;
+        }
+    }
+
+    // A retry that would start after the deadline can only fail; keep the current outcome instead
+    private static boolean fitsDeadline(CallDeadline deadline, long delayMillis) {
+        return deadline == null || delayMillis < deadline.remainingMillis();
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    // Full jitter: uniformly random in [0, base * 2^(attempt-1)], capped
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << (attempt - 1));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static long retryAfter(Response response, int attempt) {
+        String header = response.header("Retry-After");
+        if (header != null) {
+            try {
+                return Math.min(MAX_DELAY_MS, Long.parseLong(header.trim()) * 1000);
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form; fall back to our own backoff
+            }
+        }
+        return backoff(attempt);
+    }
+
+    private static void sleep(Chain chain, long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Retry interrupted");
+        }
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.plateit.api;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Counters and breaker states from {@link ResilienceInterceptor}, for diagnostics. */
+public class ResilienceMonitor {
+
+    private static final ResilienceMonitor instance = new ResilienceMonitor();
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong shortCircuits = new AtomicLong();
+    private final Map<String, CircuitBreaker.State> breakerStates = new HashMap<>();
+    private final MutableLiveData<Map<String, CircuitBreaker.State>> breakers = new MutableLiveData<>(
+            Collections.emptyMap());
+
+    public static ResilienceMonitor getInstance() {
+        return instance;
+    }
+
+    /** Breaker state per host; only hosts that ever changed state are listed. */
+    public LiveData<Map<String, CircuitBreaker.State>> observeBreakers() {
+        return breakers;
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getShortCircuitCount() {
+        return shortCircuits.get();
+    }
+
+    void onRetry(String host, String reason) {
+        retries.incrementAndGet();
+        android.util.Log.d("Resilience", "Retrying request to " + host + " after " + reason);
+    }
+
+    void onShortCircuit() {
+        shortCircuits.incrementAndGet();
+    }
+
+    synchronized void onBreakerChanged(String host, CircuitBreaker.State state) {
+        android.util.Log.w("Resilience", "Circuit for " + host + " is now " + state);
+        breakerStates.put(host, state);
+        breakers.postValue(new HashMap<>(breakerStates));
+    }
+}
@@ -1,32 +1,106 @@
 package com.example.plateit.api;
 
+import android.content.Context;
+
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class RetrofitClient {
     // Cloud Run Base URL
-    private static final String BASE_URL = "https://plateit-backend-609208975469.us-central1.run.app/";
+    static final String BASE_URL = "https://plateit-backend-609208975469.us-central1.run.app/";
 //     private static final String BASE_URL = "http://192.168.1.249:8080/";
+    private static final long HTTP_CACHE_SIZE = 20L * 1024 * 1024; // 20 MB
+    private static final long IMAGE_CACHE_SIZE = 50L * 1024 * 1024; // 50 MB
     private static Retrofit recipefit = null;
+    private static okhttp3.OkHttpClient okHttpClient = null;
+    private static PriorityCallFactory priorityCallFactory = null;
+    private static okhttp3.OkHttpClient imageClient = null;
+    private static Context appContext = null;
 
-    public static RecipeApiService getService() {
-        if (recipefit == null) {
-            okhttp3.OkHttpClient okHttpClient = new okhttp3.OkHttpClient.Builder()
-                    .connectTimeout(180, java.util.concurrent.TimeUnit.SECONDS)
-                    .readTimeout(180, java.util.concurrent.TimeUnit.SECONDS)
-                    .writeTimeout(180, java.util.concurrent.TimeUnit.SECONDS)
-                    .build();
+    /**
+     * Called once from PlateItApplication so the shared client can put its
+     * disk cache under the app's cache directory.
+     */
+    public static synchronized void init(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    public static synchronized okhttp3.OkHttpClient getHttpClient() {
+        if (okHttpClient == null) {
+            okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder()
+                    // Defaults for unannotated requests; service methods override via @Latency
+                    .connectTimeout(LatencyClass.INTERACTIVE.connectSeconds, java.util.concurrent.TimeUnit.SECONDS)
+                    .readTimeout(LatencyClass.INTERACTIVE.readSeconds, java.util.concurrent.TimeUnit.SECONDS)
+                    .writeTimeout(LatencyClass.INTERACTIVE.writeSeconds, java.util.concurrent.TimeUnit.SECONDS)
+                    .addInterceptor(new LatencyInterceptor())
+                    .addInterceptor(CachePolicyInterceptor.forApplication())
+                    // Offline: fail at once so the cache fallback above answers without waiting
+                    .addInterceptor(new OfflineInterceptor())
+                    .addInterceptor(new RequestCompressionInterceptor())
+                    // Under the cache fallback so short-circuited GETs are answered from cache
+                    .addInterceptor(new ResilienceInterceptor())
+                    .addNetworkInterceptor(new CancelledBytesInterceptor())
+                    .addNetworkInterceptor(CachePolicyInterceptor.forNetwork())
+                    // Per-phase timings for the debug screen (NetworkDebugActivity)
+                    .eventListenerFactory(NetworkTimingListener.FACTORY);
+
+            if (appContext != null) {
+                java.io.File cacheDir = new java.io.File(appContext.getCacheDir(), "http_cache");
+                builder.cache(new okhttp3.Cache(cacheDir, HTTP_CACHE_SIZE));
+                // Remembered DNS answers let the first request after launch skip the lookup
+                PersistentDns dns = new PersistentDns(appContext);
+                builder.dns(dns);
+                builder.eventListenerFactory(NetworkTimingListener.factory(dns));
+            }
+            okHttpClient = builder.build();
+        }
+        return okHttpClient;
+    }
 
+    /** Per-class clients over the shared one; Retrofit dispatches every service call through this. */
+    public static synchronized PriorityCallFactory getPriorityCallFactory() {
+        if (priorityCallFactory == null) {
+            priorityCallFactory = new PriorityCallFactory(getHttpClient());
+        }
+        return priorityCallFactory;
+    }
+
+    /**
+     * Client for Picasso: thumbnails are BACKGROUND traffic, so they go through that
+     * class's dispatcher and wait behind interactive calls. Images get their own disk
+     * cache so they don't evict API responses from the shared one.
+     */
+    public static synchronized okhttp3.OkHttpClient getImageClient() {
+        if (imageClient == null) {
+            okhttp3.OkHttpClient.Builder builder = getPriorityCallFactory().clientFor(PriorityClass.BACKGROUND)
+                    .newBuilder()
+                    .cache(null);
+            // Thumbnails come from other hosts; the backend's timeouts, retries and cache rules don't apply
+            builder.interceptors().clear();
+            builder.networkInterceptors().clear();
+            builder.interceptors().add(new PriorityInterceptor(PriorityClass.BACKGROUND));
+            if (appContext != null) {
+                java.io.File cacheDir = new java.io.File(appContext.getCacheDir(), "image_cache");
+                builder.cache(new okhttp3.Cache(cacheDir, IMAGE_CACHE_SIZE));
+            }
+            imageClient = builder.build();
+        }
+        return imageClient;
+    }
+
+    public static synchronized RecipeApiService getService() {
+        if (recipefit == null) {
             recipefit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
-                    .client(okHttpClient)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .callFactory(getPriorityCallFactory())
+                    .addCallAdapterFactory(new ListenableFutureCallAdapterFactory())
+                    .addCallAdapterFactory(new CoalescingCallAdapterFactory())
+                    .addConverterFactory(NegotiatedConverterFactory.create(com.example.plateit.utils.GsonProvider.get()))
                     .build();
         }
         return recipefit.create(RecipeApiService.class);
     }
 
-    public static AgentApiService getAgentService() {
+    public static synchronized AgentApiService getAgentService() {
         if (recipefit == null) {
             getService(); // Initialize retrofit
         }
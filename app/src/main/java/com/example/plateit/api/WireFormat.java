@@ -0,0 +1,41 @@
+package com.example.plateit.api;
+
+import com.example.plateit.utils.CborJsonReader;
+import com.google.gson.stream.JsonReader;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+/**
+ * Response formats the backend can send. Service methods with large, repetitive
+ * responses opt into CBOR with {@code @Headers(WireFormat.ACCEPT_CBOR)}; the body is
+ * decoded by its Content-Type (see {@link NegotiatedConverterFactory}), so a JSON
+ * answer, e.g. from an older backend or an old cache entry, still works.
+ */
+public final class WireFormat {
+
+    public static final String CBOR = "application/cbor";
+    public static final String ACCEPT_CBOR = "Accept: application/cbor, application/json;q=0.5";
+
+    private WireFormat() {
+    }
+
+    public static boolean isCbor(MediaType contentType) {
+        return contentType != null && "application".equals(contentType.type())
+                && "cbor".equals(contentType.subtype());
+    }
+
+    /** Reader for the body in whatever format it arrived. */
+    public static JsonReader reader(ResponseBody body) {
+        if (isCbor(body.contentType())) {
+            return new CborJsonReader(body.source());
+        }
+        return new JsonReader(new InputStreamReader(body.byteStream(),
+                body.contentType() != null && body.contentType().charset() != null
+                        ? body.contentType().charset()
+                        : StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.plateit.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.plateit.responses.ChatHistoryResponse;
+import com.example.plateit.responses.VideoRecommendationResponse;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.CacheControl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+
+/**
+ * Debug-only comparison of JSON and CBOR for the heaviest responses: fetches each
+ * endpoint once per format (skipping the HTTP cache) and reports bytes on the wire,
+ * inflated size, a local gzip estimate and the median decode time with the generated
+ * adapters. Shown on NetworkDebugActivity.
+ */
+public class WireFormatBenchmark {
+
+    public interface Listener {
+        void onReport(String report);
+    }
+
+    private static final int DECODE_ITERATIONS = 20;
+    private static final String ACCEPT_JSON = "application/json";
+    private static final String ACCEPT_CBOR = "application/cbor, application/json;q=0.5";
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static class Sample {
+        long wireBytes;
+        byte[] body;
+        boolean cbor;
+    }
+
+    /** Runs on a background thread; the report is delivered on the main thread. */
+    public static void run(String userId, Listener listener) {
+        executor.execute(() -> {
+            StringBuilder sb = new StringBuilder("Wire format benchmark\n");
+            Gson gson = com.example.plateit.utils.GsonProvider.get();
+            try {
+                compare(sb, "recommendations", "recommendations/videos/" + userId,
+                        gson.getAdapter(VideoRecommendationResponse.class));
+
+                List<com.example.plateit.models.ChatSession> sessions = RetrofitClient.getAgentService()
+                        .getChatSessions(userId).execute().body();
+                if (sessions != null && !sessions.isEmpty()) {
+                    compare(sb, "chat history", "chat/history/" + sessions.get(0).getId() + "?newest_first=true",
+                            gson.getAdapter(new TypeToken<List<ChatHistoryResponse>>() {
+                            }));
+                } else {
+                    sb.append("chat history: no chat threads to measure\n");
+                }
+            } catch (IOException | RuntimeException e) {
+                sb.append("Failed: ").append(e.getMessage()).append('\n');
+            }
+            String report = sb.toString();
+            mainHandler.post(() -> listener.onReport(report));
+        });
+    }
+
+    private static void compare(StringBuilder sb, String name, String path, TypeAdapter<?> adapter)
+            throws IOException {
+        sb.append('\n').append(name).append('\n');
+        for (String accept : new String[] { ACCEPT_JSON, ACCEPT_CBOR }) {
+            Sample sample = fetch(path, accept);
+            sb.append(String.format(Locale.US, "  %-4s wire %7d B  raw %7d B  gzip~ %7d B  decode %6.2f ms\n",
+                    sample.cbor ? "cbor" : "json", sample.wireBytes, sample.body.length,
+                    gzipSize(sample.body), medianDecodeMillis(adapter, sample)));
+        }
+    }
+
+    private static Sample fetch(String path, String accept) throws IOException {
+        // Asking for gzip ourselves turns off OkHttp's transparent decompression,
+        // so the body we read is what actually crossed the network
+        Request request = new Request.Builder()
+                .url(RetrofitClient.BASE_URL + path)
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .cacheControl(CacheControl.FORCE_NETWORK)
+                .build();
+        try (Response response = RetrofitClient.getHttpClient().newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException(path + " returned HTTP " + response.code());
+            }
+            Sample sample = new Sample();
+            byte[] wire = response.body().bytes();
+            sample.wireBytes = wire.length;
+            sample.body = "gzip".equalsIgnoreCase(response.header("Content-Encoding"))
+                    ? Okio.buffer(new GzipSource(new Buffer().write(wire))).readByteArray()
+                    : wire;
+            sample.cbor = WireFormat.isCbor(response.body().contentType());
+            return sample;
+        }
+    }
+
+    private static long gzipSize(byte[] body) throws IOException {
+        Buffer out = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(out))) {
+            sink.write(body);
+        }
+        return out.size();
+    }
+
+    private static double medianDecodeMillis(TypeAdapter<?> adapter, Sample sample) throws IOException {
+        long[] nanos = new long[DECODE_ITERATIONS];
+        for (int i = 0; i < DECODE_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            try (JsonReader reader = sample.cbor
+                    ? new com.example.plateit.utils.CborJsonReader(new Buffer().write(sample.body))
+                    : new JsonReader(new InputStreamReader(
+                            new java.io.ByteArrayInputStream(sample.body), StandardCharsets.UTF_8))) {
+                adapter.read(reader);
+            }
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[DECODE_ITERATIONS / 2] / 1_000_000.0;
+    }
+}
@@ -1,11 +1,55 @@
 package com.example.plateit.db;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
-@Database(entities = { PantryItem.class, VideoEntity.class }, version = 3)
+@Database(entities = { PantryItem.class, VideoEntity.class, ExtractionJobEntity.class,
+        OutboxEntry.class, SyncCursor.class, CookbookEntity.class, CookingSessionEntity.class }, version = 8)
 public abstract class AppDatabase extends RoomDatabase {
     public abstract PantryDao pantryDao();
 
     public abstract VideoDao videoDao();
+
+    public abstract ExtractionJobDao extractionJobDao();
+
+    public abstract OutboxDao outboxDao();
+
+    public abstract SyncCursorDao syncCursorDao();
+
+    public abstract CookbookDao cookbookDao();
+
+    public abstract CookingSessionDao cookingSessionDao();
+
+    // From v5 on the outbox holds writes the server hasn't seen, so every later bump needs a real migration
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sync_cursors` (`key` TEXT NOT NULL, `cursor` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`key`))");
+        }
+    };
+
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `cookbook_entries` (`id` INTEGER NOT NULL, `userId` TEXT NOT NULL, "
+                    + "`json` TEXT, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cookbook_entries_userId` ON `cookbook_entries` (`userId`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `cooking_sessions` (`id` INTEGER NOT NULL, `userId` TEXT NOT NULL, "
+                    + "`json` TEXT, PRIMARY KEY(`id`))");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cooking_sessions_userId` ON `cooking_sessions` (`userId`)");
+        }
+    };
+
+    // cookbook_entries.json changed from full entries to summaries; the rows are only a cache, refetch them
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DELETE FROM `cookbook_entries`");
+            db.execSQL("DELETE FROM `sync_cursors` WHERE `key` LIKE 'cookbook_next:%'");
+        }
+    };
 }
@@ -0,0 +1,25 @@
+package com.example.plateit.db;
+
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface CookbookDao {
+    // Same order as the server's keyset pages, so appended pages land at the end
+    @Query("SELECT * FROM cookbook_entries WHERE userId = :userId ORDER BY id DESC")
+    PagingSource<Integer, CookbookEntity> pagingSource(String userId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<CookbookEntity> entries);
+
+    @Query("DELETE FROM cookbook_entries WHERE id = :id")
+    void deleteById(int id);
+
+    @Query("DELETE FROM cookbook_entries WHERE userId = :userId")
+    void clearForUser(String userId);
+}
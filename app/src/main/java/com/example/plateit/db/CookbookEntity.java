@@ -0,0 +1,39 @@
+package com.example.plateit.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.plateit.responses.CookbookSummary;
+
+/**
+ * Local copy of one cookbook list row, filled page by page by CookbookRemoteMediator.
+ * Kept as its server JSON; the recipe body isn't stored here (see CookbookSummary).
+ */
+@Entity(tableName = "cookbook_entries", indices = { @Index("userId") })
+public class CookbookEntity {
+    private static final com.google.gson.Gson gson = com.example.plateit.utils.GsonProvider.get();
+
+    @PrimaryKey
+    public int id;
+
+    @NonNull
+    public String userId;
+
+    public String json;
+
+    public CookbookEntity(int id, @NonNull String userId, String json) {
+        this.id = id;
+        this.userId = userId;
+        this.json = json;
+    }
+
+    public static CookbookEntity from(String userId, CookbookSummary summary) {
+        return new CookbookEntity(summary.getId(), userId, gson.toJson(summary));
+    }
+
+    public CookbookSummary toSummary() {
+        return gson.fromJson(json, CookbookSummary.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.plateit.db;
+
+import androidx.paging.PagingSource;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface CookingSessionDao {
+    @Query("SELECT * FROM cooking_sessions WHERE userId = :userId ORDER BY id DESC")
+    PagingSource<Integer, CookingSessionEntity> pagingSource(String userId);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<CookingSessionEntity> sessions);
+
+    @Query("DELETE FROM cooking_sessions WHERE userId = :userId")
+    void clearForUser(String userId);
+}
@@ -0,0 +1,36 @@
+package com.example.plateit.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import com.example.plateit.responses.CookingSession;
+
+/** Local copy of one cooking history row, filled page by page by CookingSessionRemoteMediator. */
+@Entity(tableName = "cooking_sessions", indices = { @Index("userId") })
+public class CookingSessionEntity {
+    private static final com.google.gson.Gson gson = com.example.plateit.utils.GsonProvider.get();
+
+    @PrimaryKey
+    public int id;
+
+    @NonNull
+    public String userId;
+
+    public String json;
+
+    public CookingSessionEntity(int id, @NonNull String userId, String json) {
+        this.id = id;
+        this.userId = userId;
+        this.json = json;
+    }
+
+    public static CookingSessionEntity from(String userId, CookingSession session) {
+        return new CookingSessionEntity(session.getId(), userId, gson.toJson(session));
+    }
+
+    public CookingSession toSession() {
+        return gson.fromJson(json, CookingSession.class);
+    }
+}
@@ -9,7 +9,10 @@ public class DatabaseClient {
 
     private DatabaseClient(Context mCtx) {
         appDatabase = Room.databaseBuilder(mCtx, AppDatabase.class, "PlateItPantry")
-                .fallbackToDestructiveMigration()
+                .addMigrations(AppDatabase.MIGRATION_5_6, AppDatabase.MIGRATION_6_7,
+                        AppDatabase.MIGRATION_7_8)
+                // Only versions from before the outbox may be wiped; it can hold unsynced writes
+                .fallbackToDestructiveMigrationFrom(1, 2, 3, 4)
                 .build();
     }
 
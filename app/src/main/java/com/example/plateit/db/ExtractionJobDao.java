@@ -0,0 +1,23 @@
+package com.example.plateit.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface ExtractionJobDao {
+    @Query("SELECT * FROM extraction_jobs WHERE sourceUrl = :sourceUrl LIMIT 1")
+    ExtractionJobEntity get(String sourceUrl);
+
+    @Query("SELECT * FROM extraction_jobs ORDER BY updatedAt DESC")
+    List<ExtractionJobEntity> getAll();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(ExtractionJobEntity job);
+
+    @Query("DELETE FROM extraction_jobs WHERE sourceUrl = :sourceUrl")
+    void delete(String sourceUrl);
+}
@@ -0,0 +1,35 @@
+package com.example.plateit.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Client-side record of a background recipe extraction, one row per source URL.
+ * Survives process death so ExtractionWorker can resume polling the same backend job
+ * and a finished recipe can be shown again without another extraction.
+ */
+@Entity(tableName = "extraction_jobs")
+public class ExtractionJobEntity {
+    @PrimaryKey
+    @NonNull
+    public String sourceUrl;
+
+    // Backend job id, null until the submit call succeeded
+    public String jobId;
+
+    public String status;
+    public String stage;
+    public String error;
+
+    // RecipeResponse as JSON once status is "succeeded"
+    public String recipeJson;
+
+    public long updatedAt;
+
+    public ExtractionJobEntity(@NonNull String sourceUrl, String status, long updatedAt) {
+        this.sourceUrl = sourceUrl;
+        this.status = status;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.plateit.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import java.util.List;
+
+@Dao
+public interface OutboxDao {
+    @Query("SELECT * FROM outbox ORDER BY id ASC")
+    List<OutboxEntry> getAll();
+
+    @Query("SELECT entityKey FROM outbox WHERE type = :type")
+    List<String> getEntityKeys(String type);
+
+    @Query("SELECT COUNT(*) FROM outbox")
+    LiveData<Integer> observeCount();
+
+    @Insert
+    long insert(OutboxEntry entry);
+
+    @Update
+    void update(OutboxEntry entry);
+
+    @Query("DELETE FROM outbox WHERE id = :id")
+    void delete(long id);
+
+    @Query("DELETE FROM outbox WHERE entityKey = :entityKey")
+    void deleteForEntity(String entityKey);
+}
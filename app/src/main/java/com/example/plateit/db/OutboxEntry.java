@@ -0,0 +1,48 @@
+package com.example.plateit.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A write that still has to reach the backend. Replayed in id order by OutboxWorker.
+ */
+@Entity(tableName = "outbox", indices = { @Index("entityKey") })
+public class OutboxEntry {
+    public static final String TYPE_PANTRY_ADD = "pantry_add";
+    public static final String TYPE_PANTRY_DELETE = "pantry_delete";
+    public static final String TYPE_COOKBOOK_ADD = "cookbook_add";
+    public static final String TYPE_COOKING_PROGRESS = "cooking_progress";
+    public static final String TYPE_SHOPPING_LIST_UPDATE = "shopping_list_update";
+
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+
+    // Sent as Idempotency-Key so a replay after a lost response is not applied twice
+    @NonNull
+    public String idempotencyKey;
+
+    @NonNull
+    public String type;
+
+    // What the write touches, e.g. "pantry:-42" or "cooking:7"; used to collapse superseded writes
+    @NonNull
+    public String entityKey;
+
+    // Request body as JSON (or the path id for deletes)
+    public String payloadJson;
+
+    public long createdAt;
+    public int attempts;
+    public String lastError;
+
+    public OutboxEntry(@NonNull String idempotencyKey, @NonNull String type, @NonNull String entityKey,
+            String payloadJson, long createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.type = type;
+        this.entityKey = entityKey;
+        this.payloadJson = payloadJson;
+        this.createdAt = createdAt;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.plateit.db;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
 import java.util.List;
@@ -18,9 +19,26 @@ public interface PantryDao {
     @Insert
     void insert(PantryItem item);
 
+    // Rows coming from the backend carry their server id, so replace on conflict
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<PantryItem> items);
+
     @Delete
     void delete(PantryItem item);
 
+    @Query("SELECT * FROM pantry_items WHERE id = :id LIMIT 1")
+    PantryItem getById(int id);
+
+    @Query("DELETE FROM pantry_items WHERE id = :id")
+    void deleteById(int id);
+
+    @Query("DELETE FROM pantry_items WHERE id IN (:ids)")
+    void deleteByIds(List<Integer> ids);
+
+    // Keeps rows with a temporary negative id, those are adds still waiting in the outbox
+    @Query("DELETE FROM pantry_items WHERE id > 0")
+    void deleteSynced();
+
     @Query("DELETE FROM pantry_items")
     void deleteAll();
 }
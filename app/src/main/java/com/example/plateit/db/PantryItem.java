@@ -1,9 +1,12 @@
 package com.example.plateit.db;
 
 import androidx.room.Entity;
+import androidx.room.Ignore;
 import androidx.room.PrimaryKey;
+import com.vimeo.stag.UseStag;
 
 @Entity(tableName = "pantry_items")
+@UseStag
 public class PantryItem {
     @PrimaryKey(autoGenerate = true)
     public int id;
@@ -20,6 +23,11 @@ public class PantryItem {
     @com.google.gson.annotations.SerializedName("created_at")
     public String start_date; // Maps to created_at from backend
 
+    // Used by the generated JSON adapter
+    @Ignore
+    PantryItem() {
+    }
+
     public PantryItem(String name, String amount, long dateAdded, String imageUrl) {
         this.name = name;
         this.amount = amount;
@@ -0,0 +1,24 @@
+package com.example.plateit.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Last server version a local table was synced to, e.g. "pantry:<userId>".
+ * Lives in the same database as the synced rows so both are written in one
+ * transaction and are wiped together by a destructive migration.
+ */
+@Entity(tableName = "sync_cursors")
+public class SyncCursor {
+    @PrimaryKey
+    @NonNull
+    public String key;
+
+    public long cursor;
+
+    public SyncCursor(@NonNull String key, long cursor) {
+        this.key = key;
+        this.cursor = cursor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.plateit.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+@Dao
+public interface SyncCursorDao {
+    // 0 when the table was never synced, which asks the server for a full list
+    @Query("SELECT COALESCE((SELECT cursor FROM sync_cursors WHERE `key` = :key), 0)")
+    long get(String key);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void put(SyncCursor cursor);
+}
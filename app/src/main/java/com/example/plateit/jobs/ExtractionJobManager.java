@@ -0,0 +1,174 @@
+package com.example.plateit.jobs;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.example.plateit.db.DatabaseClient;
+import com.example.plateit.db.ExtractionJobEntity;
+import com.example.plateit.responses.RecipeResponse;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for background recipe extraction.
+ *
+ * Each source URL maps to one unique WorkManager job, so tapping "extract" twice
+ * on the same link doesn't start a second pipeline, and several different links
+ * can be extracted in parallel while the user keeps browsing.
+ */
+public class ExtractionJobManager {
+
+    public interface OnRecipeLoaded {
+        void onRecipeLoaded(RecipeResponse recipe);
+    }
+
+    /** What a screen shows while it waits for its extraction; called on the main thread. */
+    public interface ProgressListener {
+        void onStage(String label);
+
+        void onSucceeded(RecipeResponse recipe);
+
+        void onFailed(String error);
+    }
+
+    private static final String TAG_EXTRACTION = "recipe_extraction";
+
+    private static ExtractionJobManager instance;
+    private final Context context;
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private ExtractionJobManager(Context context) {
+        this.context = context;
+    }
+
+    public static synchronized ExtractionJobManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ExtractionJobManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private static String uniqueName(String url) {
+        return "extract:" + url;
+    }
+
+    public void submit(String url) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExtractionWorker.class)
+                .setInputData(new Data.Builder().putString(ExtractionWorker.KEY_SOURCE_URL, url).build())
+                .setConstraints(new Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 10, TimeUnit.SECONDS)
+                .addTag(TAG_EXTRACTION)
+                .build();
+        // KEEP: an extraction already running for this URL just keeps going
+        WorkManager.getInstance(context).enqueueUniqueWork(uniqueName(url), ExistingWorkPolicy.KEEP, request);
+        // The worker updates it with each stage, see ExtractionWorker
+        ExtractionNotifier.notifyProgress(context, url, describeStage(null));
+    }
+
+    public LiveData<List<WorkInfo>> observe(String url) {
+        return WorkManager.getInstance(context).getWorkInfosForUniqueWorkLiveData(uniqueName(url));
+    }
+
+    /**
+     * Follows the job for a URL while owner is alive: each new stage label, then the
+     * finished recipe or the reason it failed.
+     */
+    public void observeProgress(LifecycleOwner owner, String url, ProgressListener listener) {
+        LiveData<List<WorkInfo>> liveData = observe(url);
+        liveData.observe(owner, new Observer<List<WorkInfo>>() {
+            private String lastLabel;
+
+            @Override
+            public void onChanged(List<WorkInfo> infos) {
+                if (infos == null || infos.isEmpty()) {
+                    return;
+                }
+                WorkInfo info = infos.get(0);
+                if (!info.getState().isFinished()) {
+                    String label = info.getState() == WorkInfo.State.RUNNING
+                            ? describeStage(info.getProgress().getString(ExtractionWorker.KEY_STAGE))
+                            : "Waiting for network";
+                    if (!label.equals(lastLabel)) {
+                        lastLabel = label;
+                        listener.onStage(label);
+                    }
+                    return;
+                }
+                liveData.removeObserver(this);
+                if (info.getState() != WorkInfo.State.SUCCEEDED) {
+                    String error = info.getOutputData().getString(ExtractionWorker.KEY_ERROR);
+                    if (error == null) {
+                        error = info.getState() == WorkInfo.State.CANCELLED ? "Extraction was cancelled"
+                                : "Couldn't extract a recipe from this link";
+                    }
+                    listener.onFailed(error);
+                    return;
+                }
+                loadRecipe(url, recipe -> {
+                    if (recipe != null) {
+                        listener.onSucceeded(recipe);
+                    } else {
+                        listener.onFailed("No recipe found at this link");
+                    }
+                });
+            }
+        });
+    }
+
+    /** Reads the finished recipe for a URL from Room; delivers null if there is none. */
+    public void loadRecipe(String url, OnRecipeLoaded callback) {
+        dbExecutor.execute(() -> {
+            ExtractionJobEntity job = DatabaseClient.getInstance(context).getAppDatabase().extractionJobDao()
+                    .get(url);
+            RecipeResponse recipe = null;
+            if (job != null && job.recipeJson != null) {
+                recipe = com.example.plateit.utils.GsonProvider.get().fromJson(job.recipeJson, RecipeResponse.class);
+            }
+            RecipeResponse result = recipe;
+            mainHandler.post(() -> callback.onRecipeLoaded(result));
+        });
+    }
+
+    /** Human readable label for a backend workflow stage. */
+    public static String describeStage(String stage) {
+        if (stage == null) {
+            return "Queued";
+        }
+        switch (stage) {
+            case "scrape_website":
+                return "Reading page";
+            case "check_video_metadata":
+            case "get_video_metadata":
+            case "process_video_file":
+            case "extract_text_from_video":
+                return "Watching video";
+            case "analyze_image_type":
+            case "process_image_file":
+            case "recipe_from_ingredients":
+            case "recipe_from_dish_image":
+                return "Looking at image";
+            case "extract_from_text":
+            case "format_recipe":
+                return "Writing recipe";
+            default:
+                return "Polishing recipe";
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.plateit.jobs;
+
+import android.Manifest;
+import android.app.Activity;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
+
+import androidx.core.app.ActivityCompat;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
+
+import com.example.plateit.R;
+import com.example.plateit.RecipeActivity;
+import com.example.plateit.db.ExtractionJobEntity;
+import com.example.plateit.responses.ExtractionJobResponse;
+
+/**
+ * Shows a background extraction in one notification per link: its current stage while
+ * it runs, then the result, even if the user left the screen that started it.
+ */
+public class ExtractionNotifier {
+
+    private static final String CHANNEL_ID = "recipe_extraction";
+    private static final int REQUEST_NOTIFICATIONS = 4201;
+
+    /**
+     * Asks for POST_NOTIFICATIONS (API 33+) from screens that start an extraction but
+     * can't register a result launcher. Extraction works either way.
+     */
+    public static void requestPermissionIfNeeded(Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(activity,
+                        Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+            ActivityCompat.requestPermissions(activity,
+                    new String[] { Manifest.permission.POST_NOTIFICATIONS }, REQUEST_NOTIFICATIONS);
+        }
+    }
+
+    /** Shows or updates the in-progress notification for a link; replaced by notifyFinished. */
+    public static void notifyProgress(Context context, String sourceUrl, String stageLabel) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) {
+            return;
+        }
+        ensureChannel(context);
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_restaurant_menu)
+                .setContentTitle(stageLabel + "...")
+                .setContentText(sourceUrl)
+                .setProgress(0, 0, true)
+                // Only the result should make a sound
+                .setSilent(true);
+
+        try {
+            manager.notify(sourceUrl.hashCode(), builder.build());
+        } catch (SecurityException e) {
+            // POST_NOTIFICATIONS revoked between the check and the call
+        }
+    }
+
+    public static void notifyFinished(Context context, ExtractionJobEntity job) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (!manager.areNotificationsEnabled()) {
+            return; // Result is still in Room, the UI picks it up next time
+        }
+        ensureChannel(context);
+
+        boolean succeeded = ExtractionJobResponse.STATUS_SUCCEEDED.equals(job.status) && job.recipeJson != null;
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_restaurant_menu)
+                .setContentTitle(succeeded ? "Recipe ready" : "Couldn't extract recipe")
+                .setContentText(job.sourceUrl)
+                .setAutoCancel(true);
+
+        if (succeeded) {
+            Intent intent = new Intent(context, RecipeActivity.class);
+            intent.putExtra("recipe_json", job.recipeJson);
+            intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+            PendingIntent pendingIntent = PendingIntent.getActivity(context, job.sourceUrl.hashCode(), intent,
+                    PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+            builder.setContentIntent(pendingIntent);
+        }
+
+        try {
+            manager.notify(job.sourceUrl.hashCode(), builder.build());
+        } catch (SecurityException e) {
+            // POST_NOTIFICATIONS revoked between the check and the call
+        }
+    }
+
+    private static void ensureChannel(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return;
+        }
+        NotificationManager nm = context.getSystemService(NotificationManager.class);
+        if (nm != null && nm.getNotificationChannel(CHANNEL_ID) == null) {
+            nm.createNotificationChannel(new NotificationChannel(CHANNEL_ID, "Recipe extraction",
+                    NotificationManager.IMPORTANCE_DEFAULT));
+        }
+    }
+}
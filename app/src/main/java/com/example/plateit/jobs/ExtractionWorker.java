@@ -0,0 +1,135 @@
+package com.example.plateit.jobs;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.plateit.api.RetrofitClient;
+import com.example.plateit.db.DatabaseClient;
+import com.example.plateit.db.ExtractionJobDao;
+import com.example.plateit.db.ExtractionJobEntity;
+import com.example.plateit.requests.VideoRequest;
+import com.example.plateit.responses.ExtractionJobResponse;
+
+import retrofit2.Response;
+
+/**
+ * Submits a recipe extraction to the backend and polls it until it finishes.
+ *
+ * The backend job id is written to Room as soon as it is known, so if the process
+ * dies WorkManager restarts this worker and it picks up polling the same job
+ * instead of submitting (and paying for) a new one.
+ */
+public class ExtractionWorker extends Worker {
+
+    public static final String KEY_SOURCE_URL = "source_url";
+    public static final String KEY_STAGE = "stage";
+    public static final String KEY_ERROR = "error";
+
+    private static final long POLL_INTERVAL_MS = 3000;
+    // Give up on a job that never finishes (e.g. the backend instance was recycled mid-run)
+    private static final long MAX_POLL_DURATION_MS = 8 * 60 * 1000L;
+
+    public ExtractionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String url = getInputData().getString(KEY_SOURCE_URL);
+        if (url == null) {
+            return Result.failure();
+        }
+
+        ExtractionJobDao dao = DatabaseClient.getInstance(getApplicationContext()).getAppDatabase()
+                .extractionJobDao();
+        ExtractionJobEntity job = dao.get(url);
+        if (job == null) {
+            job = new ExtractionJobEntity(url, ExtractionJobResponse.STATUS_QUEUED, System.currentTimeMillis());
+        }
+
+        // Already extracted earlier, nothing to do
+        if (ExtractionJobResponse.STATUS_SUCCEEDED.equals(job.status) && job.recipeJson != null) {
+            ExtractionNotifier.notifyFinished(getApplicationContext(), job);
+            return Result.success();
+        }
+
+        try {
+            if (job.jobId == null || ExtractionJobResponse.STATUS_FAILED.equals(job.status)) {
+                Response<ExtractionJobResponse> submitted = RetrofitClient.getService()
+                        .submitExtractionJob(new VideoRequest(url)).execute();
+                if (!submitted.isSuccessful() || submitted.body() == null) {
+                    return Result.retry();
+                }
+                apply(job, submitted.body());
+                dao.upsert(job);
+            }
+
+            long startedAt = System.currentTimeMillis();
+            while (!isStopped()) {
+                Response<ExtractionJobResponse> polled = RetrofitClient.getService()
+                        .getExtractionJob(job.jobId).execute();
+                if (polled.code() == 404) {
+                    // Backend lost the job, submit again on the next attempt
+                    job.jobId = null;
+                    dao.upsert(job);
+                    return Result.retry();
+                }
+                if (polled.isSuccessful() && polled.body() != null) {
+                    String previousStage = job.stage;
+                    apply(job, polled.body());
+                    dao.upsert(job);
+                    setProgressAsync(new Data.Builder().putString(KEY_STAGE, job.stage).build());
+                    if (!polled.body().isFinished() && !java.util.Objects.equals(previousStage, job.stage)) {
+                        ExtractionNotifier.notifyProgress(getApplicationContext(), url,
+                                ExtractionJobManager.describeStage(job.stage));
+                    }
+
+                    if (polled.body().isFinished()) {
+                        if (ExtractionJobResponse.STATUS_SUCCEEDED.equals(job.status) && job.recipeJson == null) {
+                            // An empty result is no recipe, whatever the status says
+                            job.status = ExtractionJobResponse.STATUS_FAILED;
+                            job.error = "No recipe found at this link";
+                            dao.upsert(job);
+                        }
+                        ExtractionNotifier.notifyFinished(getApplicationContext(), job);
+                        if (ExtractionJobResponse.STATUS_SUCCEEDED.equals(job.status)) {
+                            return Result.success();
+                        }
+                        return Result.failure(new Data.Builder().putString(KEY_ERROR, job.error).build());
+                    }
+                }
+
+                if (System.currentTimeMillis() - startedAt > MAX_POLL_DURATION_MS) {
+                    job.status = ExtractionJobResponse.STATUS_FAILED;
+                    job.error = "Extraction timed out";
+                    dao.upsert(job);
+                    ExtractionNotifier.notifyFinished(getApplicationContext(), job);
+                    return Result.failure(new Data.Builder().putString(KEY_ERROR, job.error).build());
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (java.io.IOException e) {
+            android.util.Log.w("ExtractionWorker", "Network error, will retry: " + e.getMessage());
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Result.retry();
+    }
+
+    private static void apply(ExtractionJobEntity job, ExtractionJobResponse response) {
+        job.jobId = response.getJobId();
+        job.status = response.getStatus();
+        job.stage = response.getStage();
+        job.error = response.getError();
+        if (response.getRecipe() != null) {
+            job.recipeJson = com.example.plateit.utils.GsonProvider.get().toJson(response.getRecipe());
+        }
+        job.updatedAt = System.currentTimeMillis();
+    }
+}
@@ -13,6 +13,9 @@ public class ChatMessage {
     private ChatResponse.IngredientListPayload ingredientData;
     private ChatResponse.VideoListPayload videoData;
 
+    // True for AI replies filled in live from chat/stream; these are not replayed by animateText
+    private boolean streamed;
+
     public ChatMessage(String message, boolean isUser) {
         this.message = message;
         this.isUser = isUser;
@@ -67,4 +70,31 @@ public class ChatMessage {
     public void setUser(boolean user) {
         isUser = user;
     }
+
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    public void setStreamed(boolean streamed) {
+        this.streamed = streamed;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public void appendMessage(String delta) {
+        this.message = message == null ? delta : message + delta;
+    }
+
+    // Final structured reply from the agent: polished bubble plus any rich payloads
+    public void applyResponse(ChatResponse response) {
+        if (response.getChatBubble() != null) {
+            this.message = response.getChatBubble();
+        }
+        this.uiType = response.getUiType() != null ? response.getUiType() : "none";
+        this.recipeData = response.getRecipeData();
+        this.ingredientData = response.getIngredientData();
+        this.videoData = response.getVideoData();
+    }
 }
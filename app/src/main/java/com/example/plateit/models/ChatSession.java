@@ -1,13 +1,16 @@
 package com.example.plateit.models;
 
+import com.vimeo.stag.UseStag;
+
 import java.io.Serializable;
 
+@UseStag
 public class ChatSession implements Serializable {
-    private String id;
-    private String user_id;
-    private String title;
-    private String created_at;
-    private String updated_at;
+    String id;
+    String user_id;
+    String title;
+    String created_at;
+    String updated_at;
 
     public String getId() {
         return id;
@@ -1,13 +1,20 @@
 package com.example.plateit.models;
 
+import com.vimeo.stag.UseStag;
+
 import java.io.Serializable;
 
+@UseStag
 public class Ingredient implements Serializable {
 
-    private String name;
-    private String amount;
-    private String imageUrl;
-    private boolean isMissing = false;
+    String name;
+    String amount;
+    String imageUrl;
+    boolean isMissing = false;
+
+    // Used by the generated JSON adapter
+    Ingredient() {
+    }
 
     public Ingredient(String name, String amount, String imageUrl) {
         this.name = name;
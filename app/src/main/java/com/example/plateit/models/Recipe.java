@@ -1,15 +1,22 @@
 package com.example.plateit.models;
 
+import com.vimeo.stag.UseStag;
+
 import java.io.Serializable;
 import java.util.List;
 
+@UseStag
 public class Recipe implements Serializable {
-    private String name;
-    private List<RecipeStep> steps;
-    private List<Ingredient> ingredients;
-    private String source;
-    private String source_image;
-    private String total_time;
+    String name;
+    List<RecipeStep> steps;
+    List<Ingredient> ingredients;
+    String source;
+    String source_image;
+    String total_time;
+
+    // Used by the generated JSON adapter
+    Recipe() {
+    }
 
     public Recipe(String name, List<RecipeStep> steps, List<Ingredient> ingredients) {
         this.name = name;
@@ -1,11 +1,14 @@
 package com.example.plateit.models;
 
+import com.vimeo.stag.UseStag;
+
 import java.io.Serializable;
 
+@UseStag
 public class RecipeStep implements Serializable {
-    private String instruction;
-    private String imageUrl;
-    private String visual_query;
+    String instruction;
+    String imageUrl;
+    String visual_query;
 
     // Constructors
     public RecipeStep() {
@@ -1,14 +1,20 @@
 package com.example.plateit.requests;
 
 import com.example.plateit.models.Recipe;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class ChatRequest {
-    private String message;
-    private String thread_id;
-    private String user_id; // Added user_id for persistence
-    private Recipe recipe;
-    private int current_step;
-    private String image_data;
+    String message;
+    String thread_id;
+    String user_id; // Added user_id for persistence
+    Recipe recipe;
+    int current_step;
+    String image_data;
+
+    // Used by the generated JSON adapter
+    ChatRequest() {
+    }
 
     public ChatRequest(String message, String thread_id, String user_id, Recipe recipe, int current_step,
             String image_data) {
@@ -1,23 +1,30 @@
 package com.example.plateit.requests;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
 import java.util.Map;
 
+@UseStag
 public class CookbookEntryCreate {
     @SerializedName("user_id")
-    private String userId;
+    String userId;
 
     @SerializedName("title")
-    private String title;
+    String title;
 
     @SerializedName("recipe_data")
-    private Object recipeData; // Store as generic object or Map
+    Object recipeData; // Store as generic object or Map
 
     @SerializedName("source_url")
-    private String sourceUrl;
+    String sourceUrl;
 
     @SerializedName("thumbnail_url")
-    private String thumbnailUrl;
+    String thumbnailUrl;
+
+    // Used by the generated JSON adapter
+    CookbookEntryCreate() {
+    }
 
     public CookbookEntryCreate(String userId, String title, Object recipeData, String sourceUrl, String thumbnailUrl) {
         this.userId = userId;
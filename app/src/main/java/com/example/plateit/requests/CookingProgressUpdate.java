@@ -1,20 +1,35 @@
 package com.example.plateit.requests;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class CookingProgressUpdate {
     @SerializedName("session_id")
-    private int sessionId;
+    int sessionId;
 
     @SerializedName("current_step_index")
-    private int currentStepIndex;
+    int currentStepIndex;
 
     @SerializedName("is_finished")
-    private boolean isFinished;
+    boolean isFinished;
+
+    // Monotonic per client; the backend ignores updates older than the last one it applied
+    @SerializedName("seq")
+    Long seq;
+
+    // Used by the generated JSON adapter
+    CookingProgressUpdate() {
+    }
 
     public CookingProgressUpdate(int sessionId, int currentStepIndex, boolean isFinished) {
         this.sessionId = sessionId;
         this.currentStepIndex = currentStepIndex;
         this.isFinished = isFinished;
     }
+
+    public CookingProgressUpdate(int sessionId, int currentStepIndex, boolean isFinished, long seq) {
+        this(sessionId, currentStepIndex, isFinished);
+        this.seq = seq;
+    }
 }
@@ -1,13 +1,19 @@
 package com.example.plateit.requests;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class CookingSessionCreate {
     @SerializedName("user_id")
-    private String userId;
+    String userId;
 
     @SerializedName("cookbook_id")
-    private Integer cookbookId;
+    Integer cookbookId;
+
+    // Used by the generated JSON adapter
+    CookingSessionCreate() {
+    }
 
     public CookingSessionCreate(String userId, Integer cookbookId) {
         this.userId = userId;
@@ -1,10 +1,17 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class IngredientSearchRequest {
-    private List<String> ingredients;
-    private int number;
+    List<String> ingredients;
+    int number;
+
+    // Used by the generated JSON adapter
+    IngredientSearchRequest() {
+    }
 
     public IngredientSearchRequest(List<String> ingredients, int number) {
         this.ingredients = ingredients;
@@ -1,10 +1,17 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class PantryItemCreateRequest {
-    private String user_id;
-    private String name;
-    private String amount;
-    private String image_url;
+    String user_id;
+    String name;
+    String amount;
+    String image_url;
+
+    // Used by the generated JSON adapter
+    PantryItemCreateRequest() {
+    }
 
     public PantryItemCreateRequest(String user_id, String name, String amount, String image_url) {
         this.user_id = user_id;
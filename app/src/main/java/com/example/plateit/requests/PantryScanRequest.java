@@ -1,7 +1,14 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class PantryScanRequest {
-    private String image_data;
+    String image_data;
+
+    // Used by the generated JSON adapter
+    PantryScanRequest() {
+    }
 
     public PantryScanRequest(String image_data) {
         this.image_data = image_data;
@@ -1,13 +1,20 @@
 package com.example.plateit.requests;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class PreferencesRequest {
     @SerializedName("user_id")
-    private String userId;
+    String userId;
     @SerializedName("preferences")
-    private List<String> preferences;
+    List<String> preferences;
+
+    // Used by the generated JSON adapter
+    PreferencesRequest() {
+    }
 
     public PreferencesRequest(String userId, List<String> preferences) {
         this.userId = userId;
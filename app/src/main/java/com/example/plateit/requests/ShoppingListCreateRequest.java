@@ -1,12 +1,19 @@
 package com.example.plateit.requests;
 
 import com.example.plateit.responses.ShoppingListItem;
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class ShoppingListCreateRequest {
-    private String user_id;
-    private String title;
-    private List<ShoppingListItem> items;
+    String user_id;
+    String title;
+    List<ShoppingListItem> items;
+
+    // Used by the generated JSON adapter
+    ShoppingListCreateRequest() {
+    }
 
     public ShoppingListCreateRequest(String user_id, String title, List<ShoppingListItem> items) {
         this.user_id = user_id;
@@ -1,11 +1,18 @@
 package com.example.plateit.requests;
 
 import com.example.plateit.responses.ShoppingListItem;
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class ShoppingListUpdate {
-    private String title;
-    private List<ShoppingListItem> items;
+    String title;
+    List<ShoppingListItem> items;
+
+    // Used by the generated JSON adapter
+    ShoppingListUpdate() {
+    }
 
     public ShoppingListUpdate(String title, List<ShoppingListItem> items) {
         this.title = title;
@@ -1,8 +1,15 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class SignInRequest {
-    private String email;
-    private String password;
+    String email;
+    String password;
+
+    // Used by the generated JSON adapter
+    SignInRequest() {
+    }
 
     public SignInRequest(String email, String password) {
         this.email = email;
@@ -1,10 +1,17 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class SignUpRequest {
-    private String full_name;
-    private String username;
-    private String email;
-    private String password;
+    String full_name;
+    String username;
+    String email;
+    String password;
+
+    // Used by the generated JSON adapter
+    SignUpRequest() {
+    }
 
     public SignUpRequest(String full_name, String username, String email, String password) {
         this.full_name = full_name;
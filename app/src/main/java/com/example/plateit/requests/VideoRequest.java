@@ -1,7 +1,14 @@
 package com.example.plateit.requests;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class VideoRequest {
-    final String video_url;
+    String video_url;
+
+    // Used by the generated JSON adapter
+    VideoRequest() {
+    }
 
     public VideoRequest(String video_url) {
         this.video_url = video_url;
@@ -1,11 +1,14 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class AuthResponse {
-    private String user_id;
-    private String email;
-    private String username;
-    private String full_name;
-    private String message;
+    String user_id;
+    String email;
+    String username;
+    String full_name;
+    String message;
 
     public String getUserId() {
         return user_id;
@@ -1,10 +1,13 @@
 package com.example.plateit.responses;
 
-import java.util.List;
 import com.example.plateit.BlogItem;
+import com.vimeo.stag.UseStag;
+
+import java.util.List;
 
+@UseStag
 public class BlogRecommendationResponse {
-    private List<BlogItem> blogs;
+    List<BlogItem> blogs;
 
     public List<BlogItem> getBlogs() {
         return blogs;
@@ -1,13 +1,16 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class ChatHistoryResponse {
-    private String sender;
-    private String content;
-    private String ui_type;
-    private com.example.plateit.responses.ChatResponse.RecipeListPayload recipe_data;
-    private com.example.plateit.responses.ChatResponse.IngredientListPayload ingredient_data;
-    private com.example.plateit.responses.ChatResponse.VideoListPayload video_data;
-    private String created_at;
+    String sender;
+    String content;
+    String ui_type;
+    com.example.plateit.responses.ChatResponse.RecipeListPayload recipe_data;
+    com.example.plateit.responses.ChatResponse.IngredientListPayload ingredient_data;
+    com.example.plateit.responses.ChatResponse.VideoListPayload video_data;
+    String created_at;
 
     public String getSender() {
         return sender;
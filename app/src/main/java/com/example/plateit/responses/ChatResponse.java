@@ -2,15 +2,17 @@ package com.example.plateit.responses;
 
 import com.example.plateit.models.Ingredient;
 import com.example.plateit.models.Recipe;
+import com.vimeo.stag.UseStag;
 
 import java.util.List;
 
+@UseStag
 public class ChatResponse {
-    private String chat_bubble;
-    private String ui_type;
-    private RecipeListPayload recipe_data;
-    private IngredientListPayload ingredient_data;
-    private VideoListPayload video_data;
+    String chat_bubble;
+    String ui_type;
+    RecipeListPayload recipe_data;
+    IngredientListPayload ingredient_data;
+    VideoListPayload video_data;
 
     public String getChatBubble() {
         return chat_bubble;
@@ -34,24 +36,27 @@ public class ChatResponse {
 
     // --- Inner Payload Classes ---
 
+    @UseStag
     public static class RecipeListPayload {
-        private List<RecipeCard> items;
+        List<RecipeCard> items;
 
         public List<RecipeCard> getItems() {
             return items;
         }
     }
 
+    @UseStag
     public static class IngredientListPayload {
-        private List<IngredientItem> items;
+        List<IngredientItem> items;
 
         public List<IngredientItem> getItems() {
             return items;
         }
     }
 
+    @UseStag
     public static class VideoListPayload {
-        private List<VideoItem> items;
+        List<VideoItem> items;
 
         public List<VideoItem> getItems() {
             return items;
@@ -60,13 +65,14 @@ public class ChatResponse {
 
     // --- Item Classes ---
 
+    @UseStag
     public static class RecipeCard {
-        private int id;
-        private String title;
-        private String image_url;
-        private Integer ready_in_minutes; // Optional
-        private Integer missed_ingredient_count; // Optional
-        private String source_url; // Optional
+        int id;
+        String title;
+        String image_url;
+        Integer ready_in_minutes; // Optional
+        Integer missed_ingredient_count; // Optional
+        String source_url; // Optional
 
         public int getId() {
             return id;
@@ -93,11 +99,12 @@ public class ChatResponse {
         }
     }
 
+    @UseStag
     public static class IngredientItem {
-        private int id;
-        private String name;
-        private String image;
-        private String amount;
+        int id;
+        String name;
+        String image;
+        String amount;
 
         public int getId() {
             return id;
@@ -116,10 +123,11 @@ public class ChatResponse {
         }
     }
 
+    @UseStag
     public static class VideoItem {
-        private String title;
-        private String url;
-        private String thumbnail;
+        String title;
+        String url;
+        String thumbnail;
 
         public String getTitle() {
             return title;
@@ -0,0 +1,35 @@
+package com.example.plateit.responses;
+
+import com.vimeo.stag.UseStag;
+
+/**
+ * One line of the NDJSON stream returned by chat/stream.
+ * type is "delta" (text), "final" (response) or "error" (detail).
+ */
+@UseStag
+public class ChatStreamEvent {
+    public static final String TYPE_DELTA = "delta";
+    public static final String TYPE_FINAL = "final";
+    public static final String TYPE_ERROR = "error";
+
+    String type;
+    String text;
+    String detail;
+    ChatResponse response;
+
+    public String getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public ChatResponse getResponse() {
+        return response;
+    }
+}
@@ -1,23 +1,25 @@
 package com.example.plateit.responses;
 
-import com.google.gson.annotations.SerializedName;
 import com.example.plateit.models.Recipe;
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class CookbookEntry {
     @SerializedName("id")
-    private int id;
+    int id;
 
     @SerializedName("title")
-    private String title;
+    String title;
 
     @SerializedName("recipe_data")
-    private Recipe recipeData;
+    Recipe recipeData;
 
     @SerializedName("source_url")
-    private String sourceUrl;
+    String sourceUrl;
 
     @SerializedName("thumbnail_url")
-    private String thumbnailUrl;
+    String thumbnailUrl;
 
     public int getId() {
         return id;
@@ -0,0 +1,46 @@
+package com.example.plateit.responses;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+/**
+ * Cookbook list row without the recipe body; load the full CookbookEntry with
+ * getCookbookEntry when the recipe is opened.
+ */
+@UseStag
+public class CookbookSummary {
+    @SerializedName("id")
+    int id;
+
+    @SerializedName("title")
+    String title;
+
+    @SerializedName("thumbnail_url")
+    String thumbnailUrl;
+
+    @SerializedName("step_count")
+    int stepCount;
+
+    @SerializedName("created_at")
+    String createdAt;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+}
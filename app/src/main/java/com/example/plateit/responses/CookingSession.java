@@ -1,22 +1,28 @@
 package com.example.plateit.responses;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class CookingSession {
     @SerializedName("id")
-    private int id;
+    int id;
 
     @SerializedName("user_id")
-    private String userId;
+    String userId;
 
     @SerializedName("cookbook_id")
-    private Integer cookbookId;
+    Integer cookbookId;
 
     @SerializedName("current_step_index")
-    private int currentStepIndex;
+    int currentStepIndex;
 
     @SerializedName("is_finished")
-    private boolean isFinished;
+    boolean isFinished;
+
+    // Only filled in by the paged history endpoint
+    @SerializedName("recipe_title")
+    String recipeTitle;
 
     public int getId() {
         return id;
@@ -33,4 +39,8 @@ public class CookingSession {
     public boolean isFinished() {
         return isFinished;
     }
+
+    public String getRecipeTitle() {
+        return recipeTitle;
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.plateit.responses;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+import java.util.List;
+
+/**
+ * Everything DashboardFragment renders, returned by a single dashboard/{user_id} call.
+ * The summary variant leaves out cookbook and sessions, which are paged separately.
+ */
+@UseStag
+public class DashboardSnapshot {
+    // Highest snapshot shape this client understands
+    public static final int SUPPORTED_VERSION = 1;
+
+    @SerializedName("version")
+    int version;
+
+    @SerializedName("profile")
+    AuthResponse profile;
+
+    @SerializedName("stats")
+    UserStatsResponse stats;
+
+    @SerializedName("cookbook")
+    List<CookbookEntry> cookbook;
+
+    @SerializedName("active_session")
+    CookingSession activeSession;
+
+    // Cookbook entry of the active session; sent by dashboard/{user_id}/summary
+    @SerializedName("active_recipe")
+    CookbookEntry activeRecipe;
+
+    @SerializedName("sessions")
+    List<CookingSession> sessions;
+
+    @SerializedName("shopping_lists")
+    List<ShoppingList> shoppingLists;
+
+    public int getVersion() {
+        return version;
+    }
+
+    public AuthResponse getProfile() {
+        return profile;
+    }
+
+    public UserStatsResponse getStats() {
+        return stats;
+    }
+
+    public List<CookbookEntry> getCookbook() {
+        return cookbook;
+    }
+
+    public CookingSession getActiveSession() {
+        return activeSession;
+    }
+
+    public CookbookEntry getActiveRecipe() {
+        return activeRecipe;
+    }
+
+    public List<CookingSession> getSessions() {
+        return sessions;
+    }
+
+    public List<ShoppingList> getShoppingLists() {
+        return shoppingLists;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.plateit.responses;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+@UseStag
+public class ExtractionJobResponse {
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_SUCCEEDED = "succeeded";
+    public static final String STATUS_FAILED = "failed";
+
+    @SerializedName("job_id")
+    String jobId;
+
+    @SerializedName("status")
+    String status;
+
+    // Name of the last finished workflow step, e.g. "extract_text_from_video"
+    @SerializedName("stage")
+    String stage;
+
+    @SerializedName("error")
+    String error;
+
+    // Only set once status is "succeeded"
+    @SerializedName("recipe")
+    RecipeResponse recipe;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public RecipeResponse getRecipe() {
+        return recipe;
+    }
+
+    public boolean isFinished() {
+        return STATUS_SUCCEEDED.equals(status) || STATUS_FAILED.equals(status);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class IngredientImageResponse {
-    private String image_url;
+    String image_url;
 
     public String getImageUrl() {
         return image_url;
@@ -0,0 +1,24 @@
+package com.example.plateit.responses;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+import java.util.List;
+
+/** One page of a cursor-paginated list; nextCursor is null on the last page. */
+@UseStag
+public class Page<T> {
+    @SerializedName("items")
+    List<T> items;
+
+    @SerializedName("next_cursor")
+    Integer nextCursor;
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+}
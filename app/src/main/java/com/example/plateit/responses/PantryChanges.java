@@ -0,0 +1,41 @@
+package com.example.plateit.responses;
+
+import com.example.plateit.db.PantryItem;
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+import java.util.List;
+
+/** Result of pantry/{user_id}/changes: what changed since the client's cursor. */
+@UseStag
+public class PantryChanges {
+    // Pass back as "since" on the next sync
+    @SerializedName("cursor")
+    long cursor;
+
+    // True when the server sent the whole pantry instead of a delta
+    @SerializedName("full")
+    boolean full;
+
+    @SerializedName("upserts")
+    List<PantryItem> upserts;
+
+    @SerializedName("deleted")
+    List<Integer> deleted;
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<PantryItem> getUpserts() {
+        return upserts;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class PantryScanResponse {
-    private List<PantryItem> items;
+    List<PantryItem> items;
 
     public List<PantryItem> getItems() {
         return items;
     }
 
+    @UseStag
     public static class PantryItem {
-        private String name;
-        private String amount;
-        private String image_url;
+        String name;
+        String amount;
+        String image_url;
 
         public String getName() {
             return name;
@@ -1,15 +1,18 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
 import java.io.Serializable;
 import java.util.List;
 
+@UseStag
 public class RecipeResponse implements Serializable {
-    private String name;
-    private List<com.example.plateit.models.RecipeStep> steps;
-    private List<com.example.plateit.models.Ingredient> ingredients;
-    private String total_time;
-    private String source;
-    private String source_image;
+    String name;
+    List<com.example.plateit.models.RecipeStep> steps;
+    List<com.example.plateit.models.Ingredient> ingredients;
+    String total_time;
+    String source;
+    String source_image;
 
     // Getters
     public String getName() {
@@ -1,12 +1,15 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class RecipeSummary {
-    private int id;
-    private String title;
-    private String image;
-    private int usedIngredientCount;
-    private int missedIngredientCount;
-    private int likes;
+    int id;
+    String title;
+    String image;
+    int usedIngredientCount;
+    int missedIngredientCount;
+    int likes;
 
     // Getters and Setters
     public int getId() {
@@ -1,20 +1,23 @@
 package com.example.plateit.responses;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class ShoppingList {
     @SerializedName("id")
-    private int id;
+    int id;
 
     @SerializedName("user_id")
-    private String userId;
+    String userId;
 
     @SerializedName("title")
-    private String title;
+    String title;
 
     @SerializedName("items")
-    private List<ShoppingListItem> items;
+    List<ShoppingListItem> items;
 
     public int getId() {
         return id;
@@ -1,8 +1,11 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class ShoppingListFromRecipeResponse {
-    private String message;
-    private ShoppingList list;
+    String message;
+    ShoppingList list;
 
     public String getMessage() {
         return message;
@@ -1,16 +1,22 @@
 package com.example.plateit.responses;
 
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
 
+@UseStag
 public class ShoppingListItem {
     @SerializedName("name")
-    private String name;
+    String name;
 
     @SerializedName("amount")
-    private String amount;
+    String amount;
 
     @SerializedName("bought")
-    private boolean bought;
+    boolean bought;
+
+    // Used by the generated JSON adapter
+    ShoppingListItem() {
+    }
 
     public ShoppingListItem(String name, String amount, boolean bought) {
         this.name = name;
@@ -1,11 +1,14 @@
 package com.example.plateit.responses;
 
+import com.vimeo.stag.UseStag;
+
+@UseStag
 public class UserStatsResponse {
-    private int total_recipes;
-    private int total_sessions;
-    private int finished_sessions;
-    private int unfinished_sessions;
-    private int active_days;
+    int total_recipes;
+    int total_sessions;
+    int finished_sessions;
+    int unfinished_sessions;
+    int active_days;
 
     public int getTotalRecipes() {
         return total_recipes;
@@ -2,11 +2,14 @@ package com.example.plateit.responses;
 
 import com.example.plateit.RecipeVideo;
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
 import java.util.List;
 
+@UseStag
 public class VideoRecommendationResponse {
     @SerializedName("videos")
-    private List<RecipeVideo> videos;
+    List<RecipeVideo> videos;
 
     public List<RecipeVideo> getVideos() {
         return videos;
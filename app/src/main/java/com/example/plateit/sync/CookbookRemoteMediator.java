@@ -0,0 +1,38 @@
+package com.example.plateit.sync;
+
+import com.example.plateit.api.RetrofitClient;
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.CookbookEntity;
+import com.example.plateit.responses.CookbookSummary;
+import com.example.plateit.responses.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+
+public class CookbookRemoteMediator extends KeysetRemoteMediator<CookbookEntity, CookbookSummary> {
+
+    public CookbookRemoteMediator(AppDatabase db, String userId) {
+        super(db, userId, "cookbook_next:" + userId);
+    }
+
+    @Override
+    protected Call<Page<CookbookSummary>> fetchPage(Integer cursor, int limit) {
+        return RetrofitClient.getAgentService().getCookbookSummaries(userId, cursor, limit);
+    }
+
+    @Override
+    protected void clearRows() {
+        db.cookbookDao().clearForUser(userId);
+    }
+
+    @Override
+    protected void insertRows(List<CookbookSummary> items) {
+        List<CookbookEntity> rows = new ArrayList<>();
+        for (CookbookSummary summary : items) {
+            rows.add(CookbookEntity.from(userId, summary));
+        }
+        db.cookbookDao().upsertAll(rows);
+    }
+}
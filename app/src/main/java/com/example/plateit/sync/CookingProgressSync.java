@@ -0,0 +1,82 @@
+package com.example.plateit.sync;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.plateit.requests.CookingProgressUpdate;
+
+/**
+ * Debounces cooking progress writes for one cooking screen.
+ *
+ * Swiping through steps only records the latest position; it is handed to the
+ * outbox after the user settles on a step for DEBOUNCE_MS, or right away on
+ * flush(). Every update carries a per-session sequence number, persisted so it
+ * keeps increasing across restarts and clock changes, so the backend can ignore
+ * one that arrives after a newer step.
+ */
+public class CookingProgressSync {
+
+    private static final long DEBOUNCE_MS = 1500;
+    private static final String PREFS_NAME = "cooking_progress_seq";
+
+    private final MutationOutbox outbox;
+    private final SharedPreferences seqPrefs;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    private int pendingSessionId = -1;
+    private int pendingStep;
+    private boolean pendingFinished;
+    private boolean hasPending = false;
+
+    public CookingProgressSync(Context context) {
+        this.outbox = MutationOutbox.getInstance(context);
+        this.seqPrefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /** Records the current step; only the newest one before the quiet period is sent. */
+    public void onStepChanged(int sessionId, int stepIndex, boolean isFinished) {
+        if (hasPending && pendingSessionId != sessionId) {
+            flush();
+        }
+        pendingSessionId = sessionId;
+        pendingStep = stepIndex;
+        pendingFinished = isFinished;
+        hasPending = true;
+
+        handler.removeCallbacks(flushRunnable);
+        if (isFinished) {
+            // Last step: don't risk losing completion to a killed process
+            flush();
+        } else {
+            handler.postDelayed(flushRunnable, DEBOUNCE_MS);
+        }
+    }
+
+    /** Sends the pending step now. Call from onPause/onDestroy. */
+    public void flush() {
+        handler.removeCallbacks(flushRunnable);
+        if (!hasPending) {
+            return;
+        }
+        hasPending = false;
+        outbox.updateCookingProgress(pendingSessionId,
+                new CookingProgressUpdate(pendingSessionId, pendingStep, pendingFinished, nextSeq(pendingSessionId)));
+    }
+
+    private long nextSeq(int sessionId) {
+        synchronized (CookingProgressSync.class) {
+            String key = "seq_" + sessionId;
+            // The backend keeps the highest seq it has applied to the session, but this counter
+            // is lost on reinstall or clear-data and isn't shared with other devices resuming the
+            // session. Starting a new counter at the wall clock puts it above any earlier counter,
+            // which also started at its own wall clock and has since counted only a few updates.
+            long seq = seqPrefs.contains(key) ? seqPrefs.getLong(key, 0) + 1 : System.currentTimeMillis();
+            // commit, not apply: a seq lost to a killed process would be reused and dropped server-side
+            seqPrefs.edit().putLong(key, seq).commit();
+            return seq;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.plateit.sync;
+
+import com.example.plateit.api.RetrofitClient;
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.CookingSessionEntity;
+import com.example.plateit.responses.CookingSession;
+import com.example.plateit.responses.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+
+public class CookingSessionRemoteMediator extends KeysetRemoteMediator<CookingSessionEntity, CookingSession> {
+
+    public CookingSessionRemoteMediator(AppDatabase db, String userId) {
+        super(db, userId, "sessions_next:" + userId);
+    }
+
+    @Override
+    protected Call<Page<CookingSession>> fetchPage(Integer cursor, int limit) {
+        return RetrofitClient.getAgentService().getCookingSessionsPage(userId, cursor, limit);
+    }
+
+    @Override
+    protected void clearRows() {
+        db.cookingSessionDao().clearForUser(userId);
+    }
+
+    @Override
+    protected void insertRows(List<CookingSession> items) {
+        List<CookingSessionEntity> rows = new ArrayList<>();
+        for (CookingSession session : items) {
+            rows.add(CookingSessionEntity.from(userId, session));
+        }
+        db.cookingSessionDao().upsertAll(rows);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.plateit.sync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.paging.ExperimentalPagingApi;
+import androidx.paging.ListenableFutureRemoteMediator;
+import androidx.paging.LoadType;
+import androidx.paging.PagingState;
+import androidx.paging.RemoteMediator;
+
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.SyncCursor;
+import com.example.plateit.responses.Page;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Fills a Room table from a keyset-paginated endpoint (see Page).
+ *
+ * REFRESH replaces the user's rows with the first page; APPEND continues from the cursor
+ * stored in sync_cursors under cursorKey, with END meaning the last page was reached.
+ * Each page and its cursor are written in one transaction, so a killed app resumes
+ * paging where it stopped. Lists are newest first, so there is nothing to prepend.
+ */
+@OptIn(markerClass = ExperimentalPagingApi.class)
+public abstract class KeysetRemoteMediator<E, T> extends ListenableFutureRemoteMediator<Integer, E> {
+
+    private static final long END = -1;
+    private static final ListeningExecutorService executor = MoreExecutors
+            .listeningDecorator(Executors.newSingleThreadExecutor());
+
+    protected final AppDatabase db;
+    protected final String userId;
+    private final String cursorKey;
+
+    protected KeysetRemoteMediator(AppDatabase db, String userId, String cursorKey) {
+        this.db = db;
+        this.userId = userId;
+        this.cursorKey = cursorKey;
+    }
+
+    /** Page request for the given cursor, null for the first page. */
+    protected abstract Call<Page<T>> fetchPage(Integer cursor, int limit);
+
+    protected abstract void clearRows();
+
+    protected abstract void insertRows(List<T> items);
+
+    @NonNull
+    @Override
+    public ListenableFuture<MediatorResult> loadFuture(@NonNull LoadType loadType,
+            @NonNull PagingState<Integer, E> state) {
+        if (loadType == LoadType.PREPEND) {
+            return Futures.immediateFuture(new RemoteMediator.MediatorResult.Success(true));
+        }
+        return executor.submit(() -> load(loadType == LoadType.REFRESH, state.getConfig().pageSize));
+    }
+
+    private MediatorResult load(boolean refresh, int limit) {
+        Integer cursor = null;
+        if (!refresh) {
+            long stored = db.syncCursorDao().get(cursorKey);
+            if (stored <= 0) {
+                // END, or no refresh has run yet
+                return new RemoteMediator.MediatorResult.Success(true);
+            }
+            cursor = (int) stored;
+        }
+        try {
+            Response<Page<T>> response = fetchPage(cursor, limit).execute();
+            Page<T> page = response.body();
+            if (!response.isSuccessful() || page == null) {
+                return new RemoteMediator.MediatorResult.Error(
+                        new IOException("Page request failed: " + response.code()));
+            }
+            List<T> items = page.getItems() != null ? page.getItems() : new ArrayList<>();
+            Integer next = page.getNextCursor();
+            db.runInTransaction(() -> {
+                if (refresh) {
+                    clearRows();
+                }
+                insertRows(items);
+                db.syncCursorDao().put(new SyncCursor(cursorKey, next != null ? next : END));
+            });
+            return new RemoteMediator.MediatorResult.Success(next == null);
+        } catch (IOException | RuntimeException e) {
+            return new RemoteMediator.MediatorResult.Error(e);
+        }
+    }
+}
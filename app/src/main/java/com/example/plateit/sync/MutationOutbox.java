@@ -0,0 +1,160 @@
+package com.example.plateit.sync;
+
+import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.DatabaseClient;
+import com.example.plateit.db.OutboxDao;
+import com.example.plateit.db.OutboxEntry;
+import com.example.plateit.db.PantryItem;
+import com.example.plateit.requests.CookbookEntryCreate;
+import com.example.plateit.requests.CookingProgressUpdate;
+import com.example.plateit.requests.PantryItemCreateRequest;
+import com.example.plateit.requests.ShoppingListUpdate;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue for writes that must not get lost on a flaky connection.
+ *
+ * Each write is recorded in the Room outbox table (with an idempotency key) and the
+ * local state is updated right away; OutboxWorker replays the queue when there is a
+ * network. Superseded writes are collapsed on enqueue:
+ * - deleting a pantry item whose add hasn't synced yet drops both,
+ * - a newer cooking progress / shopping list update replaces the pending one.
+ */
+public class MutationOutbox {
+
+    private static final String UNIQUE_WORK_NAME = "outbox_drain";
+
+    private static MutationOutbox instance;
+    private final Context context;
+    private final ExecutorService dbExecutor = Executors.newSingleThreadExecutor();
+    private final com.google.gson.Gson gson = com.example.plateit.utils.GsonProvider.get();
+
+    private MutationOutbox(Context context) {
+        this.context = context;
+    }
+
+    public static synchronized MutationOutbox getInstance(Context context) {
+        if (instance == null) {
+            instance = new MutationOutbox(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AppDatabase db() {
+        return DatabaseClient.getInstance(context).getAppDatabase();
+    }
+
+    /** Number of writes still waiting to sync; 0 means everything reached the backend. */
+    public LiveData<Integer> observePendingCount() {
+        return db().outboxDao().observeCount();
+    }
+
+    public static String pantryKey(int itemId) {
+        return "pantry:" + itemId;
+    }
+
+    /**
+     * Inserts the item locally with a temporary negative id and queues the POST.
+     * OutboxWorker swaps the temporary row for the server row once it syncs.
+     */
+    public PantryItem addPantryItem(PantryItemCreateRequest request, String name, String amount, String imageUrl) {
+        PantryItem local = new PantryItem(name, amount, System.currentTimeMillis(), imageUrl);
+        local.id = -((int) (System.nanoTime() & 0x3fffffff) + 1);
+        dbExecutor.execute(() -> {
+            db().runInTransaction(() -> {
+                db().pantryDao().insert(local);
+                queue(db().outboxDao(), OutboxEntry.TYPE_PANTRY_ADD, pantryKey(local.id), gson.toJson(request));
+            });
+            scheduleDrain();
+        });
+        return local;
+    }
+
+    public void deletePantryItem(PantryItem item) {
+        dbExecutor.execute(() -> {
+            db().runInTransaction(() -> {
+                db().pantryDao().deleteById(item.id);
+                queuePantryDelete(db().outboxDao(), item.id);
+            });
+            scheduleDrain();
+        });
+    }
+
+    /**
+     * Queues a cookbook save that may already have reached the server; idempotencyKey must be
+     * the key the first attempt was sent with so the backend runs it only once.
+     */
+    public void addToCookbook(CookbookEntryCreate request, String idempotencyKey) {
+        dbExecutor.execute(() -> {
+            queueCookbookAdd(db().outboxDao(), gson.toJson(request), idempotencyKey);
+            scheduleDrain();
+        });
+    }
+
+    public void updateCookingProgress(int sessionId, CookingProgressUpdate request) {
+        enqueueReplacing(OutboxEntry.TYPE_COOKING_PROGRESS, "cooking:" + sessionId, gson.toJson(request));
+    }
+
+    public void updateShoppingList(int listId, ShoppingListUpdate request) {
+        enqueueReplacing(OutboxEntry.TYPE_SHOPPING_LIST_UPDATE, "shopping:" + listId, gson.toJson(request));
+    }
+
+    private void enqueueReplacing(String type, String entityKey, String payloadJson) {
+        dbExecutor.execute(() -> {
+            db().runInTransaction(() -> queueReplacing(db().outboxDao(), type, entityKey, payloadJson));
+            scheduleDrain();
+        });
+    }
+
+    // The collapsing rules work on the DAO alone; callers run them in a transaction
+
+    static void queue(OutboxDao dao, String type, String entityKey, String payloadJson) {
+        dao.insert(new OutboxEntry(UUID.randomUUID().toString(), type, entityKey, payloadJson,
+                System.currentTimeMillis()));
+    }
+
+    static void queuePantryDelete(OutboxDao dao, int itemId) {
+        if (itemId < 0) {
+            // Never reached the server: the pending add and this delete cancel out
+            dao.deleteForEntity(pantryKey(itemId));
+        } else {
+            queue(dao, OutboxEntry.TYPE_PANTRY_DELETE, pantryKey(itemId), String.valueOf(itemId));
+        }
+    }
+
+    static void queueReplacing(OutboxDao dao, String type, String entityKey, String payloadJson) {
+        // Full-state updates: only the newest one matters
+        dao.deleteForEntity(entityKey);
+        queue(dao, type, entityKey, payloadJson);
+    }
+
+    static void queueCookbookAdd(OutboxDao dao, String payloadJson, String idempotencyKey) {
+        dao.insert(new OutboxEntry(idempotencyKey, OutboxEntry.TYPE_COOKBOOK_ADD, "cookbook:" + idempotencyKey,
+                payloadJson, System.currentTimeMillis()));
+    }
+
+    /** Starts (or keeps) the drain job; it waits for a network connection. */
+    public void scheduleDrain() {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+                .setConstraints(new Constraints.Builder().setRequiredNetworkType(NetworkType.CONNECTED).build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 15, TimeUnit.SECONDS)
+                .build();
+        // APPEND_OR_REPLACE: writes queued while a drain is running get their own pass afterwards
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK_NAME,
+                ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+}
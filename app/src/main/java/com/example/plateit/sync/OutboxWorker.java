@@ -0,0 +1,138 @@
+package com.example.plateit.sync;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.plateit.api.AgentApiService;
+import com.example.plateit.api.RetrofitClient;
+import com.example.plateit.db.AppDatabase;
+import com.example.plateit.db.DatabaseClient;
+import com.example.plateit.db.OutboxDao;
+import com.example.plateit.db.OutboxEntry;
+import com.example.plateit.db.PantryItem;
+import com.example.plateit.requests.CookbookEntryCreate;
+import com.example.plateit.requests.CookingProgressUpdate;
+import com.example.plateit.requests.PantryItemCreateRequest;
+import com.example.plateit.requests.ShoppingListUpdate;
+
+import java.io.IOException;
+
+import retrofit2.Response;
+
+/**
+ * Replays the outbox in order. Stops at the first retryable failure so writes to
+ * the same entity never overtake each other; WorkManager backs off and retries.
+ */
+public class OutboxWorker extends Worker {
+
+    private static final String TAG = "OutboxWorker";
+    // An entry that keeps failing with 5xx is dropped eventually so it can't block the queue forever
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final com.google.gson.Gson gson = com.example.plateit.utils.GsonProvider.get();
+
+    public OutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /** Called for every entry the backend accepted, before it leaves the outbox. */
+    interface SyncListener {
+        void onSynced(OutboxEntry entry, Object body);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        AppDatabase db = DatabaseClient.getInstance(getApplicationContext()).getAppDatabase();
+        boolean drained = drain(db.outboxDao(), RetrofitClient.getAgentService(), gson,
+                (entry, body) -> onSynced(db, entry, body), this::isStopped);
+        return drained ? Result.success() : Result.retry();
+    }
+
+    /** Replays the queue; false means it stopped early and should be retried later. */
+    static boolean drain(OutboxDao dao, AgentApiService api, com.google.gson.Gson gson, SyncListener listener,
+            java.util.function.BooleanSupplier stopped) {
+        for (OutboxEntry entry : dao.getAll()) {
+            if (stopped.getAsBoolean()) {
+                return false;
+            }
+            try {
+                Response<?> response = send(api, gson, entry);
+                if (response.isSuccessful()) {
+                    listener.onSynced(entry, response.body());
+                    dao.delete(entry.id);
+                } else if (isRetryable(response.code()) && entry.attempts + 1 < MAX_ATTEMPTS) {
+                    markFailed(dao, entry, "HTTP " + response.code());
+                    return false;
+                } else {
+                    // 4xx won't get better by retrying (e.g. the item was already deleted elsewhere)
+                    android.util.Log.w(TAG, "Dropping " + entry.type + " " + entry.entityKey + ": HTTP "
+                            + response.code());
+                    dao.delete(entry.id);
+                }
+            } catch (IOException e) {
+                markFailed(dao, entry, e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void markFailed(OutboxDao dao, OutboxEntry entry, String error) {
+        entry.attempts++;
+        entry.lastError = error;
+        dao.update(entry);
+        android.util.Log.d(TAG, "Sync paused at " + entry.type + " (attempt " + entry.attempts + "): " + error);
+    }
+
+    private static boolean isRetryable(int code) {
+        // 409: the backend is still running an earlier send under the same idempotency key
+        return code >= 500 || code == 408 || code == 409 || code == 429;
+    }
+
+    private static Response<?> send(AgentApiService api, com.google.gson.Gson gson, OutboxEntry entry)
+            throws IOException {
+        String key = entry.idempotencyKey;
+        switch (entry.type) {
+            case OutboxEntry.TYPE_PANTRY_ADD:
+                return api.addPantryItem(gson.fromJson(entry.payloadJson, PantryItemCreateRequest.class), key)
+                        .execute();
+            case OutboxEntry.TYPE_PANTRY_DELETE:
+                return api.deletePantryItem(Integer.parseInt(entry.payloadJson), key).execute();
+            case OutboxEntry.TYPE_COOKBOOK_ADD:
+                return api.addToCookbook(gson.fromJson(entry.payloadJson, CookbookEntryCreate.class), key).execute();
+            case OutboxEntry.TYPE_COOKING_PROGRESS:
+                return api.updateCookingProgress(gson.fromJson(entry.payloadJson, CookingProgressUpdate.class), key)
+                        .execute();
+            case OutboxEntry.TYPE_SHOPPING_LIST_UPDATE:
+                int listId = Integer.parseInt(entry.entityKey.substring("shopping:".length()));
+                return api.updateShoppingList(listId, gson.fromJson(entry.payloadJson, ShoppingListUpdate.class),
+                        key).execute();
+            default:
+                throw new IllegalStateException("Unknown outbox entry type: " + entry.type);
+        }
+    }
+
+    private void onSynced(AppDatabase db, OutboxEntry entry, Object body) {
+        if (!OutboxEntry.TYPE_PANTRY_ADD.equals(entry.type) || !(body instanceof PantryItem)) {
+            return;
+        }
+        // Swap the temporary local row for the real server row
+        PantryItem serverItem = (PantryItem) body;
+        serverItem.dateAdded = System.currentTimeMillis();
+        int tempId = Integer.parseInt(entry.entityKey.substring("pantry:".length()));
+        boolean stillWanted = db.pantryDao().getById(tempId) != null;
+        if (stillWanted) {
+            db.runInTransaction(() -> {
+                db.pantryDao().deleteById(tempId);
+                db.pantryDao().upsertAll(java.util.Collections.singletonList(serverItem));
+            });
+        } else {
+            // User deleted it while the add was in flight
+            MutationOutbox.getInstance(getApplicationContext()).deletePantryItem(serverItem);
+        }
+    }
+}
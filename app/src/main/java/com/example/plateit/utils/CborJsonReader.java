@@ -0,0 +1,416 @@
+package com.example.plateit.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import okio.BufferedSource;
+
+/**
+ * Reads a CBOR document (RFC 8949) through the JsonReader API, so the generated Stag
+ * adapters and Gson's built-in ones decode CBOR responses without a second set of codecs.
+ *
+ * Supports what the backend sends: definite and indefinite arrays, maps and strings,
+ * integers, floats, booleans and null. Tags are ignored and their content read as is;
+ * byte strings come out as ISO-8859-1 text.
+ */
+public class CborJsonReader extends JsonReader {
+
+    private static final int ARRAY = 1;
+    private static final int OBJECT = 2;
+    private static final int INDEFINITE = -1;
+
+    private static final Reader UNUSED = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            return -1;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final BufferedSource source;
+
+    // Open containers: kind and items left (map keys and values both count)
+    private int[] kinds = new int[32];
+    private long[] remaining = new long[32];
+    // For indefinite maps, which have no count: whether a value follows the last key
+    private boolean[] mapValueNext = new boolean[32];
+    private int depth;
+    private boolean documentRead;
+
+    // Lookahead: the next token, with its scalar value or container length
+    private JsonToken peeked;
+    private Object value;
+    private long containerLength;
+
+    public CborJsonReader(BufferedSource source) {
+        super(UNUSED);
+        this.source = source;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        if (depth == 0) {
+            if (documentRead) {
+                return peeked = JsonToken.END_DOCUMENT;
+            }
+        } else {
+            int kind = kinds[depth - 1];
+            long left = remaining[depth - 1];
+            // An indefinite container ends at a break byte, a definite one after its count
+            boolean atEnd = left == INDEFINITE
+                    ? source.request(1) && source.getBuffer().getByte(0) == (byte) 0xff
+                    : left == 0;
+            if (atEnd) {
+                return peeked = kind == ARRAY ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+            }
+        }
+        readItem();
+        if (expectingName() && (peeked == JsonToken.STRING || peeked == JsonToken.NUMBER
+                || peeked == JsonToken.BOOLEAN)) {
+            value = String.valueOf(value);
+            peeked = JsonToken.NAME;
+        }
+        return peeked;
+    }
+
+    private boolean expectingName() {
+        if (depth == 0 || kinds[depth - 1] != OBJECT) {
+            return false;
+        }
+        // A definite map counts keys and values down from an even number
+        long left = remaining[depth - 1];
+        return left == INDEFINITE ? !mapValueNext[depth - 1] : left % 2 == 0;
+    }
+
+    /** Reads the head of the next item (and the whole item for scalars) into the lookahead. */
+    private void readItem() throws IOException {
+        while (true) {
+            int initial = source.readByte() & 0xff;
+            int major = initial >>> 5;
+            int info = initial & 0x1f;
+            if (major == 6) {
+                readArgument(info);
+                continue;
+            }
+            switch (major) {
+                case 0:
+                    value = readArgument(info);
+                    peeked = JsonToken.NUMBER;
+                    return;
+                case 1:
+                    value = -1 - readArgument(info);
+                    peeked = JsonToken.NUMBER;
+                    return;
+                case 2:
+                case 3:
+                    value = readString(major, info);
+                    peeked = JsonToken.STRING;
+                    return;
+                case 4:
+                    containerLength = info == 31 ? INDEFINITE : readArgument(info);
+                    peeked = JsonToken.BEGIN_ARRAY;
+                    return;
+                case 5:
+                    containerLength = info == 31 ? INDEFINITE : readArgument(info) * 2;
+                    peeked = JsonToken.BEGIN_OBJECT;
+                    return;
+                default:
+                    readSimple(info);
+                    return;
+            }
+        }
+    }
+
+    private void readSimple(int info) throws IOException {
+        switch (info) {
+            case 20:
+                value = Boolean.FALSE;
+                peeked = JsonToken.BOOLEAN;
+                break;
+            case 21:
+                value = Boolean.TRUE;
+                peeked = JsonToken.BOOLEAN;
+                break;
+            case 22:
+            case 23:
+                value = null;
+                peeked = JsonToken.NULL;
+                break;
+            case 25:
+                value = (double) halfToFloat(source.readShort() & 0xffff);
+                peeked = JsonToken.NUMBER;
+                break;
+            case 26:
+                value = (double) Float.intBitsToFloat(source.readInt());
+                peeked = JsonToken.NUMBER;
+                break;
+            case 27:
+                value = Double.longBitsToDouble(source.readLong());
+                peeked = JsonToken.NUMBER;
+                break;
+            default:
+                throw new IOException("Unsupported CBOR simple value " + info);
+        }
+    }
+
+    private long readArgument(int info) throws IOException {
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return source.readByte() & 0xffL;
+            case 25:
+                return source.readShort() & 0xffffL;
+            case 26:
+                return source.readInt() & 0xffffffffL;
+            case 27:
+                return source.readLong();
+            default:
+                throw new IOException("Unexpected CBOR additional info " + info);
+        }
+    }
+
+    private String readString(int major, int info) throws IOException {
+        if (info == 31) {
+            // Chunked string: definite chunks of the same type until a break
+            StringBuilder sb = new StringBuilder();
+            int next;
+            while ((next = source.readByte() & 0xff) != 0xff) {
+                sb.append(readChunk(major, readArgument(next & 0x1f)));
+            }
+            return sb.toString();
+        }
+        return readChunk(major, readArgument(info));
+    }
+
+    private String readChunk(int major, long length) throws IOException {
+        return major == 3 ? source.readUtf8(length) : source.readString(length, java.nio.charset.StandardCharsets.ISO_8859_1);
+    }
+
+    private static float halfToFloat(int half) {
+        int exponent = (half >>> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        float magnitude;
+        if (exponent == 0) {
+            magnitude = (float) (mantissa * Math.pow(2, -24));
+        } else if (exponent == 31) {
+            magnitude = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+        } else {
+            magnitude = (float) ((mantissa + 1024) * Math.pow(2, exponent - 25));
+        }
+        return (half & 0x8000) != 0 ? -magnitude : magnitude;
+    }
+
+    /** Marks the current item as read in its container (or the document). */
+    private void consumed() {
+        peeked = null;
+        if (depth == 0) {
+            documentRead = true;
+            return;
+        }
+        int top = depth - 1;
+        if (remaining[top] == INDEFINITE) {
+            if (kinds[top] == OBJECT) {
+                mapValueNext[top] = !mapValueNext[top];
+            }
+        } else {
+            remaining[top]--;
+        }
+    }
+
+    private Object take(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + token + locationString());
+        }
+        Object result = value;
+        consumed();
+        return result;
+    }
+
+    private void push(int kind) throws IOException {
+        long length = containerLength;
+        consumed();
+        if (depth == kinds.length) {
+            kinds = java.util.Arrays.copyOf(kinds, depth * 2);
+            remaining = java.util.Arrays.copyOf(remaining, depth * 2);
+            mapValueNext = java.util.Arrays.copyOf(mapValueNext, depth * 2);
+        }
+        kinds[depth] = kind;
+        remaining[depth] = length;
+        mapValueNext[depth] = false;
+        depth++;
+    }
+
+    private void pop(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + token + locationString());
+        }
+        if (remaining[depth - 1] == INDEFINITE) {
+            source.readByte(); // break
+        }
+        peeked = null;
+        depth--;
+        if (depth == 0) {
+            documentRead = true;
+        }
+    }
+
+    private String locationString() {
+        return " at depth " + depth;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        if (peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IllegalStateException("Expected BEGIN_ARRAY but was " + peek() + locationString());
+        }
+        push(ARRAY);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        pop(JsonToken.END_ARRAY);
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        if (peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IllegalStateException("Expected BEGIN_OBJECT but was " + peek() + locationString());
+        }
+        push(OBJECT);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        pop(JsonToken.END_OBJECT);
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_ARRAY && token != JsonToken.END_OBJECT && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        return (String) take(JsonToken.NAME);
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.NUMBER) {
+            return numberToString(take(JsonToken.NUMBER));
+        }
+        return (String) take(JsonToken.STRING);
+    }
+
+    private static String numberToString(Object number) {
+        if (number instanceof Double) {
+            double d = (Double) number;
+            if (d == Math.rint(d) && !Double.isInfinite(d) && Math.abs(d) < 1e15) {
+                return Long.toString((long) d);
+            }
+        }
+        return String.valueOf(number);
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        return (Boolean) take(JsonToken.BOOLEAN);
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        take(JsonToken.NULL);
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        Object number = takeNumber();
+        return number instanceof String ? Double.parseDouble((String) number) : ((Number) number).doubleValue();
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        Object number = takeNumber();
+        if (number instanceof String) {
+            return Long.parseLong((String) number);
+        }
+        if (number instanceof Double && (Double) number != Math.rint((Double) number)) {
+            throw new NumberFormatException("Expected a long but was " + number + locationString());
+        }
+        return ((Number) number).longValue();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long result = nextLong();
+        if (result != (int) result) {
+            throw new NumberFormatException("Expected an int but was " + result + locationString());
+        }
+        return (int) result;
+    }
+
+    // Like JsonReader, numeric accessors also accept numbers sent as strings
+    private Object takeNumber() throws IOException {
+        return peek() == JsonToken.STRING ? take(JsonToken.STRING) : take(JsonToken.NUMBER);
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        JsonToken token = peek();
+        switch (token) {
+            case BEGIN_ARRAY:
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case BEGIN_OBJECT:
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case END_ARRAY:
+            case END_OBJECT:
+            case END_DOCUMENT:
+                throw new IllegalStateException("Nothing to skip, next is " + token + locationString());
+            default:
+                take(token);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        depth = 0;
+        source.close();
+    }
+
+    @Override
+    public String getPath() {
+        return "$ (CBOR" + locationString() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return "CborJsonReader" + locationString();
+    }
+}
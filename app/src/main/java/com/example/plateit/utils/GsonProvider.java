@@ -0,0 +1,27 @@
+package com.example.plateit.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * The one Gson instance for the app: Retrofit's converter, recipe intents, Room JSON
+ * columns and the outbox all use it.
+ *
+ * Model classes are annotated with @UseStag, so their TypeAdapters are generated at
+ * compile time and registered here through Stag.Factory; Gson only falls back to
+ * reflection for classes without one. Gson caches adapters per instance, so sharing
+ * it also avoids rebuilding them for every ad hoc new Gson().
+ */
+public class GsonProvider {
+
+    private static Gson instance;
+
+    public static synchronized Gson get() {
+        if (instance == null) {
+            instance = new GsonBuilder()
+                    .registerTypeAdapterFactory(new com.example.plateit.generated.Stag.Factory())
+                    .create();
+        }
+        return instance;
+    }
+}
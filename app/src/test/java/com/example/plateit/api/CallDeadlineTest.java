@@ -0,0 +1,89 @@
+package com.example.plateit.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A FAST_CRUD call whose backend stops answering must still fall back to the cached copy
+ * once the call deadline is spent, instead of failing as cancelled.
+ */
+public class CallDeadlineTest {
+
+    interface Api {
+        @Latency(LatencyClass.FAST_CRUD)
+        @CachePolicy(staleIfErrorSeconds = 3600)
+        @retrofit2.http.GET("items")
+        retrofit2.Call<ResponseBody> items();
+    }
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        // Same interceptor order as RetrofitClient, minus the Android-only ones
+        OkHttpClient client = new OkHttpClient.Builder()
+                .cache(new Cache(cacheDir.getRoot(), 1024 * 1024))
+                .addInterceptor(new LatencyInterceptor())
+                .addInterceptor(CachePolicyInterceptor.forApplication())
+                .addInterceptor(new ResilienceInterceptor())
+                .addNetworkInterceptor(CachePolicyInterceptor.forNetwork())
+                .build();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test(timeout = 60_000)
+    public void stalledCallFallsBackToCacheAtDeadline() throws Exception {
+        server.enqueue(new MockResponse().setBody("warm"));
+        try (ResponseBody body = api.items().execute().body()) {
+            assertNotNull(body);
+            assertEquals("warm", body.string());
+        }
+
+        // Every attempt hangs after the request is read
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        }
+        long start = System.nanoTime();
+        Response<ResponseBody> response = api.items().execute();
+        long elapsedSeconds = java.util.concurrent.TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+        assertTrue(response.isSuccessful());
+        assertNotNull(response.raw().cacheResponse());
+        try (ResponseBody body = response.body()) {
+            assertNotNull(body);
+            assertEquals("warm", body.string());
+        }
+        // Answered around the deadline, not after three full read timeouts
+        assertTrue("took " + elapsedSeconds + "s", elapsedSeconds <= LatencyClass.FAST_CRUD.callSeconds + 2);
+    }
+}
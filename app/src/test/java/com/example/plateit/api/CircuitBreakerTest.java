@@ -0,0 +1,94 @@
+package com.example.plateit.api;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+    private long now = 1_000_000;
+    private final CircuitBreaker breaker = new CircuitBreaker("backend", () -> now);
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.onFailure();
+        }
+    }
+
+    private void open() {
+        fail(CircuitBreaker.FAILURE_THRESHOLD);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        fail(CircuitBreaker.FAILURE_THRESHOLD - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void successResetsTheFailureCount() {
+        fail(CircuitBreaker.FAILURE_THRESHOLD - 1);
+        breaker.onSuccess();
+        fail(CircuitBreaker.FAILURE_THRESHOLD - 1);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void letsOneTrialThroughAfterTheOpenPeriod() {
+        open();
+        now += CircuitBreaker.OPEN_MILLIS - 1;
+        assertFalse(breaker.allowRequest());
+
+        now += 1;
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse("second trial let through", breaker.allowRequest());
+    }
+
+    @Test
+    public void successfulTrialCloses() {
+        open();
+        now += CircuitBreaker.OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void failedTrialReopensForAnotherPeriod() {
+        open();
+        now += CircuitBreaker.OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now += CircuitBreaker.OPEN_MILLIS - 1;
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void inconclusiveTrialFreesTheSlotWithoutClosing() {
+        open();
+        now += CircuitBreaker.OPEN_MILLIS;
+        assertTrue(breaker.allowRequest());
+
+        breaker.onInconclusive();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+}
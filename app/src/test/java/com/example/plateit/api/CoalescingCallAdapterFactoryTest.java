@@ -0,0 +1,203 @@
+package com.example.plateit.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CoalescingCallAdapterFactoryTest {
+
+    static class Item {
+        String name;
+    }
+
+    interface Api {
+        @retrofit2.http.GET("items/{id}")
+        Call<Item> item(@retrofit2.http.Path("id") int id);
+
+        @Priority(PriorityClass.BACKGROUND)
+        @retrofit2.http.GET("items/{id}")
+        Call<Item> prefetchItem(@retrofit2.http.Path("id") int id);
+
+        @retrofit2.http.Streaming
+        @retrofit2.http.GET("history")
+        Call<ResponseBody> history();
+
+        @retrofit2.http.GET("raw")
+        Call<ResponseBody> raw();
+    }
+
+    /** Callback that remembers what it got, for waiting on from the test thread. */
+    static class Result<T> implements Callback<T> {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Response<T>> response = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> r) {
+            response.set(r);
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            failure.set(t);
+            done.countDown();
+        }
+
+        Response<T> await() throws Exception {
+            assertTrue("no callback", done.await(10, TimeUnit.SECONDS));
+            if (failure.get() != null) {
+                throw new AssertionError("call failed", failure.get());
+            }
+            return response.get();
+        }
+
+        boolean called() throws InterruptedException {
+            return done.await(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private final MockWebServer server = new MockWebServer();
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addCallAdapterFactory(new CoalescingCallAdapterFactory())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private void enqueueSlow(String body) {
+        server.enqueue(new MockResponse().setBody(body).setHeadersDelay(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void identicalGetsShareOneRequest() throws Exception {
+        enqueueSlow("{\"name\":\"soup\"}");
+        Result<Item> first = new Result<>();
+        Result<Item> second = new Result<>();
+
+        api.item(1).enqueue(first);
+        api.item(1).enqueue(second);
+
+        assertEquals("soup", first.await().body().name);
+        assertSame(first.await().body(), second.await().body());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void differentArgumentsAreNotShared() throws Exception {
+        enqueueSlow("{\"name\":\"soup\"}");
+        enqueueSlow("{\"name\":\"salad\"}");
+        Result<Item> first = new Result<>();
+        Result<Item> second = new Result<>();
+
+        api.item(1).enqueue(first);
+        api.item(2).enqueue(second);
+
+        first.await();
+        second.await();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void userCallsDoNotJoinBackgroundFlights() throws Exception {
+        enqueueSlow("{\"name\":\"soup\"}");
+        enqueueSlow("{\"name\":\"soup\"}");
+        Result<Item> prefetch = new Result<>();
+        Result<Item> tap = new Result<>();
+
+        api.prefetchItem(1).enqueue(prefetch);
+        api.item(1).enqueue(tap);
+
+        prefetch.await();
+        tap.await();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingOneWaiterKeepsTheSharedRequest() throws Exception {
+        enqueueSlow("{\"name\":\"soup\"}");
+        Result<Item> cancelled = new Result<>();
+        Result<Item> kept = new Result<>();
+
+        Call<Item> call = api.item(1);
+        call.enqueue(cancelled);
+        api.item(1).enqueue(kept);
+        call.cancel();
+
+        assertEquals("soup", kept.await().body().name);
+        assertTrue(call.isCanceled());
+        assertFalse("cancelled waiter was called back", cancelled.called());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void callAfterLastWaiterCancelsStartsItsOwnRequest() throws Exception {
+        enqueueSlow("{\"name\":\"soup\"}");
+        enqueueSlow("{\"name\":\"soup\"}");
+
+        Call<Item> call = api.item(1);
+        call.enqueue(new Result<>());
+        call.cancel();
+        Result<Item> next = new Result<>();
+        api.item(1).enqueue(next);
+
+        // Joining the cancelled flight would fail this call as "Canceled"
+        assertEquals("soup", next.await().body().name);
+    }
+
+    @Test
+    public void streamingAndRawBodiesAreNotCoalesced() throws Exception {
+        enqueueSlow("one");
+        enqueueSlow("two");
+        enqueueSlow("three");
+        enqueueSlow("four");
+        Result<ResponseBody> history1 = new Result<>();
+        Result<ResponseBody> history2 = new Result<>();
+        Result<ResponseBody> raw1 = new Result<>();
+        Result<ResponseBody> raw2 = new Result<>();
+
+        api.history().enqueue(history1);
+        api.history().enqueue(history2);
+        api.raw().enqueue(raw1);
+        api.raw().enqueue(raw2);
+
+        // Every caller gets a body of its own that it can read
+        for (Result<ResponseBody> result : java.util.Arrays.asList(history1, history2, raw1, raw2)) {
+            try (ResponseBody body = result.await().body()) {
+                assertNotNull(body);
+                assertFalse(body.string().isEmpty());
+            }
+        }
+        assertEquals(4, server.getRequestCount());
+    }
+}
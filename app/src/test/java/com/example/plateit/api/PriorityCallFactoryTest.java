@@ -0,0 +1,117 @@
+package com.example.plateit.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** BACKGROUND calls wait for in-flight INTERACTIVE ones; other classes don't. */
+public class PriorityCallFactoryTest {
+
+    interface Api {
+        @Priority(PriorityClass.INTERACTIVE)
+        @retrofit2.http.Streaming
+        @retrofit2.http.GET("chat")
+        retrofit2.Call<ResponseBody> chat();
+
+        @Priority(PriorityClass.USER_INITIATED)
+        @retrofit2.http.GET("pantry")
+        retrofit2.Call<ResponseBody> pantry();
+
+        @Priority(PriorityClass.BACKGROUND)
+        @retrofit2.http.GET("stats")
+        retrofit2.Call<ResponseBody> stats();
+    }
+
+    private final MockWebServer server = new MockWebServer();
+    private Api api;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .callFactory(new PriorityCallFactory(new OkHttpClient()))
+                .build()
+                .create(Api.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private static CompletableFuture<Response<ResponseBody>> async(retrofit2.Call<ResponseBody> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Response<ResponseBody> response = call.execute();
+                response.body().close();
+                return response;
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        });
+    }
+
+    private String nextPath(long timeoutMillis) throws InterruptedException {
+        RecordedRequest request = server.takeRequest(timeoutMillis, TimeUnit.MILLISECONDS);
+        return request != null ? request.getPath() : null;
+    }
+
+    @Test
+    public void backgroundWaitsUntilTheInteractiveBodyIsClosed() throws Exception {
+        server.enqueue(new MockResponse().setBody("reply"));
+        server.enqueue(new MockResponse().setBody("stats"));
+
+        Response<ResponseBody> chat = api.chat().execute();
+        assertEquals("/chat", nextPath(1000));
+        CompletableFuture<Response<ResponseBody>> stats = async(api.stats());
+
+        // Still streaming the reply: the background call must not go out
+        assertNull(nextPath(1000));
+        assertFalse(stats.isDone());
+
+        chat.body().close();
+        assertEquals("/stats", nextPath(5000));
+        assertTrue(stats.get(5, TimeUnit.SECONDS).isSuccessful());
+    }
+
+    @Test
+    public void userInitiatedIsNotHeldBack() throws Exception {
+        server.enqueue(new MockResponse().setBody("reply"));
+        server.enqueue(new MockResponse().setBody("pantry"));
+
+        Response<ResponseBody> chat = api.chat().execute();
+        try {
+            assertTrue(async(api.pantry()).get(5, TimeUnit.SECONDS).isSuccessful());
+        } finally {
+            chat.body().close();
+        }
+    }
+
+    @Test
+    public void backgroundRunsRightAwayWhenNothingInteractiveIsInFlight() throws Exception {
+        server.enqueue(new MockResponse().setBody("reply"));
+        server.enqueue(new MockResponse().setBody("stats"));
+
+        try (ResponseBody body = api.chat().execute().body()) {
+            assertEquals("reply", body.string());
+        }
+        assertTrue(async(api.stats()).get(2, TimeUnit.SECONDS).isSuccessful());
+    }
+}
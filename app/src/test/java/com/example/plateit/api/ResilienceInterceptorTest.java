@@ -0,0 +1,144 @@
+package com.example.plateit.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResilienceInterceptorTest {
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        client = new OkHttpClient.Builder()
+                .cache(new Cache(cacheDir.getRoot(), 1024 * 1024))
+                .addInterceptor(new ResilienceInterceptor())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private int code(Request request) throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.code();
+        }
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    private Request post(String idempotencyKey) {
+        Request.Builder builder = new Request.Builder().url(server.url("/write"))
+                .post(RequestBody.create(MediaType.get("application/json"), "{}"));
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void retriesAfterTheServersRetryAfter() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        long start = System.nanoTime();
+        assertEquals(200, code(get("/items")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, server.getRequestCount());
+        assertTrue("retried after " + elapsedMillis + " ms", elapsedMillis >= 900);
+    }
+
+    // 429 rather than 503 below: OkHttp itself repeats a 503 that says Retry-After: 0
+    @Test
+    public void givesUpAfterMaxAttempts() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        }
+
+        assertEquals(429, code(get("/items")));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void retriesWritesOnlyWithAnIdempotencyKey() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        assertEquals(429, code(post(null)));
+        assertEquals(1, server.getRequestCount());
+
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        server.enqueue(new MockResponse().setBody("{}"));
+        assertEquals(200, code(post("key-1")));
+        assertEquals(3, server.getRequestCount());
+        server.takeRequest();
+        assertEquals("key-1", server.takeRequest().getHeader("Idempotency-Key"));
+        assertEquals("key-1", server.takeRequest().getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void shortCircuitsOnceTheBreakerOpens() throws Exception {
+        // 500 is not retried, so every call is one failure
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            assertEquals(500, code(get("/items")));
+        }
+
+        try {
+            code(get("/items"));
+            fail("expected the open breaker to short-circuit");
+        } catch (CircuitOpenException expected) {
+            assertEquals(CircuitBreaker.FAILURE_THRESHOLD, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void cacheHitsDoNotResetTheFailureCount() throws Exception {
+        server.enqueue(new MockResponse().setBody("warm").setHeader("Cache-Control", "max-age=60"));
+        assertEquals(200, code(get("/cached")));
+
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD - 1; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            assertEquals(500, code(get("/items")));
+        }
+        try (Response cached = client.newCall(get("/cached")).execute()) {
+            assertNull(cached.networkResponse());
+        }
+        server.enqueue(new MockResponse().setResponseCode(500));
+        assertEquals(500, code(get("/items")));
+
+        try {
+            code(get("/items"));
+            fail("a cache hit closed the breaker");
+        } catch (CircuitOpenException expected) {
+            assertEquals(1 + CircuitBreaker.FAILURE_THRESHOLD, server.getRequestCount());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.plateit.sync;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.plateit.db.OutboxDao;
+import com.example.plateit.db.OutboxEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** In-memory outbox table with Room's id assignment and ordering. */
+class FakeOutboxDao implements OutboxDao {
+
+    final List<OutboxEntry> rows = new ArrayList<>();
+    private long nextId = 1;
+
+    @Override
+    public List<OutboxEntry> getAll() {
+        return new ArrayList<>(rows);
+    }
+
+    @Override
+    public List<String> getEntityKeys(String type) {
+        List<String> keys = new ArrayList<>();
+        for (OutboxEntry entry : rows) {
+            if (entry.type.equals(type)) {
+                keys.add(entry.entityKey);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public LiveData<Integer> observeCount() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long insert(OutboxEntry entry) {
+        entry.id = nextId++;
+        rows.add(entry);
+        return entry.id;
+    }
+
+    @Override
+    public void update(OutboxEntry entry) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).id == entry.id) {
+                rows.set(i, entry);
+            }
+        }
+    }
+
+    @Override
+    public void delete(long id) {
+        rows.removeIf(entry -> entry.id == id);
+    }
+
+    @Override
+    public void deleteForEntity(String entityKey) {
+        rows.removeIf(entry -> entry.entityKey.equals(entityKey));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.plateit.sync;
+
+import com.example.plateit.db.OutboxEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Collapsing rules applied when a write is queued. */
+public class MutationOutboxTest {
+
+    private final FakeOutboxDao dao = new FakeOutboxDao();
+
+    @Test
+    public void deletingAnUnsyncedPantryAddDropsBoth() {
+        MutationOutbox.queue(dao, OutboxEntry.TYPE_PANTRY_ADD, MutationOutbox.pantryKey(-5), "{}");
+        MutationOutbox.queue(dao, OutboxEntry.TYPE_PANTRY_ADD, MutationOutbox.pantryKey(-6), "{}");
+
+        MutationOutbox.queuePantryDelete(dao, -5);
+
+        assertEquals(1, dao.rows.size());
+        assertEquals(MutationOutbox.pantryKey(-6), dao.rows.get(0).entityKey);
+    }
+
+    @Test
+    public void deletingASyncedPantryItemQueuesTheDelete() {
+        MutationOutbox.queuePantryDelete(dao, 42);
+
+        assertEquals(1, dao.rows.size());
+        OutboxEntry entry = dao.rows.get(0);
+        assertEquals(OutboxEntry.TYPE_PANTRY_DELETE, entry.type);
+        assertEquals("42", entry.payloadJson);
+    }
+
+    @Test
+    public void newerFullStateUpdateReplacesThePendingOne() {
+        MutationOutbox.queueReplacing(dao, OutboxEntry.TYPE_COOKING_PROGRESS, "cooking:7", "{\"current_step_index\":1}");
+        MutationOutbox.queueReplacing(dao, OutboxEntry.TYPE_COOKING_PROGRESS, "cooking:8", "{\"current_step_index\":4}");
+        MutationOutbox.queueReplacing(dao, OutboxEntry.TYPE_COOKING_PROGRESS, "cooking:7", "{\"current_step_index\":2}");
+
+        assertEquals(2, dao.rows.size());
+        assertEquals("cooking:8", dao.rows.get(0).entityKey);
+        assertEquals("cooking:7", dao.rows.get(1).entityKey);
+        assertEquals("{\"current_step_index\":2}", dao.rows.get(1).payloadJson);
+    }
+
+    @Test
+    public void everyQueuedWriteGetsItsOwnIdempotencyKey() {
+        MutationOutbox.queue(dao, OutboxEntry.TYPE_PANTRY_ADD, MutationOutbox.pantryKey(-1), "{}");
+        MutationOutbox.queue(dao, OutboxEntry.TYPE_PANTRY_ADD, MutationOutbox.pantryKey(-2), "{}");
+
+        assertNotEquals(dao.rows.get(0).idempotencyKey, dao.rows.get(1).idempotencyKey);
+    }
+
+    @Test
+    public void cookbookSaveKeepsTheKeyOfTheFirstAttempt() {
+        MutationOutbox.queueCookbookAdd(dao, "{}", "first-attempt-key");
+
+        OutboxEntry entry = dao.rows.get(0);
+        assertEquals("first-attempt-key", entry.idempotencyKey);
+        assertTrue(entry.entityKey.endsWith("first-attempt-key"));
+    }
+}
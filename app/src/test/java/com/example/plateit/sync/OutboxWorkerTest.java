@@ -0,0 +1,138 @@
+package com.example.plateit.sync;
+
+import com.example.plateit.api.AgentApiService;
+import com.example.plateit.db.OutboxEntry;
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Replaying the outbox against the backend. */
+public class OutboxWorkerTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeOutboxDao dao = new FakeOutboxDao();
+    private final Gson gson = new Gson();
+    private final List<OutboxEntry> synced = new ArrayList<>();
+    private AgentApiService api;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(AgentApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private boolean drain() {
+        return OutboxWorker.drain(dao, api, gson, (entry, body) -> synced.add(entry), () -> false);
+    }
+
+    private OutboxEntry queueProgress(int sessionId, int step) {
+        MutationOutbox.queueReplacing(dao, OutboxEntry.TYPE_COOKING_PROGRESS, "cooking:" + sessionId,
+                "{\"session_id\":" + sessionId + ",\"current_step_index\":" + step + "}");
+        return dao.rows.get(dao.rows.size() - 1);
+    }
+
+    @Test
+    public void replaysInOrderUnderEachEntrysKey() throws Exception {
+        OutboxEntry progress = queueProgress(7, 2);
+        MutationOutbox.queuePantryDelete(dao, 42);
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse());
+
+        assertTrue(drain());
+
+        RecordedRequest first = server.takeRequest();
+        assertEquals("POST /cooking/update HTTP/1.1", first.getRequestLine());
+        assertEquals(progress.idempotencyKey, first.getHeader("Idempotency-Key"));
+        assertTrue(first.getBody().readUtf8().contains("\"current_step_index\":2"));
+        assertEquals("DELETE /pantry/42 HTTP/1.1", server.takeRequest().getRequestLine());
+        assertEquals(2, synced.size());
+        assertTrue(dao.rows.isEmpty());
+    }
+
+    @Test
+    public void stopsAtARetryableFailureSoLaterWritesWait() throws Exception {
+        queueProgress(7, 2);
+        MutationOutbox.queuePantryDelete(dao, 42);
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertFalse(drain());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, dao.rows.size());
+        assertEquals(1, dao.rows.get(0).attempts);
+        assertEquals("HTTP 503", dao.rows.get(0).lastError);
+    }
+
+    @Test
+    public void stopsOnANetworkError() {
+        queueProgress(7, 2);
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        assertFalse(drain());
+
+        assertEquals(1, dao.rows.size());
+        assertEquals(1, dao.rows.get(0).attempts);
+    }
+
+    @Test
+    public void conflictWhileTheFirstSendIsRunningIsRetried() {
+        queueProgress(7, 2);
+        server.enqueue(new MockResponse().setResponseCode(409));
+
+        assertFalse(drain());
+
+        assertEquals(1, dao.rows.size());
+    }
+
+    @Test
+    public void dropsAWriteTheBackendRejectsAndMovesOn() throws Exception {
+        MutationOutbox.queuePantryDelete(dao, 42);
+        queueProgress(7, 2);
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        assertTrue(drain());
+
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, synced.size());
+        assertEquals(OutboxEntry.TYPE_COOKING_PROGRESS, synced.get(0).type);
+        assertTrue(dao.rows.isEmpty());
+    }
+
+    @Test
+    public void replayOfACollapsedUpdateSendsOnlyTheNewestState() throws Exception {
+        queueProgress(7, 2);
+        queueProgress(7, 3);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        assertTrue(drain());
+
+        assertEquals(1, server.getRequestCount());
+        assertTrue(server.takeRequest().getBody().readUtf8().contains("\"current_step_index\":3"));
+    }
+}
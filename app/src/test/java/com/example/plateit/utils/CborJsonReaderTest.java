@@ -0,0 +1,132 @@
+package com.example.plateit.utils;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import okio.Buffer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Decodes CBOR shaped like the backend's {@code cbor2.dumps(json.loads(body))} output and
+ * checks Gson reads the same values it reads from the JSON.
+ */
+public class CborJsonReaderTest {
+
+    private final Gson gson = new Gson();
+
+    static class Step {
+        String text;
+        List<String> tags;
+        int minutes;
+        double temperature;
+        boolean optional;
+    }
+
+    @Test
+    public void nonAsciiKeysAndValuesMatchJson() throws IOException {
+        String json = "{\"°F\":\"éé\",\"title\":\"Crème brûlée 🍮\",\"°F again\":[\"°F\",\"éé\",\"abc\",\"🍳🍳\"],"
+                + "\"nested\":{\"n\":1,\"big\":70000,\"neg\":-300,\"f\":2.5,\"t\":true,\"z\":null},"
+                + "\"repeated\":[{\"name\":\"°F\"},{\"name\":\"°F\"},{\"name\":\"éé\"}]}";
+        Object expected = gson.fromJson(json, Object.class);
+
+        Object decoded = gson.fromJson(new CborJsonReader(encode(expected)), Object.class);
+
+        assertEquals(expected, decoded);
+    }
+
+    @Test
+    public void typedModelSkipsUnknownFields() throws IOException {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("text", "Chauffer à 180 °C");
+        step.put("unknown", Arrays.asList(1L, "x", null));
+        step.put("tags", Arrays.asList("four", "épice", "four"));
+        step.put("minutes", 25L);
+        step.put("temperature", 356.5);
+        step.put("optional", false);
+
+        Step decoded = gson.fromJson(new CborJsonReader(encode(step)), Step.class);
+
+        assertEquals("Chauffer à 180 °C", decoded.text);
+        assertEquals(Arrays.asList("four", "épice", "four"), decoded.tags);
+        assertEquals(25, decoded.minutes);
+        assertEquals(356.5, decoded.temperature, 0);
+        assertEquals(false, decoded.optional);
+    }
+
+    @Test
+    public void indefiniteContainersChunkedStringsHalfFloatsAndTags() throws IOException {
+        Buffer cbor = new Buffer()
+                .writeByte(0xbf) // map, indefinite
+                .writeByte(0x61).writeUtf8("a")
+                .writeByte(0x9f).writeByte(0x01).writeByte(0xf9).writeShort(0x3e00).writeByte(0xff) // [_ 1, 1.5]
+                .writeByte(0x61).writeUtf8("b")
+                .writeByte(0x7f).writeByte(0x62).writeUtf8("hi").writeByte(0x62).writeUtf8("°").writeByte(0xff)
+                .writeByte(0x61).writeUtf8("c")
+                .writeByte(0xc1).writeByte(0x1a).writeInt(1_700_000_000) // tag 1 (epoch) is read as its content
+                .writeByte(0xff);
+
+        Object decoded = gson.fromJson(new CborJsonReader(cbor), Object.class);
+
+        assertEquals(gson.fromJson("{\"a\":[1,1.5],\"b\":\"hi°\",\"c\":1700000000}", Object.class), decoded);
+    }
+
+    // Minimal encoder with cbor2's default choices: shortest integer heads, doubles, definite lengths
+    private static Buffer encode(Object value) {
+        Buffer out = new Buffer();
+        write(out, value);
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(Buffer out, Object value) {
+        if (value == null) {
+            out.writeByte(0xf6);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? 0xf5 : 0xf4);
+        } else if (value instanceof Double && (Double) value != Math.rint((Double) value)) {
+            out.writeByte(0xfb).writeLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Number) {
+            long n = ((Number) value).longValue();
+            head(out, n < 0 ? 1 : 0, n < 0 ? -1 - n : n);
+        } else if (value instanceof String) {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+            head(out, 3, utf8.length);
+            out.write(utf8);
+        } else if (value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            head(out, 4, list.size());
+            for (Object item : list) {
+                write(out, item);
+            }
+        } else {
+            Map<String, Object> map = (Map<String, Object>) value;
+            head(out, 5, map.size());
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        }
+    }
+
+    private static void head(Buffer out, int major, long argument) {
+        int type = major << 5;
+        if (argument < 24) {
+            out.writeByte(type | (int) argument);
+        } else if (argument < 0x100) {
+            out.writeByte(type | 24).writeByte((int) argument);
+        } else if (argument < 0x10000) {
+            out.writeByte(type | 25).writeShort((int) argument);
+        } else {
+            out.writeByte(type | 26).writeInt((int) argument);
+        }
+    }
+}